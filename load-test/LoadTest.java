@@ -0,0 +1,163 @@
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// closed-loop load generator: every client sends its next request as soon as the previous one is answered,
+// so throughput and latency at a given concurrency can be compared between two server configurations
+//
+//   java load-test/LoadTest.java --url http://localhost:8080/all-photosessions --concurrency 400 --duration PT60S
+//
+// a {id} in the url is replaced with a random number from --ids, e.g. --url http://localhost:8080/client/{id} --ids 1-250000
+//
+// "first byte" is the time until the response headers arrive, which for a streamed page is its first flush
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        List<String> urls = new ArrayList<>();
+        int concurrency = 100;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        String cookie = null;
+        long firstId = 1;
+        long lastId = 1;
+        for (int i = 0; i < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--url" -> urls.add(value);
+                case "--concurrency" -> concurrency = Integer.parseInt(value);
+                case "--warmup" -> warmup = Duration.parse(value);
+                case "--duration" -> duration = Duration.parse(value);
+                case "--cookie" -> cookie = value;
+                case "--ids" -> {
+                    firstId = Long.parseLong(value.substring(0, value.indexOf('-')));
+                    lastId = Long.parseLong(value.substring(value.indexOf('-') + 1));
+                }
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("At least one --url is required");
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        System.out.printf("warming up for %s%n", warmup);
+        run(client, urls, firstId, lastId, cookie, concurrency, warmup);
+        Result result = run(client, urls, firstId, lastId, cookie, concurrency, duration);
+
+        long[] latencies = result.latencies();
+        long[] firstBytes = result.firstBytes();
+        Arrays.sort(latencies);
+        Arrays.sort(firstBytes);
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%s%n", String.join(" ", urls));
+        System.out.printf("concurrency %d, %s%n", concurrency, duration);
+        System.out.printf("requests    %d (%d errors)%n", latencies.length, result.errors());
+        System.out.printf("throughput  %.1f req/s%n", latencies.length / seconds);
+        if (latencies.length == 0) {
+            System.out.printf("no request finished within %s%n", duration);
+            return;
+        }
+        System.out.printf("p50         %.1f ms%n", percentile(latencies, 0.50));
+        System.out.printf("p99         %.1f ms%n", percentile(latencies, 0.99));
+        System.out.printf("max         %.1f ms%n", percentile(latencies, 1.0));
+        System.out.printf("first byte  p50 %.1f ms, p99 %.1f ms%n",
+                percentile(firstBytes, 0.50), percentile(firstBytes, 0.99));
+    }
+
+    private static Result run(HttpClient client, List<String> urls, long firstId, long lastId, String cookie,
+                              int concurrency, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> perClient = new ArrayList<>();
+        List<long[]> firstBytesPerClient = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            long[] latencies = new long[1 << 16];
+            long[] firstBytes = new long[latencies.length];
+            perClient.add(latencies);
+            firstBytesPerClient.add(firstBytes);
+            counts.add(0);
+            int clientNumber = c;
+            Thread thread = new Thread(() -> {
+                int count = 0;
+                try {
+                    for (int i = clientNumber; System.nanoTime() < deadline; i++) {
+                        String id = Long.toString(ThreadLocalRandom.current().nextLong(firstId, lastId + 1));
+                        URI uri = URI.create(urls.get(i % urls.size()).replace("{id}", id));
+                        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                                .timeout(Duration.ofSeconds(60));
+                        if (cookie != null) {
+                            request.header("Cookie", cookie);
+                        }
+                        long start = System.nanoTime();
+                        long firstByte = 0;
+                        boolean failed;
+                        try {
+                            HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+                            firstByte = System.nanoTime() - start;
+                            try (InputStream body = response.body()) {
+                                body.transferTo(OutputStream.nullOutputStream());
+                            }
+                            failed = response.statusCode() >= 400;
+                        } catch (Exception e) {
+                            failed = true;
+                        }
+                        long finished = System.nanoTime();
+                        // a request still running at the deadline is left out, otherwise slow requests would be
+                        // counted against the nominal duration and report latencies longer than the run itself
+                        if (finished > deadline) {
+                            break;
+                        }
+                        if (failed) {
+                            errors.incrementAndGet();
+                        } else if (count < latencies.length) {
+                            firstBytes[count] = firstByte;
+                            latencies[count++] = finished - start;
+                        }
+                    }
+                } finally {
+                    synchronized (counts) {
+                        counts.set(clientNumber, count);
+                    }
+                    done.countDown();
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        int total = counts.stream().mapToInt(Integer::intValue).sum();
+        long[] all = new long[total];
+        long[] allFirstBytes = new long[total];
+        int position = 0;
+        for (int c = 0; c < concurrency; c++) {
+            System.arraycopy(perClient.get(c), 0, all, position, counts.get(c));
+            System.arraycopy(firstBytesPerClient.get(c), 0, allFirstBytes, position, counts.get(c));
+            position += counts.get(c);
+        }
+        return new Result(all, allFirstBytes, errors.get());
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record Result(long[] latencies, long[] firstBytes, long errors) {
+    }
+}
@@ -0,0 +1,22 @@
+#!/bin/sh
+# Runs the read scenario against an application started with the scale-test profile:
+#
+#   java -jar target/PhotoApp-0.0.1-SNAPSHOT.jar --spring.profiles.active=scale-test
+#   load-test/scale-test.sh
+#
+# BASE_URL, CLIENTS (highest client id), CONCURRENCY, WARMUP and DURATION can be overridden from the environment.
+set -e
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+CLIENTS=${CLIENTS:-250000}
+CONCURRENCY=${CONCURRENCY:-20}
+WARMUP=${WARMUP:-PT10S}
+DURATION=${DURATION:-PT30S}
+LOAD_TEST="$(dirname "$0")/LoadTest.java"
+
+for path in /all-photosessions /client/all /client/current "/client/{id}"; do
+    echo "== $path"
+    java "$LOAD_TEST" --url "$BASE_URL$path" --ids "1-$CLIENTS" \
+        --concurrency "$CONCURRENCY" --warmup "$WARMUP" --duration "$DURATION" | grep -v '^warming up'
+    echo
+done
@@ -0,0 +1,107 @@
+package org.ks.photoapp.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import org.ks.photoapp.PhotoAppApplication;
+import org.ks.photoapp.domain.client.Client;
+import org.ks.photoapp.domain.duplicates.DuplicateService;
+import org.ks.photoapp.domain.duplicates.dto.DuplicateGroupDto;
+import org.ks.photoapp.domain.photoSession.PhotoSession;
+import org.ks.photoapp.domain.photos.PhotoFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// one session shot in bursts: every frame already has its hash, so this is the query plus the BK-tree grouping
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DuplicateBenchmark {
+
+    @Param({"2000"})
+    int frames;
+
+    @Param({"8"})
+    int maxDistance;
+
+    ConfigurableApplicationContext context;
+    DuplicateService duplicateService;
+    long sessionId;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = SpringApplication.run(PhotoAppApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:duplicate-benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--photoapp.storage.root=" + Files.createTempDirectory("photoapp-benchmark"));
+        duplicateService = context.getBean(DuplicateService.class);
+        sessionId = seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DuplicateGroupDto> findGroups() {
+        return duplicateService.findGroups(sessionId, maxDistance);
+    }
+
+    private long seed() {
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        Random random = new Random(42);
+        return context.getBean(TransactionTemplate.class).execute(status -> {
+            Client client = SampleData.client(random, 0, 1);
+            entityManager.persist(client);
+            PhotoSession photoSession = client.getPhotoSessions().get(0);
+            LocalDateTime uploadedAt = LocalDateTime.now();
+            // a new scene every eight frames on average, each frame a few bits off its scene
+            long scene = random.nextLong();
+            for (int i = 0; i < frames; i++) {
+                if (random.nextInt(8) == 0) {
+                    scene = random.nextLong();
+                }
+                long hash = scene;
+                for (int flips = random.nextInt(6); flips > 0; flips--) {
+                    hash ^= 1L << random.nextInt(Long.SIZE);
+                }
+                PhotoFile photoFile = new PhotoFile();
+                photoFile.setPhotos(photoSession.getPhotos());
+                photoFile.setOrdinal(i + 1);
+                photoFile.setFileName(String.format("IMG_%04d.jpg", i + 1));
+                photoFile.setContentType("image/jpeg");
+                photoFile.setContentHash(String.format("%064x", i));
+                photoFile.setSizeBytes(8_000_000L);
+                photoFile.setPerceptualHash(hash);
+                photoFile.setExifRead(true);
+                photoFile.setUploadedAt(uploadedAt);
+                entityManager.persist(photoFile);
+            }
+            return photoSession.getId();
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package org.ks.photoapp.benchmarks;
+
+import org.ks.photoapp.domain.client.Client;
+import org.ks.photoapp.domain.client.ClientDtoMapper;
+import org.ks.photoapp.domain.client.dto.ClientDto;
+import org.ks.photoapp.domain.photoSession.PhotoSession;
+import org.ks.photoapp.domain.photoSession.PhotoSessionDtoMapper;
+import org.ks.photoapp.domain.photoSession.dto.PhotoSessionDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"3"})
+    int sessionsPerClient;
+
+    Client client;
+    PhotoSession photoSession;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        client = SampleData.client(random, 1, sessionsPerClient);
+        client.setId(1L);
+        long id = 1;
+        for (PhotoSession session : client.getPhotoSessions()) {
+            session.setId(id++);
+        }
+        photoSession = client.getPhotoSessions().get(0);
+    }
+
+    @Benchmark
+    public PhotoSessionDto photoSessionDtoMapper() {
+        return PhotoSessionDtoMapper.map(photoSession);
+    }
+
+    @Benchmark
+    public ClientDto clientDtoMapper() {
+        return ClientDtoMapper.map(client);
+    }
+}
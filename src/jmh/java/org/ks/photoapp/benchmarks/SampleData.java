@@ -0,0 +1,86 @@
+package org.ks.photoapp.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import org.ks.photoapp.domain.client.Client;
+import org.ks.photoapp.domain.client.CurrentClientReadModel;
+import org.ks.photoapp.domain.payment.Payment;
+import org.ks.photoapp.domain.photoSession.PhotoSession;
+import org.ks.photoapp.domain.photos.Photos;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// a studio's worth of history: most sessions are finished, the last quarter of them is still open
+final class SampleData {
+
+    private static final String[] SESSION_TYPES = {"BABY", "PREGNANT", "FAMILY_CHILD_WOMEN", "BIRTHDAY", "WEEDING",
+            "HOLY_BAPTISM", "HOLY_COMMUNION", "MINI"};
+    private static final String[] FIRST_NAMES = {"Anna", "Maria", "Katarzyna", "Piotr", "Tomasz", "Agnieszka",
+            "Paweł", "Magdalena", "Michał", "Joanna", "Krzysztof", "Ewa"};
+    private static final String[] LAST_NAMES = {"Nowak", "Kowalska", "Wiśniewski", "Wójcik", "Kamińska",
+            "Lewandowski", "Zielińska", "Szymański", "Woźniak", "Dąbrowska", "Kozłowski", "Jankowska"};
+    private static final int FLUSH_EVERY = 500;
+
+    private SampleData() {
+    }
+
+    static Client client(Random random, int number, int sessions) {
+        Client client = new Client();
+        client.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+        client.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)] + number);
+        client.setEmail("klient" + number + "@example.com");
+        client.setPhoneNumber(500_000_000L + number);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < sessions; i++) {
+            boolean open = random.nextInt(4) == 0;
+            PhotoSession photoSession = new PhotoSession();
+            photoSession.setClient(client);
+            photoSession.setSessionType(SESSION_TYPES[random.nextInt(SESSION_TYPES.length)]);
+            photoSession.setSessionDate(open
+                    ? now.plusDays(random.nextInt(180)).withHour(8 + random.nextInt(10)).withMinute(0)
+                    : now.minusDays(1 + random.nextInt(1500)).withHour(8 + random.nextInt(10)).withMinute(0));
+            photoSession.setIsContractFinished(!open);
+            Payment payment = new Payment();
+            payment.setDeposit(BigDecimal.valueOf(200));
+            payment.setBasePayment(BigDecimal.valueOf(400 + 100 * random.nextInt(10)));
+            payment.setAdditionalPayment(BigDecimal.ZERO);
+            payment.setIsDepositPaid(!open || random.nextBoolean());
+            payment.setIsBasePaid(!open);
+            payment.setIsAdditionalPaid(!open);
+            photoSession.setPayment(payment);
+            Photos photos = new Photos();
+            photos.setSentToClientForChoose(!open);
+            photos.setChosenByClient(!open);
+            photos.setAdditionalChosenByClient(false);
+            photoSession.setPhotos(photos);
+            client.getPhotoSessions().add(photoSession);
+        }
+        return client;
+    }
+
+    static void seed(ConfigurableApplicationContext context, int clients, int sessionsPerClient) {
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        Random random = new Random(42);
+        List<Long> clientIds = new ArrayList<>();
+        for (int from = 0; from < clients; from += FLUSH_EVERY) {
+            int to = Math.min(clients, from + FLUSH_EVERY);
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int number = first; number < to; number++) {
+                    Client client = client(random, number, sessionsPerClient);
+                    entityManager.persist(client);
+                    clientIds.add(client.getId());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        context.getBean(CurrentClientReadModel.class).refresh(clientIds);
+    }
+}
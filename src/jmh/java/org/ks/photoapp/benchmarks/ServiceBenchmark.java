@@ -0,0 +1,88 @@
+package org.ks.photoapp.benchmarks;
+
+import org.ks.photoapp.PhotoAppApplication;
+import org.ks.photoapp.domain.client.ClientService;
+import org.ks.photoapp.domain.client.dto.ClientDto;
+import org.ks.photoapp.domain.photoSession.PhotoSessionService;
+import org.ks.photoapp.domain.photoSession.dto.PhotoSessionDto;
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog;
+import org.ks.photoapp.domain.sessionType.dto.SessionTypeDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// the whole application on an in-memory H2 database, so the numbers include Hibernate and the second-level cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"2000"})
+    int clients;
+
+    @Param({"3"})
+    int sessionsPerClient;
+
+    ConfigurableApplicationContext context;
+    PhotoSessionService photoSessionService;
+    ClientService clientService;
+    SessionTypeCatalog sessionTypeCatalog;
+    String lastSessionTypeName;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = SpringApplication.run(PhotoAppApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--photoapp.storage.root=" + Files.createTempDirectory("photoapp-benchmark"));
+        SampleData.seed(context, clients, sessionsPerClient);
+        photoSessionService = context.getBean(PhotoSessionService.class);
+        clientService = context.getBean(ClientService.class);
+        sessionTypeCatalog = context.getBean(SessionTypeCatalog.class);
+        List<SessionTypeDto> sessionTypes = sessionTypeCatalog.getAll();
+        lastSessionTypeName = sessionTypes.get(sessionTypes.size() - 1).getName();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PhotoSessionDto> photoSessionServiceGetAll() {
+        return photoSessionService.getAll();
+    }
+
+    @Benchmark
+    public List<ClientDto> clientServiceGetAllCurrentClients() {
+        return clientService.getAllCurrentClients();
+    }
+
+    // SessionType.fromDisplayName became a lookup in the catalog, the last entry is the worst case
+    @Benchmark
+    public Optional<SessionTypeDto> sessionTypeResolveByName() {
+        return sessionTypeCatalog.resolve(lastSessionTypeName);
+    }
+}
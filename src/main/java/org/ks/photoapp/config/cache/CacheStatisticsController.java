@@ -0,0 +1,55 @@
+package org.ks.photoapp.config.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.ks.photoapp.config.cache.dto.CacheRegionStatisticsDto;
+import org.ks.photoapp.config.cache.dto.CacheStatisticsDto;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@RestController
+public class CacheStatisticsController {
+
+    private final SessionFactory sessionFactory;
+
+    public CacheStatisticsController(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @GetMapping("/admin/cache/statistics")
+    public CacheStatisticsDto statistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        CacheStatisticsDto dto = new CacheStatisticsDto();
+        dto.setStatisticsEnabled(statistics.isStatisticsEnabled());
+        dto.setSecondLevelCacheHitCount(statistics.getSecondLevelCacheHitCount());
+        dto.setSecondLevelCacheMissCount(statistics.getSecondLevelCacheMissCount());
+        dto.setQueryCacheHitCount(statistics.getQueryCacheHitCount());
+        dto.setQueryCacheMissCount(statistics.getQueryCacheMissCount());
+        dto.setQueryExecutionCount(statistics.getQueryExecutionCount());
+
+        List<CacheRegionStatisticsDto> regions = new ArrayList<>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.add(new CacheRegionStatisticsDto(regionName, region.getHitCount(), region.getMissCount(),
+                        region.getPutCount(), elementCount(region)));
+            }
+        }
+        dto.setRegions(regions);
+        return dto;
+    }
+
+    private static Long elementCount(CacheRegionStatistics region) {
+        // the JCache region factory cannot report cache sizes
+        long count = region.getElementCountInMemory();
+        return count == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? null : count;
+    }
+}
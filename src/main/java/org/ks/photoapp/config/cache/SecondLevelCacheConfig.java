@@ -0,0 +1,61 @@
+package org.ks.photoapp.config.cache;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    static final String CLIENT_REGION = "client";
+    static final String PAYMENT_REGION = "payment";
+    static final String PHOTOS_REGION = "photos";
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${photoapp.cache.entity.max-entries:10000}") long entityMaxEntries,
+            @Value("${photoapp.cache.entity.time-to-live:PT10M}") Duration entityTimeToLive,
+            @Value("${photoapp.cache.query.max-entries:2000}") long queryMaxEntries,
+            @Value("${photoapp.cache.query.time-to-live:PT5M}") Duration queryTimeToLive) {
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), provider.getDefaultClassLoader());
+        createCache(cacheManager, CLIENT_REGION, entityMaxEntries, entityTimeToLive);
+        createCache(cacheManager, PAYMENT_REGION, entityMaxEntries, entityTimeToLive);
+        createCache(cacheManager, PHOTOS_REGION, entityMaxEntries, entityTimeToLive);
+        createCache(cacheManager, QUERY_RESULTS_REGION, queryMaxEntries, queryTimeToLive);
+        // timestamps decide whether cached query results are stale, so they must never be evicted early
+        createCache(cacheManager, UPDATE_TIMESTAMPS_REGION, 1000, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    private static void createCache(CacheManager cacheManager, String name, long maxEntries, Duration timeToLive) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CacheConfigurationBuilder<Object, Object> configuration = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(timeToLive == null
+                        ? ExpiryPolicyBuilder.noExpiration()
+                        : ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive));
+        cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(configuration));
+    }
+}
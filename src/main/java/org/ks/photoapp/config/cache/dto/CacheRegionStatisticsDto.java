@@ -0,0 +1,21 @@
+package org.ks.photoapp.config.cache.dto;
+
+import lombok.Data;
+
+@Data
+public class CacheRegionStatisticsDto {
+    String region;
+    long hitCount;
+    long missCount;
+    long putCount;
+    Long elementCountInMemory;
+
+    public CacheRegionStatisticsDto(String region, long hitCount, long missCount, long putCount,
+                                    Long elementCountInMemory) {
+        this.region = region;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.elementCountInMemory = elementCountInMemory;
+    }
+}
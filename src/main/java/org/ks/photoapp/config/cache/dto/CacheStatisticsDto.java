@@ -0,0 +1,16 @@
+package org.ks.photoapp.config.cache.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CacheStatisticsDto {
+    boolean statisticsEnabled;
+    long secondLevelCacheHitCount;
+    long secondLevelCacheMissCount;
+    long queryCacheHitCount;
+    long queryCacheMissCount;
+    long queryExecutionCount;
+    List<CacheRegionStatisticsDto> regions;
+}
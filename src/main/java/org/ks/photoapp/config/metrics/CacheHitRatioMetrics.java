@@ -0,0 +1,41 @@
+package org.ks.photoapp.config.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.ToDoubleFunction;
+
+// Hibernate's own meters count hits and misses; the ratios are computed only when the registry is scraped
+class CacheHitRatioMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    CacheHitRatioMetrics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            gauge(registry, regionName, stats -> {
+                CacheRegionStatistics region = stats.getCacheRegionStatistics(regionName);
+                return region == null ? Double.NaN : ratio(region.getHitCount(), region.getMissCount());
+            });
+        }
+    }
+
+    private void gauge(MeterRegistry registry, String region, ToDoubleFunction<Statistics> ratio) {
+        Gauge.builder("photoapp.cache.hit.ratio", statistics, ratio)
+                .description("Share of second-level cache lookups that were hits")
+                .tag("region", region)
+                .register(registry);
+    }
+
+    private static double ratio(long hits, long misses) {
+        long lookups = hits + misses;
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+}
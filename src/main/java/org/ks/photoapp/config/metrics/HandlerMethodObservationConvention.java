@@ -0,0 +1,39 @@
+package org.ks.photoapp.config.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// adds the controller method to http.server.requests, so latency histograms can be split per handler
+class HandlerMethodObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String HANDLER = "handler";
+    private static final KeyValue NO_HANDLER = KeyValue.of(HANDLER, "none");
+
+    private final Map<Method, KeyValue> handlers = new ConcurrentHashMap<>();
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(handler(context));
+    }
+
+    private KeyValue handler(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return NO_HANDLER;
+        }
+        return handlers.computeIfAbsent(handlerMethod.getMethod(),
+                method -> KeyValue.of(HANDLER, handlerName(handlerMethod)));
+    }
+
+    static String handlerName(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+    }
+}
@@ -0,0 +1,88 @@
+package org.ks.photoapp.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// SQL work per request and template render time; meters are looked up once per handler and template and
+// then reused, so the request path only touches lock-free counters
+class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String RENDER_STARTED = RequestMetricsInterceptor.class.getName() + ".renderStarted";
+    private static final String TEMPLATE = RequestMetricsInterceptor.class.getName() + ".template";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, SqlMeters> sqlMeters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> renderTimers = new ConcurrentHashMap<>();
+
+    RequestMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementListener.reset();
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && isTemplate(modelAndView.getViewName())) {
+            request.setAttribute(TEMPLATE, modelAndView.getViewName());
+            request.setAttribute(RENDER_STARTED, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(RENDER_STARTED) instanceof Long renderStarted) {
+            renderTimers.computeIfAbsent((String) request.getAttribute(TEMPLATE), this::renderTimer)
+                    .record(System.nanoTime() - renderStarted, TimeUnit.NANOSECONDS);
+        }
+        if (handler instanceof HandlerMethod handlerMethod) {
+            SqlMeters meters = sqlMeters.computeIfAbsent(handlerMethod.getMethod(),
+                    method -> sqlMeters(HandlerMethodObservationConvention.handlerName(handlerMethod)));
+            meters.statements().record(SqlStatementListener.statements());
+            meters.time().record(SqlStatementListener.nanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // redirects carry ids in the view name, only real templates make a bounded set of tags
+    private static boolean isTemplate(String viewName) {
+        return viewName != null && !viewName.startsWith("redirect:") && !viewName.startsWith("forward:");
+    }
+
+    private Timer renderTimer(String template) {
+        return Timer.builder("photoapp.view.render")
+                .description("Time spent rendering a Thymeleaf template")
+                .tag("template", template)
+                .register(meterRegistry);
+    }
+
+    private SqlMeters sqlMeters(String handler) {
+        return new SqlMeters(
+                DistributionSummary.builder("photoapp.request.sql.statements")
+                        .description("JDBC statements executed per request")
+                        .tag(HandlerMethodObservationConvention.HANDLER, handler)
+                        .register(meterRegistry),
+                Timer.builder("photoapp.request.sql.time")
+                        .description("Time spent executing JDBC statements per request")
+                        .tag(HandlerMethodObservationConvention.HANDLER, handler)
+                        .register(meterRegistry));
+    }
+
+    private record SqlMeters(DistributionSummary statements, Timer time) {
+    }
+}
@@ -0,0 +1,52 @@
+package org.ks.photoapp.config.metrics;
+
+import org.hibernate.SessionEventListener;
+
+// Hibernate creates one listener per session; the counters are per thread, so every session a request opens
+// adds to the same totals without any shared state on the request path
+public class SqlStatementListener implements SessionEventListener {
+
+    private static final ThreadLocal<long[]> STATEMENTS_AND_NANOS = ThreadLocal.withInitial(() -> new long[2]);
+
+    private long started;
+
+    static void reset() {
+        long[] counters = STATEMENTS_AND_NANOS.get();
+        counters[0] = 0;
+        counters[1] = 0;
+    }
+
+    static long statements() {
+        return STATEMENTS_AND_NANOS.get()[0];
+    }
+
+    static long nanos() {
+        return STATEMENTS_AND_NANOS.get()[1];
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        long[] counters = STATEMENTS_AND_NANOS.get();
+        counters[0]++;
+        counters[1] += System.nanoTime() - started;
+    }
+}
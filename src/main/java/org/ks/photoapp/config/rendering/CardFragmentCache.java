@@ -0,0 +1,138 @@
+package org.ks.photoapp.config.rendering;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ks.photoapp.domain.client.dto.ClientDto;
+import org.ks.photoapp.domain.photoSession.dto.PhotoSessionDto;
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.ISpringTemplateEngine;
+import org.thymeleaf.spring6.expression.ThymeleafEvaluationContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.Set;
+
+// rendered list cards keyed by entity id and version: an edit bumps the version, so a cached card is never
+// shown for changed data and old entries simply expire
+@Component("cardCache")
+public class CardFragmentCache {
+
+    private static final String CACHE_NAME = "list-cards";
+    private static final String TEMPLATE = "list-cards";
+
+    private final boolean enabled;
+    private final Cache<String, String> cache;
+    private final ISpringTemplateEngine templateEngine;
+    private final JakartaServletWebApplication application;
+    private final ApplicationContext applicationContext;
+    private final SessionTypeCatalog sessionTypeCatalog;
+    private final Card clientCard;
+    private final Card photoSessionCard;
+
+    public CardFragmentCache(@Value("${photoapp.rendering.card-cache.enabled:true}") boolean enabled,
+                             @Value("${photoapp.rendering.card-cache.max-entries:50000}") long maxEntries,
+                             @Value("${photoapp.rendering.card-cache.time-to-live:PT30M}") Duration timeToLive,
+                             CacheManager cacheManager,
+                             ISpringTemplateEngine templateEngine,
+                             ServletContext servletContext,
+                             ApplicationContext applicationContext,
+                             SessionTypeCatalog sessionTypeCatalog,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = createCache(cacheManager, maxEntries, timeToLive);
+        this.templateEngine = templateEngine;
+        this.application = JakartaServletWebApplication.buildApplication(servletContext);
+        this.applicationContext = applicationContext;
+        this.sessionTypeCatalog = sessionTypeCatalog;
+        this.clientCard = new Card("client-card", "client", meterRegistry);
+        this.photoSessionCard = new Card("photo-session-card", "photoSession", meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String client(ClientDto client) {
+        return card(clientCard, client.getId() + ":" + client.getVersion(), client);
+    }
+
+    public String photoSession(PhotoSessionDto photoSession) {
+        // the card also shows the client's name and the session type's display name
+        String key = photoSession.getSessionPhotoId() + ":" + photoSession.getVersion()
+                + ":" + photoSession.getClient().getId() + ":" + photoSession.getClient().getVersion()
+                + ":" + sessionTypeCatalog.nameOf(photoSession.getSessionType());
+        return card(photoSessionCard, key, photoSession);
+    }
+
+    private String card(Card card, String key, Object value) {
+        String cacheKey = card.fragment() + ":" + key;
+        String html = cache.get(cacheKey);
+        if (html != null) {
+            card.hits().increment();
+            return html;
+        }
+        card.misses().increment();
+        html = render(card, value);
+        cache.put(cacheKey, html);
+        return html;
+    }
+
+    private String render(Card card, Object value) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        // cached markup is shared between visitors, so links must not carry anyone's session id
+        HttpServletResponse response = new HttpServletResponseWrapper(attributes.getResponse()) {
+            @Override
+            public String encodeURL(String url) {
+                return url;
+            }
+        };
+        WebContext context = new WebContext(application.buildExchange(attributes.getRequest(), response),
+                LocaleContextHolder.getLocale());
+        context.setVariable(ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
+                new ThymeleafEvaluationContext(applicationContext, null));
+        context.setVariable(card.variable(), value);
+        return templateEngine.process(TEMPLATE, Set.of(card.fragment()), context);
+    }
+
+    private static Cache<String, String> createCache(CacheManager cacheManager, long maxEntries, Duration timeToLive) {
+        Cache<String, String> cache = cacheManager.getCache(CACHE_NAME, String.class, String.class);
+        if (cache != null) {
+            return cache;
+        }
+        CacheConfigurationBuilder<String, String> configuration = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(String.class, String.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive));
+        return cacheManager.createCache(CACHE_NAME, Eh107Configuration.fromEhcacheCacheConfiguration(configuration));
+    }
+
+    private record Card(String fragment, String variable, Counter hits, Counter misses) {
+
+        Card(String fragment, String variable, MeterRegistry meterRegistry) {
+            this(fragment, variable, counter(fragment, "hit", meterRegistry), counter(fragment, "miss", meterRegistry));
+        }
+
+        private static Counter counter(String card, String result, MeterRegistry meterRegistry) {
+            return Counter.builder("photoapp.render.cards")
+                    .description("List cards served from the fragment cache or rendered again")
+                    .tag("card", card)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
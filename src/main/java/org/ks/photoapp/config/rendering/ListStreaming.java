@@ -0,0 +1,129 @@
+package org.ks.photoapp.config.rendering;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// long lists are handed to the template as iterables that send what has been rendered so far to the browser
+// every chunk-size rows; once the first chunk is flushed the status and headers can no longer change
+@Component
+public class ListStreaming {
+
+    private final boolean enabled;
+    private final int chunkSize;
+
+    public ListStreaming(@Value("${photoapp.rendering.streaming:true}") boolean enabled,
+                         @Value("${photoapp.rendering.chunk-size:500}") int chunkSize) {
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    // rows are queried one chunk at a time while the template iterates, after flushing the markup before them
+    public <T> Iterable<T> query(ChunkQuery<T> query) {
+        Runnable flush = flusher();
+        return () -> new QueryIterator<>(query, chunkSize, flush);
+    }
+
+    public <T> Iterable<T> flushing(List<T> rows) {
+        Runnable flush = flusher();
+        return () -> new FlushingIterator<>(rows.iterator(), chunkSize, flush);
+    }
+
+    private static Runnable flusher() {
+        HttpServletResponse response =
+                ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getResponse();
+        return () -> {
+            try {
+                response.flushBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface ChunkQuery<T> {
+        // last is the final row of the previous chunk, or null for the first one
+        List<T> after(T last, int limit);
+    }
+
+    private static class QueryIterator<T> implements Iterator<T> {
+
+        private final ChunkQuery<T> query;
+        private final int chunkSize;
+        private final Runnable flush;
+        private Iterator<T> chunk = Collections.emptyIterator();
+        private T last;
+        private boolean exhausted;
+
+        QueryIterator(ChunkQuery<T> query, int chunkSize, Runnable flush) {
+            this.query = query;
+            this.chunkSize = chunkSize;
+            this.flush = flush;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!chunk.hasNext() && !exhausted) {
+                flush.run();
+                List<T> rows = query.after(last, chunkSize);
+                exhausted = rows.size() < chunkSize;
+                chunk = rows.iterator();
+            }
+            return chunk.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = chunk.next();
+            return last;
+        }
+    }
+
+    private static class FlushingIterator<T> implements Iterator<T> {
+
+        private final Iterator<T> rows;
+        private final int chunkSize;
+        private final Runnable flush;
+        private int count;
+
+        FlushingIterator(Iterator<T> rows, int chunkSize, Runnable flush) {
+            this.rows = rows;
+            this.chunkSize = chunkSize;
+            this.flush = flush;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return rows.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (count++ % chunkSize == 0) {
+                flush.run();
+            }
+            return rows.next();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.ks.photoapp.config.threads;
+
+import org.ks.photoapp.config.threads.dto.ThreadingDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class ThreadingController {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingController.class);
+
+    private final Environment environment;
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+
+    public ThreadingController(Environment environment, ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor) {
+        this.environment = environment;
+        this.pinningMonitor = pinningMonitor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportMode() {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (requested && !Threading.VIRTUAL.isActive(environment)) {
+            log.warn("Virtual threads need Java 21 or newer, running on platform threads under Java {}",
+                    Runtime.version().feature());
+        } else {
+            log.info("Requests and scheduled work run on {} threads", requested ? "virtual" : "platform");
+        }
+    }
+
+    @GetMapping("/admin/threads")
+    public ThreadingDto threading() {
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        return new ThreadingDto(Runtime.version().feature(), Threading.VIRTUAL.isActive(environment),
+                monitor == null ? List.of() : monitor.getPinnedSites());
+    }
+}
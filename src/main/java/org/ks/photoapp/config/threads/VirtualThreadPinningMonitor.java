@@ -0,0 +1,110 @@
+package org.ks.photoapp.config.threads;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.ks.photoapp.config.threads.dto.PinnedSiteDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// a virtual thread that blocks inside a synchronized block or a native frame keeps its carrier thread,
+// which throttles the whole mode; JFR reports every such pin and the sites are collected here by stack
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String OTHER_SITES = "(other sites)";
+    private static final int STACK_DEPTH = 12;
+
+    private final Duration threshold;
+    private final int maxSites;
+    private final Map<String, PinnedSite> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${photoapp.virtual-threads.pinned-threshold:20ms}") Duration threshold,
+                                       @Value("${photoapp.virtual-threads.max-sites:100}") int maxSites) {
+        this.threshold = threshold;
+        this.maxSites = maxSites;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for longer than {}", threshold);
+    }
+
+    @PreDestroy
+    void stop() {
+        stream.close();
+    }
+
+    public List<PinnedSiteDto> getPinnedSites() {
+        return sites.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparing(PinnedSiteDto::getTotalMillis).reversed())
+                .toList();
+    }
+
+    private void record(RecordedEvent event) {
+        String site = siteOf(event.getStackTrace());
+        if (!sites.containsKey(site) && sites.size() >= maxSites) {
+            site = OTHER_SITES;
+        }
+        PinnedSite pinned = sites.computeIfAbsent(site, key -> {
+            log.warn("Virtual thread pinned for {} ms at\n{}", event.getDuration().toMillis(), key);
+            return new PinnedSite();
+        });
+        pinned.record(event.getDuration());
+    }
+
+    private static String siteOf(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "(no stack trace)";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(STACK_DEPTH)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String format(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(line " + frame.getLineNumber() + ")";
+    }
+
+    private static class PinnedSite {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        void record(Duration duration) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(duration.toNanos());
+            maxNanos.accumulateAndGet(duration.toNanos(), Math::max);
+        }
+
+        PinnedSiteDto toDto(String stackTrace) {
+            return new PinnedSiteDto(stackTrace, count.get(), totalNanos.get() / 1_000_000, maxNanos.get() / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.ks.photoapp.config.threads.dto;
+
+import lombok.Data;
+
+@Data
+public class PinnedSiteDto {
+    String stackTrace;
+    Long count;
+    Long totalMillis;
+    Long maxMillis;
+
+    public PinnedSiteDto(String stackTrace, Long count, Long totalMillis, Long maxMillis) {
+        this.stackTrace = stackTrace;
+        this.count = count;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+    }
+}
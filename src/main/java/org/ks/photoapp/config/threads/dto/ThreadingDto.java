@@ -0,0 +1,18 @@
+package org.ks.photoapp.config.threads.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ThreadingDto {
+    Integer javaVersion;
+    Boolean virtualThreads;
+    List<PinnedSiteDto> pinnedSites;
+
+    public ThreadingDto(Integer javaVersion, Boolean virtualThreads, List<PinnedSiteDto> pinnedSites) {
+        this.javaVersion = javaVersion;
+        this.virtualThreads = virtualThreads;
+        this.pinnedSites = pinnedSites;
+    }
+}
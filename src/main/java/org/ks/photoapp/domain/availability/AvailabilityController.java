@@ -0,0 +1,51 @@
+package org.ks.photoapp.domain.availability;
+
+import org.ks.photoapp.domain.availability.dto.FreeSlotDto;
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+    private final SessionTypeCatalog sessionTypeCatalog;
+
+    public AvailabilityController(AvailabilityService availabilityService, SessionTypeCatalog sessionTypeCatalog) {
+        this.availabilityService = availabilityService;
+        this.sessionTypeCatalog = sessionTypeCatalog;
+    }
+
+    @GetMapping("/availability/free-slots")
+    public List<FreeSlotDto> getFreeSlots(@RequestParam String sessionType,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        requireKnownType(sessionType);
+        try {
+            return availabilityService.findFreeSlots(sessionType, from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/availability/conflict")
+    public boolean hasConflict(@RequestParam String sessionType,
+                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                               @RequestParam(required = false) Long excludedSessionId) {
+        requireKnownType(sessionType);
+        return availabilityService.conflicts(sessionType, start, excludedSessionId);
+    }
+
+    private void requireKnownType(String sessionType) {
+        if (!sessionTypeCatalog.exists(sessionType)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown session type: " + sessionType);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.ks.photoapp.domain.availability;
+
+import org.ks.photoapp.config.transaction.AfterCommit;
+import org.ks.photoapp.domain.availability.BookingIndex.Booking;
+import org.ks.photoapp.domain.availability.dto.BookingDto;
+import org.ks.photoapp.domain.availability.dto.FreeSlotDto;
+import org.ks.photoapp.domain.photoSession.PhotoSession;
+import org.ks.photoapp.domain.photoSession.PhotoSessionRepository;
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog;
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog.SessionTypesChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+public class AvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityService.class);
+    static final long MAX_RANGE_DAYS = 93;
+
+    private final PhotoSessionRepository photoSessionRepository;
+    private final SessionTypeCatalog sessionTypeCatalog;
+    private final BookingIndex index = new BookingIndex();
+    private final Duration defaultDuration;
+    private final ChronoUnit durationUnit;
+    private final LocalTime dayStart;
+    private final LocalTime dayEnd;
+
+    public AvailabilityService(PhotoSessionRepository photoSessionRepository,
+                               SessionTypeCatalog sessionTypeCatalog,
+                               @Value("${photoapp.availability.default-duration:PT1H}") Duration defaultDuration,
+                               @Value("${photoapp.availability.duration-unit:MINUTES}") ChronoUnit durationUnit,
+                               @Value("${photoapp.availability.day-start:08:00}") String dayStart,
+                               @Value("${photoapp.availability.day-end:20:00}") String dayEnd) {
+        this.photoSessionRepository = photoSessionRepository;
+        this.sessionTypeCatalog = sessionTypeCatalog;
+        this.defaultDuration = defaultDuration;
+        this.durationUnit = durationUnit;
+        this.dayStart = LocalTime.parse(dayStart);
+        this.dayEnd = LocalTime.parse(dayEnd);
+    }
+
+    @EventListener({ApplicationReadyEvent.class, SessionTypesChangedEvent.class})
+    public void rebuild() {
+        index.lock.lock();
+        try {
+            index.replaceAll(loadBookings().values());
+        } finally {
+            index.lock.unlock();
+        }
+        log.info("Availability index loaded with {} bookings", index.size());
+    }
+
+    @Scheduled(initialDelayString = "${photoapp.availability.verify-interval:PT15M}",
+            fixedDelayString = "${photoapp.availability.verify-interval:PT15M}")
+    public int verifyConsistency() {
+        index.lock.lock();
+        try {
+            Map<Long, Booking> expected = loadBookings();
+            Map<Long, Booking> actual = index.snapshot();
+            int mismatches = 0;
+            for (Map.Entry<Long, Booking> entry : expected.entrySet()) {
+                if (!entry.getValue().equals(actual.get(entry.getKey()))) {
+                    mismatches++;
+                }
+            }
+            for (Long sessionId : actual.keySet()) {
+                if (!expected.containsKey(sessionId)) {
+                    mismatches++;
+                }
+            }
+            if (mismatches > 0) {
+                log.warn("Availability index differed from the database in {} bookings, reloading", mismatches);
+                index.replaceAll(expected.values());
+            }
+            return mismatches;
+        } finally {
+            index.lock.unlock();
+        }
+    }
+
+    // the lock is held until the caller's transaction ends, so a concurrent booking checks for conflicts only
+    // after this one has reached the index or been rolled back
+    public void lockBookingsUntilCompletion() {
+        AfterCommit.onCompletion(index.lock::unlock);
+        index.lock.lock();
+    }
+
+    public void requireFree(String sessionType, LocalDateTime start) {
+        if (conflicts(sessionType, start, null)) {
+            throw new BookingConflictException(start);
+        }
+    }
+
+    // the session itself is left out, and its duration is taken from the catalog like the booking it is saved as
+    public void requireFreeOnReschedule(long sessionId, String sessionType, LocalDateTime start) {
+        if (conflicts(sessionType, start, sessionId)) {
+            throw new BookingConflictException(start);
+        }
+    }
+
+    public void onSessionSaved(PhotoSession photoSession) {
+        long sessionId = photoSession.getId();
+        if (photoSession.getSessionDate() == null) {
+            AfterCommit.run(() -> index.remove(sessionId));
+        } else {
+            Booking booking = toBooking(sessionId, photoSession.getSessionDate(), photoSession.getSessionType());
+            AfterCommit.run(() -> index.put(booking));
+        }
+    }
+
+    public void onSessionDeleted(long sessionId) {
+        AfterCommit.run(() -> index.remove(sessionId));
+    }
+
+    public Duration durationOf(String sessionType) {
+        return sessionTypeCatalog.find(sessionType)
+                .filter(definition -> definition.getDuration() > 0)
+                .map(definition -> Duration.of(definition.getDuration(), durationUnit))
+                .orElse(defaultDuration);
+    }
+
+    public boolean conflicts(String sessionType, LocalDateTime start, Long excludedSessionId) {
+        return conflicts(start, start.plus(durationOf(sessionType)), excludedSessionId);
+    }
+
+    public List<FreeSlotDto> findFreeSlots(String sessionType, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Range start must be before its end");
+        }
+        if (Duration.between(from, to).toDays() > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        Duration duration = durationOf(sessionType);
+        List<FreeSlotDto> slots = new ArrayList<>();
+        for (LocalDate day = from.toLocalDate(); !day.isAfter(to.toLocalDate()); day = day.plusDays(1)) {
+            LocalDateTime windowStart = max(from, day.atTime(dayStart));
+            LocalDateTime windowEnd = min(to, day.atTime(dayEnd));
+            if (!windowStart.isBefore(windowEnd)) {
+                continue;
+            }
+            LocalDateTime cursor = windowStart;
+            for (Booking booking : index.overlapping(windowStart, windowEnd)) {
+                addSlotIfFits(slots, cursor, booking.start(), duration);
+                cursor = max(cursor, booking.end());
+            }
+            addSlotIfFits(slots, cursor, windowEnd, duration);
+        }
+        return slots;
+    }
+
+    private boolean conflicts(LocalDateTime start, LocalDateTime end, Long excludedSessionId) {
+        return index.overlapping(start, end).stream()
+                .anyMatch(booking -> !Objects.equals(booking.sessionId(), excludedSessionId));
+    }
+
+    private static void addSlotIfFits(List<FreeSlotDto> slots, LocalDateTime start, LocalDateTime end,
+                                      Duration duration) {
+        if (!start.plus(duration).isAfter(end)) {
+            slots.add(new FreeSlotDto(start, end));
+        }
+    }
+
+    private Map<Long, Booking> loadBookings() {
+        Map<Long, Booking> bookings = new HashMap<>();
+        for (BookingDto booking : photoSessionRepository.findAllBookings()) {
+            bookings.put(booking.getSessionId(),
+                    toBooking(booking.getSessionId(), booking.getStart(), booking.getSessionType()));
+        }
+        return bookings;
+    }
+
+    private Booking toBooking(long sessionId, LocalDateTime start, String sessionType) {
+        return new Booking(sessionId, start, start.plus(durationOf(sessionType)));
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
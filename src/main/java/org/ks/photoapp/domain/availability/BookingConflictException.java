@@ -0,0 +1,10 @@
+package org.ks.photoapp.domain.availability;
+
+import java.time.LocalDateTime;
+
+public class BookingConflictException extends IllegalStateException {
+
+    public BookingConflictException(LocalDateTime start) {
+        super("Booking at " + start + " overlaps another session");
+    }
+}
@@ -0,0 +1,91 @@
+package org.ks.photoapp.domain.availability;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+class BookingIndex {
+
+    record Booking(long sessionId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private static final Comparator<Booking> BY_START = Comparator
+            .comparing(Booking::start)
+            .thenComparingLong(Booking::sessionId);
+
+    private final ConcurrentSkipListSet<Booking> byStart = new ConcurrentSkipListSet<>(BY_START);
+    private final Map<Long, Booking> bySessionId = new ConcurrentHashMap<>();
+    private volatile Duration longest = Duration.ZERO;
+    // shared with AvailabilityService, which holds it across a database reload and a booking transaction; a monitor
+    // would pin a virtual thread there
+    final ReentrantLock lock = new ReentrantLock();
+
+    void put(Booking booking) {
+        lock.lock();
+        try {
+            Booking previous = bySessionId.put(booking.sessionId(), booking);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+            byStart.add(booking);
+            Duration length = Duration.between(booking.start(), booking.end());
+            if (length.compareTo(longest) > 0) {
+                longest = length;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(long sessionId) {
+        lock.lock();
+        try {
+            Booking previous = bySessionId.remove(sessionId);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void replaceAll(Collection<Booking> bookings) {
+        lock.lock();
+        try {
+            byStart.clear();
+            bySessionId.clear();
+            longest = Duration.ZERO;
+            bookings.forEach(this::put);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        return bySessionId.size();
+    }
+
+    Map<Long, Booking> snapshot() {
+        return Map.copyOf(bySessionId);
+    }
+
+    List<Booking> overlapping(LocalDateTime from, LocalDateTime to) {
+        // nothing starting earlier than the longest booking before 'from' can still be running at 'from'
+        Booking lowerBound = new Booking(Long.MIN_VALUE, from.minus(longest), from);
+        Booking upperBound = new Booking(Long.MIN_VALUE, to, to);
+        List<Booking> result = new ArrayList<>();
+        for (Booking booking : byStart.subSet(lowerBound, true, upperBound, false)) {
+            if (booking.end().isAfter(from)) {
+                result.add(booking);
+            }
+        }
+        return result;
+    }
+}
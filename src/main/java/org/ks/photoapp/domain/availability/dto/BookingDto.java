@@ -0,0 +1,18 @@
+package org.ks.photoapp.domain.availability.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class BookingDto {
+    Long sessionId;
+    LocalDateTime start;
+    String sessionType;
+
+    public BookingDto(Long sessionId, LocalDateTime start, String sessionType) {
+        this.sessionId = sessionId;
+        this.start = start;
+        this.sessionType = sessionType;
+    }
+}
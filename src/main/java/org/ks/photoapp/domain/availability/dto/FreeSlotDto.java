@@ -0,0 +1,16 @@
+package org.ks.photoapp.domain.availability.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class FreeSlotDto {
+    LocalDateTime start;
+    LocalDateTime end;
+
+    public FreeSlotDto(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+}
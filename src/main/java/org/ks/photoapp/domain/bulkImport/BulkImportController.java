@@ -0,0 +1,36 @@
+package org.ks.photoapp.domain.bulkImport;
+
+import org.ks.photoapp.domain.bulkImport.dto.ImportReportDto;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Controller
+public class BulkImportController {
+
+    private final BulkImportService bulkImportService;
+
+    public BulkImportController(BulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+
+    @GetMapping("/import")
+    public String importForm() {
+        return "import-form";
+    }
+
+    @PostMapping("/import")
+    public String importCsv(@RequestParam MultipartFile file, Model model) throws IOException {
+        try (InputStream csv = file.getInputStream()) {
+            ImportReportDto report = bulkImportService.importCsv(csv);
+            model.addAttribute("report", report);
+        }
+        return "import-form";
+    }
+}
@@ -0,0 +1,217 @@
+package org.ks.photoapp.domain.bulkImport;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.ks.photoapp.domain.availability.AvailabilityService;
+import org.ks.photoapp.domain.bulkImport.dto.ImportReportDto;
+import org.ks.photoapp.domain.client.Client;
+import org.ks.photoapp.domain.client.ClientRepository;
+import org.ks.photoapp.domain.client.ClientSearchService;
+import org.ks.photoapp.domain.client.CurrentClientReadModel;
+import org.ks.photoapp.domain.payment.Payment;
+import org.ks.photoapp.domain.paymentStatus.PaymentStatusService;
+import org.ks.photoapp.domain.photoSession.PhotoSession;
+import org.ks.photoapp.domain.photos.Photos;
+import org.ks.photoapp.domain.revenue.RevenuePeriod;
+import org.ks.photoapp.domain.revenue.RevenueReadModel;
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class BulkImportService {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ClientRepository clientRepository;
+    private final CurrentClientReadModel currentClientReadModel;
+    private final AvailabilityService availabilityService;
+    private final ClientSearchService clientSearchService;
+    private final SessionTypeCatalog sessionTypeCatalog;
+    private final RevenueReadModel revenueReadModel;
+    private final PaymentStatusService paymentStatusService;
+    private final int chunkSize;
+    private final int batchSize;
+
+    public BulkImportService(EntityManager entityManager,
+                             TransactionTemplate transactionTemplate,
+                             ClientRepository clientRepository,
+                             CurrentClientReadModel currentClientReadModel,
+                             AvailabilityService availabilityService,
+                             ClientSearchService clientSearchService,
+                             SessionTypeCatalog sessionTypeCatalog,
+                             RevenueReadModel revenueReadModel,
+                             PaymentStatusService paymentStatusService,
+                             @Value("${photoapp.import.chunk-size:500}") int chunkSize,
+                             @Value("${photoapp.import.batch-size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.clientRepository = clientRepository;
+        this.currentClientReadModel = currentClientReadModel;
+        this.availabilityService = availabilityService;
+        this.clientSearchService = clientSearchService;
+        this.sessionTypeCatalog = sessionTypeCatalog;
+        this.revenueReadModel = revenueReadModel;
+        this.paymentStatusService = paymentStatusService;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+    }
+
+    public ImportReportDto importCsv(InputStream csv) throws IOException {
+        ImportReportDto report = new ImportReportDto();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null || !CsvLineParser.parse(stripBom(header)).equals(ImportRow.COLUMNS)) {
+                report.addError(1, "Nagłówek musi mieć kolumny: " + String.join(",", ImportRow.COLUMNS));
+                return report;
+            }
+
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.setRowsRead(report.getRowsRead() + 1);
+                try {
+                    chunk.add(ImportRow.parse(lineNumber, CsvLineParser.parse(line), sessionTypeCatalog));
+                } catch (IllegalArgumentException e) {
+                    report.addError(lineNumber, e.getMessage());
+                }
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, report);
+            }
+        }
+        return report;
+    }
+
+    private void writeChunk(List<ImportRow> rows, ImportReportDto report) {
+        try {
+            applyResult(transactionTemplate.execute(status -> persist(rows)), report);
+        } catch (RuntimeException e) {
+            // isolate the failing rows so one bad line does not reject the whole chunk
+            for (ImportRow row : rows) {
+                try {
+                    applyResult(transactionTemplate.execute(status -> persist(List.of(row))), report);
+                } catch (RuntimeException rowException) {
+                    report.addError(row.lineNumber(), NestedExceptionUtils.getMostSpecificCause(rowException).getMessage());
+                }
+            }
+        }
+    }
+
+    private ChunkResult persist(List<ImportRow> rows) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        // imported sessions keep the same no-overlap guarantee as sessions booked one by one
+        availabilityService.lockBookingsUntilCompletion();
+
+        Set<String> emails = new LinkedHashSet<>();
+        rows.forEach(row -> emails.add(row.email()));
+        Map<String, Client> clientsByEmail = new HashMap<>();
+        clientRepository.findByEmailIn(emails).forEach(client -> clientsByEmail.put(client.getEmail(), client));
+
+        ChunkResult result = new ChunkResult();
+        List<Interval> accepted = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (row.hasSession()) {
+                String sessionType = row.sessionType().getCode();
+                Interval interval = new Interval(row.sessionDate(),
+                        row.sessionDate().plus(availabilityService.durationOf(sessionType)));
+                if (availabilityService.conflicts(sessionType, row.sessionDate(), null)
+                        || accepted.stream().anyMatch(interval::overlaps)) {
+                    result.errors.put(row.lineNumber(), "Sesja " + row.sessionDate() + " nachodzi na inną sesję");
+                    continue;
+                }
+                accepted.add(interval);
+            }
+            Client client = clientsByEmail.get(row.email());
+            if (client == null) {
+                client = new Client();
+                client.setFirstName(row.firstName());
+                client.setLastName(row.lastName());
+                client.setEmail(row.email());
+                client.setPhoneNumber(row.phoneNumber());
+                entityManager.persist(client);
+                clientsByEmail.put(row.email(), client);
+                result.clients.add(client);
+            }
+            if (row.hasSession()) {
+                Payment payment = new Payment();
+                payment.setIsDepositPaid(row.isDepositPaid());
+                payment.setBasePayment(BigDecimal.valueOf(row.sessionType().getPrice()));
+                Photos photos = new Photos();
+                PhotoSession photoSession = new PhotoSession();
+                photoSession.setClient(client);
+                photoSession.setPayment(payment);
+                photoSession.setPhotos(photos);
+                photoSession.setSessionDate(row.sessionDate());
+                photoSession.setSessionType(row.sessionType().getCode());
+                photoSession.setIsContractFinished(false);
+                entityManager.persist(payment);
+                entityManager.persist(photos);
+                entityManager.persist(photoSession);
+                result.sessions.add(photoSession);
+                result.clientIds.add(client.getId());
+                result.periods.add(RevenuePeriod.of(photoSession.getSessionDate(), photoSession.getSessionType()));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // registered in the transaction, so the index has the new bookings before the booking lock is released
+        result.sessions.forEach(availabilityService::onSessionSaved);
+        currentClientReadModel.refresh(result.clientIds);
+        revenueReadModel.refresh(result.periods);
+        return result;
+    }
+
+    private void applyResult(ChunkResult result, ImportReportDto report) {
+        result.errors.forEach(report::addError);
+        result.clients.forEach(clientSearchService::onClientSaved);
+        result.sessions.forEach(paymentStatusService::onSessionSaved);
+        report.setClientsCreated(report.getClientsCreated() + result.clients.size());
+        report.setSessionsCreated(report.getSessionsCreated() + result.sessions.size());
+    }
+
+    private static String stripBom(String header) {
+        return header.startsWith("﻿") ? header.substring(1) : header;
+    }
+
+    private static class ChunkResult {
+        final List<Client> clients = new ArrayList<>();
+        final List<PhotoSession> sessions = new ArrayList<>();
+        final Set<Long> clientIds = new LinkedHashSet<>();
+        final Set<RevenuePeriod> periods = new LinkedHashSet<>();
+        final Map<Long, String> errors = new LinkedHashMap<>();
+    }
+
+    private record Interval(LocalDateTime start, LocalDateTime end) {
+
+        boolean overlaps(Interval other) {
+            return start.isBefore(other.end) && other.start.isBefore(end);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.ks.photoapp.domain.bulkImport;
+
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog;
+import org.ks.photoapp.domain.sessionType.dto.SessionTypeDto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+record ImportRow(long lineNumber, String firstName, String lastName, String email, Long phoneNumber,
+                 LocalDateTime sessionDate, SessionTypeDto sessionType, Boolean isDepositPaid) {
+
+    private static final DateTimeFormatter SESSION_DATE_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd[ ]['T']H:mm[:ss]");
+
+    static final List<String> COLUMNS = List.of(
+            "first_name", "last_name", "email", "phone_number", "session_date", "session_type", "is_deposit_paid");
+
+    static ImportRow parse(long lineNumber, List<String> fields, SessionTypeCatalog sessionTypeCatalog) {
+        if (fields.size() != COLUMNS.size()) {
+            throw new IllegalArgumentException(
+                    "Oczekiwano " + COLUMNS.size() + " kolumn, znaleziono " + fields.size());
+        }
+        String email = fields.get(2);
+        if (email.isEmpty()) {
+            throw new IllegalArgumentException("Brak adresu email");
+        }
+        LocalDateTime sessionDate = parseDate(fields.get(4));
+        SessionTypeDto sessionType = parseSessionType(fields.get(5), sessionTypeCatalog);
+        if (sessionDate == null && sessionType != null || sessionDate != null && sessionType == null) {
+            throw new IllegalArgumentException("Sesja wymaga daty i rodzaju");
+        }
+        return new ImportRow(lineNumber, fields.get(0), fields.get(1), email, parsePhoneNumber(fields.get(3)),
+                sessionDate, sessionType, Boolean.parseBoolean(fields.get(6)));
+    }
+
+    boolean hasSession() {
+        return sessionDate != null;
+    }
+
+    private static Long parsePhoneNumber(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.replace(" ", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Niepoprawny numer telefonu: " + value);
+        }
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value, SESSION_DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Niepoprawna data sesji: " + value);
+        }
+    }
+
+    private static SessionTypeDto parseSessionType(String value, SessionTypeCatalog sessionTypeCatalog) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        return sessionTypeCatalog.resolve(value)
+                .orElseThrow(() -> new IllegalArgumentException("Nieznany rodzaj sesji: " + value));
+    }
+}
@@ -0,0 +1,28 @@
+package org.ks.photoapp.domain.bulkImport.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportReportDto {
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    long rowsRead;
+    long clientsCreated;
+    long sessionsCreated;
+    long errorCount;
+    List<ImportRowErrorDto> errors = new ArrayList<>();
+
+    public void addError(long lineNumber, String message) {
+        errorCount++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ImportRowErrorDto(lineNumber, message));
+        }
+    }
+
+    public boolean isErrorListTruncated() {
+        return errorCount > errors.size();
+    }
+}
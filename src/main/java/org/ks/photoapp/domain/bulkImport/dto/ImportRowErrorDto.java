@@ -0,0 +1,14 @@
+package org.ks.photoapp.domain.bulkImport.dto;
+
+import lombok.Data;
+
+@Data
+public class ImportRowErrorDto {
+    long lineNumber;
+    String message;
+
+    public ImportRowErrorDto(long lineNumber, String message) {
+        this.lineNumber = lineNumber;
+        this.message = message;
+    }
+}
@@ -0,0 +1,30 @@
+package org.ks.photoapp.domain.calendar;
+
+import org.ks.photoapp.domain.calendar.dto.CalendarDto;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@RestController
+public class CalendarController {
+
+    private final CalendarService calendarService;
+
+    public CalendarController(CalendarService calendarService) {
+        this.calendarService = calendarService;
+    }
+
+    @GetMapping("/calendar/month")
+    public CalendarDto getMonth(@RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return calendarService.getMonth(month);
+    }
+
+    @GetMapping("/calendar/week")
+    public CalendarDto getWeek(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return calendarService.getWeek(date);
+    }
+}
@@ -0,0 +1,46 @@
+package org.ks.photoapp.domain.calendar;
+
+import org.ks.photoapp.domain.calendar.dto.CalendarDto;
+import org.ks.photoapp.domain.calendar.dto.CalendarEntryDto;
+import org.ks.photoapp.domain.photoSession.PhotoSessionRepository;
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Service
+public class CalendarService {
+
+    private final PhotoSessionRepository photoSessionRepository;
+    private final SessionTypeCatalog sessionTypeCatalog;
+
+    public CalendarService(PhotoSessionRepository photoSessionRepository, SessionTypeCatalog sessionTypeCatalog) {
+        this.photoSessionRepository = photoSessionRepository;
+        this.sessionTypeCatalog = sessionTypeCatalog;
+    }
+
+    public CalendarDto getMonth(YearMonth month) {
+        return getRange(month.atDay(1), month.atEndOfMonth());
+    }
+
+    public CalendarDto getWeek(LocalDate date) {
+        LocalDate monday = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return getRange(monday, monday.plusDays(6));
+    }
+
+    private CalendarDto getRange(LocalDate from, LocalDate to) {
+        List<CalendarEntryDto> entries = photoSessionRepository.findCalendarEntries(
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        entries.forEach(entry -> entry.setSessionType(sessionTypeCatalog.nameOf(entry.getSessionType())));
+        Map<LocalDate, List<CalendarEntryDto>> days = entries.stream()
+                .collect(Collectors.groupingBy(CalendarEntryDto::getDay, TreeMap::new, Collectors.toList()));
+        return new CalendarDto(from, to, days);
+    }
+}
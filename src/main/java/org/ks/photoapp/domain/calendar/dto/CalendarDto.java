@@ -0,0 +1,20 @@
+package org.ks.photoapp.domain.calendar.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class CalendarDto {
+    LocalDate from;
+    LocalDate to;
+    Map<LocalDate, List<CalendarEntryDto>> days;
+
+    public CalendarDto(LocalDate from, LocalDate to, Map<LocalDate, List<CalendarEntryDto>> days) {
+        this.from = from;
+        this.to = to;
+        this.days = days;
+    }
+}
@@ -0,0 +1,31 @@
+package org.ks.photoapp.domain.calendar.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+public class CalendarEntryDto {
+    Long sessionId;
+    Long clientId;
+    String clientName;
+    LocalTime time;
+    String sessionType;
+    Boolean isContractFinished;
+    @JsonIgnore
+    LocalDate day;
+
+    public CalendarEntryDto(Long sessionId, LocalDateTime sessionDate, String sessionType, Long clientId,
+                            String firstName, String lastName, Boolean isContractFinished) {
+        this.sessionId = sessionId;
+        this.clientId = clientId;
+        this.clientName = firstName + " " + lastName;
+        this.day = sessionDate.toLocalDate();
+        this.time = sessionDate.toLocalTime();
+        this.sessionType = sessionType;
+        this.isContractFinished = isContractFinished;
+    }
+}
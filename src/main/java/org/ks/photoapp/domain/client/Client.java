@@ -2,15 +2,20 @@ package org.ks.photoapp.domain.client;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.ks.photoapp.domain.photoSession.PhotoSession;
 
 import java.util.ArrayList;
 import java.util.List;
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "client")
 public class Client {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "client_seq")
+    @SequenceGenerator(name = "client_seq", sequenceName = "client_seq", allocationSize = 50)
     Long id;
     String firstName;
     String lastName;
@@ -18,6 +23,8 @@ public class Client {
     Long phoneNumber;
     @OneToMany(mappedBy = "client", cascade = {CascadeType.REFRESH, CascadeType.PERSIST})
     List<PhotoSession> photoSessions = new ArrayList<>();
+    @Version
+    Long version;
 
     public Long getId() {
         return id;
@@ -2,6 +2,7 @@ package org.ks.photoapp.domain.client;
 
 
 
+import org.ks.photoapp.config.rendering.ListStreaming;
 import org.ks.photoapp.domain.client.dto.ClientDto;
 import org.ks.photoapp.domain.photoSession.PhotoSessionService;
 import org.ks.photoapp.domain.photoSession.dto.PhotoSessionDto;
@@ -14,23 +15,27 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
 import java.util.Optional;
 
 @Controller
 public class ClientController{
     ClientService clientService;
     PhotoSessionService photoSessionService;
+    ListStreaming listStreaming;
     public static final String NOTIFICATION_ATTRIBUTE = "notification";
 
-    public ClientController(ClientService clientService, PhotoSessionService photoSessionService) {
+    public ClientController(ClientService clientService, PhotoSessionService photoSessionService,
+                            ListStreaming listStreaming) {
         this.clientService = clientService;
         this.photoSessionService = photoSessionService;
+        this.listStreaming = listStreaming;
     }
 
     @GetMapping("/client/current")
     public String getAllCurrentClients(Model model) {
-        List<ClientDto> clients = clientService.getAllCurrentClients();
+        Iterable<ClientDto> clients = listStreaming.isEnabled()
+                ? listStreaming.query(clientService::getCurrentClientsAfter)
+                : clientService.getAllCurrentClients();
         model.addAttribute("heading", "Aktualni klienci");
         model.addAttribute("clients", clients);
         return "current-client";
@@ -38,7 +43,9 @@ public class ClientController{
 
     @GetMapping("/client/all")
     public String getAllClients(Model model) {
-        List<ClientDto> clients = clientService.getAllClients();
+        Iterable<ClientDto> clients = listStreaming.isEnabled()
+                ? listStreaming.query(clientService::getClientsAfter)
+                : clientService.getAllClients();
         model.addAttribute("heading", "Wszyscy klienci");
         model.addAttribute("clients", clients);
         return "all-clients";
@@ -91,6 +98,6 @@ public class ClientController{
         clientService.updateClientDetails(client, id);
         redirectAttributes.addFlashAttribute(NOTIFICATION_ATTRIBUTE,
                 "Dane klienta zaktualinowane");
-        return "redirect:/client/{id}";
+        return "redirect:/client/" + id;
     }
 }
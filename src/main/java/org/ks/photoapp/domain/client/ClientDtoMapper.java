@@ -20,6 +20,7 @@ public class ClientDtoMapper {
         clientDto.setLastName(client.getLastName());
         clientDto.setEmail(client.getEmail());
         clientDto.setPhoneNumber(client.getPhoneNumber());
+        clientDto.setVersion(client.getVersion());
 
         if (client.getPhotoSessions() != null && !client.getPhotoSessions().isEmpty()) {
             List<PhotoSessionDto> photoSessionDto = client.getPhotoSessions().stream()
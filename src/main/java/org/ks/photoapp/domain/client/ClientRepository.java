@@ -1,17 +1,44 @@
 package org.ks.photoapp.domain.client;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.ks.photoapp.domain.client.dto.ClientDto;
 import org.ks.photoapp.domain.photoSession.PhotoSession;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClientRepository extends CrudRepository<Client, Long> {
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Client> findByLastName(String lastName);
+    List<Client> findByEmailIn(Collection<String> emails);
+    long countByEmailEndingWith(String suffix);
     void deleteClientById(Long id);
 
+    @Query("select new org.ks.photoapp.domain.client.dto.ClientDto(c.id, c.phoneNumber, c.email, c.lastName, c.firstName, c.version) from Client c")
+    List<ClientDto> findAllDtos();
+
+    @Query("""
+            select new org.ks.photoapp.domain.client.dto.ClientDto(c.id, c.phoneNumber, c.email, c.lastName, c.firstName, c.version)
+            from Client c
+            where c.id > :id
+            order by c.id""")
+    List<ClientDto> findDtosAfter(long id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    @Query("select c from Client c order by c.id")
+    Stream<Client> streamAllOrderById();
+
     }
 
@@ -0,0 +1,24 @@
+package org.ks.photoapp.domain.client;
+
+import org.ks.photoapp.domain.client.dto.ClientSuggestionDto;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class ClientSearchController {
+
+    private final ClientSearchService clientSearchService;
+
+    public ClientSearchController(ClientSearchService clientSearchService) {
+        this.clientSearchService = clientSearchService;
+    }
+
+    @GetMapping("/client/search")
+    public List<ClientSuggestionDto> search(@RequestParam String q,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        return clientSearchService.search(q, limit);
+    }
+}
@@ -0,0 +1,165 @@
+package org.ks.photoapp.domain.client;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+class ClientSearchIndex {
+
+    // the sort key is normalized once when the entry is built, not on every comparison of a search
+    record Entry(long id, String firstName, String lastName, String email, Long phoneNumber, String sortKey) {
+
+        Entry(long id, String firstName, String lastName, String email, Long phoneNumber) {
+            this(id, firstName, lastName, email, phoneNumber, normalize(lastName) + '\0' + normalize(firstName));
+        }
+    }
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}@.+_-]+");
+    private static final Pattern EMAIL_PARTS = Pattern.compile("[@.+_-]+");
+
+    private static final Comparator<Entry> BY_NAME = Comparator
+            .comparing(Entry::sortKey)
+            .thenComparingLong(Entry::id);
+
+    private final NavigableMap<String, Set<Long>> idsByToken = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    synchronized void put(Entry entry) {
+        Entry previous = entries.put(entry.id(), entry);
+        if (previous != null) {
+            unlink(previous);
+        }
+        for (String token : tokens(entry)) {
+            idsByToken.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(entry.id());
+        }
+    }
+
+    synchronized void remove(long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            unlink(previous);
+        }
+    }
+
+    synchronized void replaceAll(Collection<Entry> all) {
+        idsByToken.clear();
+        entries.clear();
+        all.forEach(this::put);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    List<Entry> search(String query, int limit) {
+        List<String> prefixes = queryTokens(query);
+        if (prefixes.isEmpty()) {
+            return List.of();
+        }
+        // every word of the query has to be the prefix of one of the client's words
+        Set<Long> matches = null;
+        for (String prefix : prefixes) {
+            Set<Long> ids = idsWithPrefix(prefix);
+            if (matches == null) {
+                matches = ids;
+            } else {
+                matches.retainAll(ids);
+            }
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+        }
+        // only the first entries by name are kept while collecting, so a short query on a large index sorts a
+        // handful of entries rather than every match
+        PriorityQueue<Entry> first = new PriorityQueue<>(limit + 1, BY_NAME.reversed());
+        for (Long id : matches) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                continue;
+            }
+            if (first.size() < limit) {
+                first.add(entry);
+            } else if (BY_NAME.compare(entry, first.peek()) < 0) {
+                first.poll();
+                first.add(entry);
+            }
+        }
+        List<Entry> result = new ArrayList<>(first);
+        result.sort(BY_NAME);
+        return result;
+    }
+
+    private Set<Long> idsWithPrefix(String prefix) {
+        Set<Long> ids = new HashSet<>();
+        idsByToken.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .values()
+                .forEach(ids::addAll);
+        return ids;
+    }
+
+    private void unlink(Entry entry) {
+        for (String token : tokens(entry)) {
+            Set<Long> ids = idsByToken.get(token);
+            if (ids != null) {
+                ids.remove(entry.id());
+                if (ids.isEmpty()) {
+                    idsByToken.remove(token);
+                }
+            }
+        }
+    }
+
+    private static Set<String> tokens(Entry entry) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addWords(tokens, entry.firstName());
+        addWords(tokens, entry.lastName());
+        String email = normalize(entry.email());
+        if (!email.isEmpty()) {
+            tokens.add(email);
+            addWords(tokens, EMAIL_PARTS.matcher(email).replaceAll(" "));
+        }
+        if (entry.phoneNumber() != null) {
+            tokens.add(entry.phoneNumber().toString());
+        }
+        return tokens;
+    }
+
+    private static void addWords(Set<String> tokens, String value) {
+        for (String word : SEPARATORS.split(normalize(value))) {
+            if (!word.isEmpty()) {
+                tokens.add(word);
+            }
+        }
+    }
+
+    private static List<String> queryTokens(String query) {
+        List<String> tokens = new ArrayList<>();
+        for (String word : normalize(query).split("\\s+")) {
+            if (!word.isEmpty()) {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String lowerCase = value.trim().toLowerCase(Locale.ROOT).replace('ł', 'l');
+        return DIACRITICS.matcher(Normalizer.normalize(lowerCase, Normalizer.Form.NFD)).replaceAll("");
+    }
+}
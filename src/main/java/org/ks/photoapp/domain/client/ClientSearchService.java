@@ -0,0 +1,55 @@
+package org.ks.photoapp.domain.client;
+
+import org.ks.photoapp.config.transaction.AfterCommit;
+import org.ks.photoapp.domain.client.ClientSearchIndex.Entry;
+import org.ks.photoapp.domain.client.dto.ClientSuggestionDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class ClientSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientSearchService.class);
+
+    private final ClientRepository clientRepository;
+    private final ClientSearchIndex index = new ClientSearchIndex();
+    private final int maxResults;
+
+    public ClientSearchService(ClientRepository clientRepository,
+                               @Value("${photoapp.client-search.max-results:20}") int maxResults) {
+        this.clientRepository = clientRepository;
+        this.maxResults = maxResults;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.replaceAll(clientRepository.findAllDtos().stream()
+                .map(client -> new Entry(client.getId(), client.getFirstName(), client.getLastName(),
+                        client.getEmail(), client.getPhoneNumber()))
+                .toList());
+        log.info("Client search index loaded with {} clients", index.size());
+    }
+
+    public void onClientSaved(Client client) {
+        Entry entry = new Entry(client.getId(), client.getFirstName(), client.getLastName(),
+                client.getEmail(), client.getPhoneNumber());
+        AfterCommit.run(() -> index.put(entry));
+    }
+
+    public void onClientDeleted(long clientId) {
+        AfterCommit.run(() -> index.remove(clientId));
+    }
+
+    public List<ClientSuggestionDto> search(String query, int limit) {
+        return index.search(query, Math.max(1, Math.min(limit, maxResults))).stream()
+                .map(entry -> new ClientSuggestionDto(entry.id(), entry.firstName(), entry.lastName(),
+                        entry.email(), entry.phoneNumber()))
+                .toList();
+    }
+}
@@ -2,40 +2,47 @@ package org.ks.photoapp.domain.client;
 
 
 import org.ks.photoapp.domain.client.dto.ClientDto;
-import org.ks.photoapp.domain.photoSession.PhotoSession;
-import org.ks.photoapp.domain.photoSession.PhotoSessionRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class ClientService {
 
    private final ClientRepository clientRepository;
-   private final PhotoSessionRepository photoSessionRepository;
+   private final CurrentClientRepository currentClientRepository;
+   private final ClientSearchService clientSearchService;
 
-    public ClientService(ClientRepository clientRepository, PhotoSessionRepository photoSessionRepository) {
+    public ClientService(ClientRepository clientRepository, CurrentClientRepository currentClientRepository,
+                         ClientSearchService clientSearchService) {
         this.clientRepository = clientRepository;
-        this.photoSessionRepository = photoSessionRepository;
+        this.currentClientRepository = currentClientRepository;
+        this.clientSearchService = clientSearchService;
     }
 
 
     public List<ClientDto> getAllCurrentClients() {
-        List<PhotoSession> photoSessions = (List<PhotoSession>) photoSessionRepository.findAll();
-        return photoSessions.stream()
-                .filter(session -> !session.getIsContractFinished())
-                .map(PhotoSession::getClient)
-                .distinct()
-                .map(ClientDtoMapper::map)
-                .toList();
+        return currentClientRepository.findCurrentClients();
     }
     public List<ClientDto> getAllClients() {
-       List<Client> clients = (List<Client>)clientRepository.findAll();
-       return clients.stream()
-               .map(ClientDtoMapper::map)
-               .toList();
+        // the list only shows contact details, so sessions are not loaded per client
+        return clientRepository.findAllDtos();
+    }
+
+    public List<ClientDto> getClientsAfter(ClientDto last, int limit) {
+        return clientRepository.findDtosAfter(last == null ? 0 : last.getId(), Limit.of(limit));
+    }
+
+    public List<ClientDto> getCurrentClientsAfter(ClientDto last, int limit) {
+        if (last == null) {
+            return currentClientRepository.findCurrentClientsAfter("", "", 0, Limit.of(limit));
+        }
+        return currentClientRepository.findCurrentClientsAfter(Objects.toString(last.getLastName(), ""),
+                Objects.toString(last.getFirstName(), ""), last.getId(), Limit.of(limit));
     }
 
     public Optional<ClientDto> findClientById(long id){
@@ -55,7 +62,7 @@ public class ClientService {
         client.setFirstName(clientDto.getFirstName());
         client.setEmail(clientDto.getEmail());
         client.setPhoneNumber(clientDto.getPhoneNumber());
-        clientRepository.save(client);
+        clientSearchService.onClientSaved(clientRepository.save(client));
     }
 
     public void updateClientDetails(ClientDto clientDto, long id) {
@@ -65,11 +72,16 @@ public class ClientService {
     clientToUpdate.setFirstName(clientDto.getFirstName());
     clientToUpdate.setEmail(clientDto.getEmail());
     clientToUpdate.setPhoneNumber(clientDto.getPhoneNumber());
-        clientRepository.save(clientToUpdate);
+        clientSearchService.onClientSaved(clientRepository.save(clientToUpdate));
     }
 
 
+    @Transactional
     public void deleteClient(Long id){
+        if (currentClientRepository.existsById(id)) {
+            currentClientRepository.deleteById(id);
+        }
         clientRepository.deleteClientById(id);
+        clientSearchService.onClientDeleted(id);
     }
 }
@@ -0,0 +1,21 @@
+package org.ks.photoapp.domain.client;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+@Data
+@Entity
+public class CurrentClient {
+    @Id
+    Long clientId;
+    Long openSessions;
+
+    public CurrentClient() {
+    }
+
+    public CurrentClient(Long clientId, Long openSessions) {
+        this.clientId = clientId;
+        this.openSessions = openSessions;
+    }
+}
@@ -0,0 +1,35 @@
+package org.ks.photoapp.domain.client;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public class CurrentClientReadModel {
+
+    private final CurrentClientRepository currentClientRepository;
+
+    public CurrentClientReadModel(CurrentClientRepository currentClientRepository) {
+        this.currentClientRepository = currentClientRepository;
+    }
+
+    public void refresh(Long clientId) {
+        if (clientId != null) {
+            refresh(List.of(clientId));
+        }
+    }
+
+    @Transactional
+    public void refresh(Collection<Long> clientIds) {
+        if (clientIds.isEmpty()) {
+            return;
+        }
+        // two writers refreshing the same client queue up on its row instead of both inserting the client's entry;
+        // rows are taken in id order, so writers refreshing several clients cannot deadlock on each other
+        currentClientRepository.lockClients(clientIds);
+        currentClientRepository.deleteByClientIds(clientIds);
+        currentClientRepository.insertOpenSessionCounts(clientIds);
+    }
+}
@@ -0,0 +1,57 @@
+package org.ks.photoapp.domain.client;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.ks.photoapp.domain.client.dto.ClientDto;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CurrentClientRepository extends CrudRepository<CurrentClient, Long> {
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            select new org.ks.photoapp.domain.client.dto.ClientDto(c.id, c.phoneNumber, c.email, c.lastName, c.firstName, c.version)
+            from CurrentClient cc
+            join Client c on c.id = cc.clientId
+            order by c.lastName, c.firstName, c.id""")
+    List<ClientDto> findCurrentClients();
+
+    // same order as findCurrentClients, with names compared as empty strings when missing so the keyset works
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            select new org.ks.photoapp.domain.client.dto.ClientDto(c.id, c.phoneNumber, c.email, c.lastName, c.firstName, c.version)
+            from CurrentClient cc
+            join Client c on c.id = cc.clientId
+            where coalesce(c.lastName, '') > :lastName
+               or (coalesce(c.lastName, '') = :lastName and (coalesce(c.firstName, '') > :firstName
+                   or (coalesce(c.firstName, '') = :firstName and c.id > :id)))
+            order by coalesce(c.lastName, ''), coalesce(c.firstName, ''), c.id""")
+    List<ClientDto> findCurrentClientsAfter(String lastName, String firstName, long id, Limit limit);
+
+    // the client rows always exist, so locking them takes no gap lock on MySQL, unlike the missing current_client rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c.id from Client c where c.id in :clientIds order by c.id")
+    List<Long> lockClients(Collection<Long> clientIds);
+
+    @Modifying
+    @Query("delete from CurrentClient cc where cc.clientId in :clientIds")
+    void deleteByClientIds(Collection<Long> clientIds);
+
+    @Modifying
+    @Query("""
+            insert into CurrentClient (clientId, openSessions)
+            select ps.client.id, count(ps) from PhotoSession ps
+            where ps.client.id in :clientIds and ps.isContractFinished = false
+            group by ps.client.id""")
+    void insertOpenSessionCounts(Collection<Long> clientIds);
+}
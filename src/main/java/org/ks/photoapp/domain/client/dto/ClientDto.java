@@ -16,6 +16,7 @@ public class ClientDto {
     String email;
     Long phoneNumber;
     private List<PhotoSessionDto> photoSessions;
+    Long version;
 
 
     public ClientDto() {
@@ -29,4 +30,9 @@ public class ClientDto {
         this.firstName = firstName;
     }
 
+    public ClientDto(Long id, Long phoneNumber, String email, String lastName, String firstName, Long version) {
+        this(id, phoneNumber, email, lastName, firstName);
+        this.version = version;
+    }
+
 }
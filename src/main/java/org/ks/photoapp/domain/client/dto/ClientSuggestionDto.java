@@ -0,0 +1,20 @@
+package org.ks.photoapp.domain.client.dto;
+
+import lombok.Data;
+
+@Data
+public class ClientSuggestionDto {
+    Long id;
+    String firstName;
+    String lastName;
+    String email;
+    Long phoneNumber;
+
+    public ClientSuggestionDto(Long id, String firstName, String lastName, String email, Long phoneNumber) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+    }
+}
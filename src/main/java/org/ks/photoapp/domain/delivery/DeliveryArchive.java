@@ -0,0 +1,4 @@
+package org.ks.photoapp.domain.delivery;
+
+record DeliveryArchive(String fileName, String etag, StoredZipArchive zip) {
+}
@@ -0,0 +1,47 @@
+package org.ks.photoapp.domain.delivery;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.ks.photoapp.domain.storage.RangedResponses;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+@Controller
+public class DeliveryController {
+
+    private static final String ZIP_CONTENT_TYPE = "application/zip";
+
+    private final DeliveryService deliveryService;
+
+    public DeliveryController(DeliveryService deliveryService) {
+        this.deliveryService = deliveryService;
+    }
+
+    @GetMapping("/photosession/{id}/delivery.zip")
+    public void download(@PathVariable long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        DeliveryArchive archive;
+        try {
+            archive = deliveryService.buildArchive(id);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(archive.fileName()).build().toString());
+        RangedResponses.ByteSpan span = RangedResponses.prepare(request, response, archive.etag(),
+                archive.zip().length(), ZIP_CONTENT_TYPE);
+        if (span != null) {
+            archive.zip().write(response.getOutputStream(), span.start(), span.end());
+        }
+    }
+}
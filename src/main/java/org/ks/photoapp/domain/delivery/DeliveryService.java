@@ -0,0 +1,94 @@
+package org.ks.photoapp.domain.delivery;
+
+import org.ks.photoapp.domain.delivery.dto.DeliveryFileDto;
+import org.ks.photoapp.domain.photoSession.PhotoSessionRepository;
+import org.ks.photoapp.domain.photos.PhotoFileRepository;
+import org.ks.photoapp.domain.proofing.ProofingService;
+import org.ks.photoapp.domain.storage.ContentStore;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+@Service
+public class DeliveryService {
+
+    private final PhotoSessionRepository photoSessionRepository;
+    private final PhotoFileRepository photoFileRepository;
+    private final ProofingService proofingService;
+    private final ContentStore contentStore;
+    private final TransactionTemplate transactionTemplate;
+
+    public DeliveryService(PhotoSessionRepository photoSessionRepository, PhotoFileRepository photoFileRepository,
+                           ProofingService proofingService, ContentStore contentStore,
+                           TransactionTemplate transactionTemplate) {
+        this.photoSessionRepository = photoSessionRepository;
+        this.photoFileRepository = photoFileRepository;
+        this.proofingService = proofingService;
+        this.contentStore = contentStore;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    DeliveryArchive buildArchive(long sessionId) throws IOException {
+        long photosId = photoSessionRepository.findPhotosIdById(sessionId)
+                .orElseThrow(() -> new NoSuchElementException("Photo session not found"));
+        if (!photoSessionRepository.findChosenByClientById(sessionId).orElse(false)) {
+            throw new IllegalStateException("Klient jeszcze nie wybrał zdjęć");
+        }
+        List<DeliveryFileDto> files = photoFileRepository.findDeliveryFilesByPhotosId(photosId);
+        BitSet selected = proofingService.getSelectedOrdinals(sessionId);
+        if (!selected.isEmpty()) {
+            files = files.stream().filter(file -> selected.get(file.getOrdinal())).toList();
+        }
+        if (files.isEmpty()) {
+            throw new IllegalStateException("Brak zdjęć do wydania");
+        }
+
+        MessageDigest etag = ContentStore.sha256();
+        Set<String> names = new HashSet<>();
+        List<StoredZipArchive.Entry> entries = new ArrayList<>(files.size());
+        for (DeliveryFileDto file : files) {
+            String name = uniqueName(file, names);
+            etag.update((name + "\n" + file.getContentHash() + "\n").getBytes(StandardCharsets.UTF_8));
+            entries.add(new StoredZipArchive.Entry(name, contentStore.pathOf(file.getContentHash()),
+                    file.getSizeBytes(), crc32Of(file), file.getUploadedAt()));
+        }
+        return new DeliveryArchive("sesja-" + sessionId + ".zip",
+                "\"" + HexFormat.of().formatHex(etag.digest()) + "\"", new StoredZipArchive(entries));
+    }
+
+    private long crc32Of(DeliveryFileDto file) throws IOException {
+        if (file.getCrc32() != null) {
+            return file.getCrc32();
+        }
+        // files stored before checksums were recorded get theirs once, on first delivery
+        long crc32 = contentStore.hash(contentStore.pathOf(file.getContentHash())).crc32();
+        transactionTemplate.executeWithoutResult(status ->
+                photoFileRepository.updateCrc32(file.getContentHash(), crc32));
+        return crc32;
+    }
+
+    private static String uniqueName(DeliveryFileDto file, Set<String> names) {
+        String name = file.getFileName();
+        if (names.add(name)) {
+            return name;
+        }
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        String candidate = base + "-" + file.getOrdinal() + extension;
+        for (int i = 2; !names.add(candidate); i++) {
+            candidate = base + "-" + file.getOrdinal() + "-" + i + extension;
+        }
+        return candidate;
+    }
+}
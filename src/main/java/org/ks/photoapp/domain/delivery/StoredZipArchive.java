@@ -0,0 +1,197 @@
+package org.ks.photoapp.domain.delivery;
+
+import org.ks.photoapp.domain.storage.ContentResponseWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// every byte of the archive is known upfront, so it has a length and any range of it can be written
+class StoredZipArchive {
+
+    static final long ZIP64_LIMIT = 0xFFFFFFFFL;
+    static final int ZIP64_COUNT_LIMIT = 0xFFFF;
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int ZIP64_END = 0x06064b50;
+    private static final int ZIP64_LOCATOR = 0x07064b50;
+    private static final int END = 0x06054b50;
+    private static final int VERSION_DEFAULT = 20;
+    private static final int VERSION_ZIP64 = 45;
+    private static final int FLAG_UTF8_NAMES = 0x0800;
+    private static final int METHOD_STORED = 0;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private final long length;
+
+    StoredZipArchive(List<Entry> entries) {
+        ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+        long offset = 0;
+        boolean zip64 = entries.size() >= ZIP64_COUNT_LIMIT;
+        for (Entry entry : entries) {
+            byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+            byte[] localHeader = localHeader(entry, name);
+            byte[] centralHeader = centralHeader(entry, name, offset);
+            zip64 |= entry.size() >= ZIP64_LIMIT || offset >= ZIP64_LIMIT;
+            offset = add(new Segment(offset, localHeader.length, localHeader, null));
+            offset = add(new Segment(offset, entry.size(), null, entry.path()));
+            centralDirectory.writeBytes(centralHeader);
+        }
+        long centralDirectoryOffset = offset;
+        byte[] central = centralDirectory.toByteArray();
+        offset = add(new Segment(offset, central.length, central, null));
+        zip64 |= centralDirectoryOffset >= ZIP64_LIMIT || central.length >= ZIP64_LIMIT;
+        byte[] end = endRecords(entries.size(), centralDirectoryOffset, central.length, offset, zip64);
+        length = add(new Segment(offset, end.length, end, null));
+    }
+
+    long length() {
+        return length;
+    }
+
+    void write(OutputStream out, long start, long end) throws IOException {
+        WritableByteChannel channel = Channels.newChannel(out);
+        for (Segment segment : segments) {
+            long segmentEnd = segment.offset() + segment.length() - 1;
+            if (segmentEnd < start || segment.offset() > end || segment.length() == 0) {
+                continue;
+            }
+            long from = Math.max(start, segment.offset()) - segment.offset();
+            long to = Math.min(end, segmentEnd) - segment.offset();
+            if (segment.bytes() != null) {
+                out.write(segment.bytes(), (int) from, (int) (to - from + 1));
+            } else {
+                out.flush();
+                ContentResponseWriter.transfer(segment.path(), from, to - from + 1, channel);
+            }
+        }
+        out.flush();
+    }
+
+    private long add(Segment segment) {
+        segments.add(segment);
+        return segment.offset() + segment.length();
+    }
+
+    private static byte[] localHeader(Entry entry, byte[] name) {
+        boolean zip64 = entry.size() >= ZIP64_LIMIT;
+        ByteBuffer header = buffer(30 + name.length + (zip64 ? 20 : 0));
+        header.putInt(LOCAL_HEADER);
+        header.putShort((short) (zip64 ? VERSION_ZIP64 : VERSION_DEFAULT));
+        header.putShort((short) FLAG_UTF8_NAMES);
+        header.putShort((short) METHOD_STORED);
+        header.putShort((short) dosTime(entry.modified()));
+        header.putShort((short) dosDate(entry.modified()));
+        header.putInt((int) entry.crc32());
+        header.putInt((int) (zip64 ? ZIP64_LIMIT : entry.size()));
+        header.putInt((int) (zip64 ? ZIP64_LIMIT : entry.size()));
+        header.putShort((short) name.length);
+        header.putShort((short) (zip64 ? 20 : 0));
+        header.put(name);
+        if (zip64) {
+            header.putShort((short) 0x0001);
+            header.putShort((short) 16);
+            header.putLong(entry.size());
+            header.putLong(entry.size());
+        }
+        return header.array();
+    }
+
+    private static byte[] centralHeader(Entry entry, byte[] name, long localHeaderOffset) {
+        boolean zip64Size = entry.size() >= ZIP64_LIMIT;
+        boolean zip64Offset = localHeaderOffset >= ZIP64_LIMIT;
+        int extraData = (zip64Size ? 16 : 0) + (zip64Offset ? 8 : 0);
+        int extra = extraData == 0 ? 0 : 4 + extraData;
+        ByteBuffer header = buffer(46 + name.length + extra);
+        header.putInt(CENTRAL_HEADER);
+        header.putShort((short) VERSION_ZIP64);
+        header.putShort((short) (extra > 0 ? VERSION_ZIP64 : VERSION_DEFAULT));
+        header.putShort((short) FLAG_UTF8_NAMES);
+        header.putShort((short) METHOD_STORED);
+        header.putShort((short) dosTime(entry.modified()));
+        header.putShort((short) dosDate(entry.modified()));
+        header.putInt((int) entry.crc32());
+        header.putInt((int) (zip64Size ? ZIP64_LIMIT : entry.size()));
+        header.putInt((int) (zip64Size ? ZIP64_LIMIT : entry.size()));
+        header.putShort((short) name.length);
+        header.putShort((short) extra);
+        header.putShort((short) 0);
+        header.putShort((short) 0);
+        header.putShort((short) 0);
+        header.putInt(0);
+        header.putInt((int) (zip64Offset ? ZIP64_LIMIT : localHeaderOffset));
+        header.put(name);
+        if (extra > 0) {
+            header.putShort((short) 0x0001);
+            header.putShort((short) extraData);
+            if (zip64Size) {
+                header.putLong(entry.size());
+                header.putLong(entry.size());
+            }
+            if (zip64Offset) {
+                header.putLong(localHeaderOffset);
+            }
+        }
+        return header.array();
+    }
+
+    private static byte[] endRecords(int count, long centralDirectoryOffset, long centralDirectorySize,
+                                     long offset, boolean zip64) {
+        ByteBuffer end = buffer((zip64 ? 56 + 20 : 0) + 22);
+        if (zip64) {
+            end.putInt(ZIP64_END);
+            end.putLong(44);
+            end.putShort((short) VERSION_ZIP64);
+            end.putShort((short) VERSION_ZIP64);
+            end.putInt(0);
+            end.putInt(0);
+            end.putLong(count);
+            end.putLong(count);
+            end.putLong(centralDirectorySize);
+            end.putLong(centralDirectoryOffset);
+            end.putInt(ZIP64_LOCATOR);
+            end.putInt(0);
+            end.putLong(offset);
+            end.putInt(1);
+        }
+        end.putInt(END);
+        end.putShort((short) 0);
+        end.putShort((short) 0);
+        end.putShort((short) Math.min(count, ZIP64_COUNT_LIMIT));
+        end.putShort((short) Math.min(count, ZIP64_COUNT_LIMIT));
+        end.putInt((int) Math.min(centralDirectorySize, ZIP64_LIMIT));
+        end.putInt((int) Math.min(centralDirectoryOffset, ZIP64_LIMIT));
+        end.putShort((short) 0);
+        return end.array();
+    }
+
+    private static ByteBuffer buffer(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int dosTime(LocalDateTime time) {
+        return time.getYear() < 1980 ? 0 : time.getHour() << 11 | time.getMinute() << 5 | time.getSecond() / 2;
+    }
+
+    private static int dosDate(LocalDateTime time) {
+        return time.getYear() < 1980
+                ? 1 << 5 | 1
+                : (time.getYear() - 1980) << 9 | time.getMonthValue() << 5 | time.getDayOfMonth();
+    }
+
+    record Entry(String name, Path path, long size, long crc32, LocalDateTime modified) {
+    }
+
+    private record Segment(long offset, long length, byte[] bytes, Path path) {
+    }
+}
@@ -0,0 +1,27 @@
+package org.ks.photoapp.domain.delivery.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class DeliveryFileDto {
+    Long id;
+    Integer ordinal;
+    String fileName;
+    String contentHash;
+    Long sizeBytes;
+    Long crc32;
+    LocalDateTime uploadedAt;
+
+    public DeliveryFileDto(Long id, Integer ordinal, String fileName, String contentHash, Long sizeBytes, Long crc32,
+                           LocalDateTime uploadedAt) {
+        this.id = id;
+        this.ordinal = ordinal;
+        this.fileName = fileName;
+        this.contentHash = contentHash;
+        this.sizeBytes = sizeBytes;
+        this.crc32 = crc32;
+        this.uploadedAt = uploadedAt;
+    }
+}
@@ -0,0 +1,73 @@
+package org.ks.photoapp.domain.duplicates;
+
+import org.ks.photoapp.domain.photos.PerceptualHash;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// metric tree over Hamming distance: by the triangle inequality only children whose edge distance lies within
+// [d - k, d + k] of the query can hold matches, so a small k visits a small part of the tree
+class BkTree {
+
+    private static final int MAX_DISTANCE = Long.SIZE;
+
+    private Node root;
+
+    void add(long hash, int item) {
+        if (root == null) {
+            root = new Node(hash, item);
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = PerceptualHash.distance(hash, node.hash);
+            if (distance == 0) {
+                node.items.add(item);
+                return;
+            }
+            Node child = node.children[distance];
+            if (child == null) {
+                node.children[distance] = new Node(hash, item);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    List<Integer> within(long hash, int maxDistance) {
+        List<Integer> found = new ArrayList<>();
+        if (root == null) {
+            return found;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = PerceptualHash.distance(hash, node.hash);
+            if (distance <= maxDistance) {
+                found.addAll(node.items);
+            }
+            int from = Math.max(1, distance - maxDistance);
+            int to = Math.min(MAX_DISTANCE, distance + maxDistance);
+            for (int edge = from; edge <= to; edge++) {
+                if (node.children[edge] != null) {
+                    pending.push(node.children[edge]);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static class Node {
+        final long hash;
+        final List<Integer> items = new ArrayList<>(1);
+        final Node[] children = new Node[MAX_DISTANCE + 1];
+
+        Node(long hash, int item) {
+            this.hash = hash;
+            this.items.add(item);
+        }
+    }
+}
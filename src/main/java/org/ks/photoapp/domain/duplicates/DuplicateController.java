@@ -0,0 +1,61 @@
+package org.ks.photoapp.domain.duplicates;
+
+import org.ks.photoapp.domain.duplicates.dto.DuplicateGroupDto;
+import org.ks.photoapp.domain.photos.dto.PhotoFileDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+@Controller
+public class DuplicateController {
+
+    private final DuplicateService duplicateService;
+
+    public DuplicateController(DuplicateService duplicateService) {
+        this.duplicateService = duplicateService;
+    }
+
+    @GetMapping("/photosession/{id}/duplicates")
+    public String getDuplicates(@PathVariable long id, @RequestParam(required = false) Integer distance,
+                                Model model) {
+        int maxDistance = distance == null ? duplicateService.getDefaultDistance() : distance;
+        model.addAttribute("sessionId", id);
+        model.addAttribute("distance", maxDistance);
+        model.addAttribute("groups", handle(() -> duplicateService.findGroups(id, maxDistance)));
+        return "duplicates";
+    }
+
+    @GetMapping("/photosession/{id}/duplicate-groups")
+    @ResponseBody
+    public List<DuplicateGroupDto> getDuplicateGroups(@PathVariable long id,
+                                                      @RequestParam(required = false) Integer distance) {
+        return handle(() -> duplicateService.findGroups(id,
+                distance == null ? duplicateService.getDefaultDistance() : distance));
+    }
+
+    @GetMapping("/photo-files/{id}/similar")
+    @ResponseBody
+    public List<PhotoFileDto> getSimilar(@PathVariable long id, @RequestParam(required = false) Integer distance) {
+        return handle(() -> duplicateService.findSimilar(id,
+                distance == null ? duplicateService.getDefaultDistance() : distance));
+    }
+
+    private static <T> T handle(Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
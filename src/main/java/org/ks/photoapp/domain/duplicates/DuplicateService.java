@@ -0,0 +1,144 @@
+package org.ks.photoapp.domain.duplicates;
+
+import org.ks.photoapp.domain.duplicates.dto.DuplicateGroupDto;
+import org.ks.photoapp.domain.photos.PerceptualHash;
+import org.ks.photoapp.domain.photos.PhotoFileRepository;
+import org.ks.photoapp.domain.photos.dto.PhotoFileDto;
+import org.ks.photoapp.domain.photoSession.PhotoSessionRepository;
+import org.ks.photoapp.domain.storage.ContentStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+@Service
+public class DuplicateService {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateService.class);
+    static final int MAX_DISTANCE_LIMIT = 32;
+
+    private final PhotoSessionRepository photoSessionRepository;
+    private final PhotoFileRepository photoFileRepository;
+    private final ContentStore contentStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int defaultDistance;
+
+    public DuplicateService(PhotoSessionRepository photoSessionRepository,
+                            PhotoFileRepository photoFileRepository,
+                            ContentStore contentStore,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${photoapp.duplicates.max-distance:8}") int defaultDistance) {
+        this.photoSessionRepository = photoSessionRepository;
+        this.photoFileRepository = photoFileRepository;
+        this.contentStore = contentStore;
+        this.transactionTemplate = transactionTemplate;
+        this.defaultDistance = defaultDistance;
+    }
+
+    public int getDefaultDistance() {
+        return defaultDistance;
+    }
+
+    public List<DuplicateGroupDto> findGroups(long sessionId, int maxDistance) {
+        checkDistance(maxDistance);
+        long photosId = photoSessionRepository.findPhotosIdById(sessionId)
+                .orElseThrow(() -> new NoSuchElementException("Photo session not found"));
+        List<PhotoFileDto> photoFiles = hashedGallery(photosId);
+        BkTree tree = treeOf(photoFiles);
+
+        // every group is centred on its earliest frame; linking neighbours of neighbours would chain
+        // a slow pan across a whole session into one group
+        boolean[] grouped = new boolean[photoFiles.size()];
+        List<List<PhotoFileDto>> groups = new ArrayList<>();
+        for (int i = 0; i < photoFiles.size(); i++) {
+            if (grouped[i]) {
+                continue;
+            }
+            List<Integer> members = new ArrayList<>();
+            for (int neighbour : tree.within(photoFiles.get(i).getPerceptualHash(), maxDistance)) {
+                if (!grouped[neighbour]) {
+                    grouped[neighbour] = true;
+                    members.add(neighbour);
+                }
+            }
+            members.sort(null);
+            groups.add(members.stream().map(photoFiles::get).toList());
+        }
+        return groups.stream()
+                .filter(group -> group.size() > 1)
+                .map(DuplicateGroupDto::new)
+                .toList();
+    }
+
+    public List<PhotoFileDto> findSimilar(long photoFileId, int maxDistance) {
+        checkDistance(maxDistance);
+        long photosId = photoFileRepository.findPhotosIdById(photoFileId)
+                .orElseThrow(() -> new NoSuchElementException("Photo not found"));
+        List<PhotoFileDto> photoFiles = hashedGallery(photosId);
+        PhotoFileDto photoFile = photoFiles.stream()
+                .filter(candidate -> candidate.getId() == photoFileId)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Zdjęcie nie ma podglądu"));
+        long hash = photoFile.getPerceptualHash();
+        return treeOf(photoFiles).within(hash, maxDistance).stream()
+                .map(photoFiles::get)
+                .filter(candidate -> candidate != photoFile)
+                .sorted(Comparator.comparingInt((PhotoFileDto candidate) ->
+                                PerceptualHash.distance(hash, candidate.getPerceptualHash()))
+                        .thenComparing(PhotoFileDto::getOrdinal))
+                .toList();
+    }
+
+    private List<PhotoFileDto> hashedGallery(long photosId) {
+        List<PhotoFileDto> hashed = new ArrayList<>();
+        for (PhotoFileDto photoFile : photoFileRepository.findDtosByPhotosId(photosId)) {
+            if (photoFile.getPerceptualHash() == null && photoFile.getPreviewHash() != null) {
+                photoFile.setPerceptualHash(hashPreview(photoFile));
+            }
+            if (photoFile.getPerceptualHash() != null) {
+                hashed.add(photoFile);
+            }
+        }
+        return hashed;
+    }
+
+    private Long hashPreview(PhotoFileDto photoFile) {
+        // photos stored before hashes were recorded get theirs from the preview once
+        try {
+            BufferedImage preview = ImageIO.read(contentStore.pathOf(photoFile.getPreviewHash()).toFile());
+            if (preview == null) {
+                return null;
+            }
+            long hash = PerceptualHash.of(preview);
+            transactionTemplate.executeWithoutResult(status ->
+                    photoFileRepository.updatePerceptualHash(photoFile.getId(), hash));
+            return hash;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot hash preview of photo {}", photoFile.getId(), e);
+            return null;
+        }
+    }
+
+    private static BkTree treeOf(List<PhotoFileDto> photoFiles) {
+        BkTree tree = new BkTree();
+        for (int i = 0; i < photoFiles.size(); i++) {
+            tree.add(photoFiles.get(i).getPerceptualHash(), i);
+        }
+        return tree;
+    }
+
+    private static void checkDistance(int maxDistance) {
+        if (maxDistance < 0 || maxDistance > MAX_DISTANCE_LIMIT) {
+            throw new IllegalArgumentException("Odległość musi być z zakresu 0-" + MAX_DISTANCE_LIMIT);
+        }
+    }
+}
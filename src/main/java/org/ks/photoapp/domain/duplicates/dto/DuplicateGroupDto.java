@@ -0,0 +1,15 @@
+package org.ks.photoapp.domain.duplicates.dto;
+
+import lombok.Data;
+import org.ks.photoapp.domain.photos.dto.PhotoFileDto;
+
+import java.util.List;
+
+@Data
+public class DuplicateGroupDto {
+    List<PhotoFileDto> photoFiles;
+
+    public DuplicateGroupDto(List<PhotoFileDto> photoFiles) {
+        this.photoFiles = photoFiles;
+    }
+}
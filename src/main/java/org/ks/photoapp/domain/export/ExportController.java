@@ -0,0 +1,60 @@
+package org.ks.photoapp.domain.export;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/export")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/clients")
+    public ResponseEntity<StreamingResponseBody> exportClients(@RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = parseFormat(format);
+        return attachment("clients", exportFormat, out -> exportService.exportClients(exportFormat, out));
+    }
+
+    @GetMapping("/photo-sessions")
+    public ResponseEntity<StreamingResponseBody> exportPhotoSessions(@RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = parseFormat(format);
+        return attachment("photo-sessions", exportFormat, out -> exportService.exportPhotoSessions(exportFormat, out));
+    }
+
+    @GetMapping("/payments")
+    public ResponseEntity<StreamingResponseBody> exportPayments(@RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = parseFormat(format);
+        return attachment("payments", exportFormat, out -> exportService.exportPayments(exportFormat, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format,
+                                                                    StreamingResponseBody body) {
+        String fileName = name + "-" + LocalDate.now() + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(format.getMediaType())
+                .body(body);
+    }
+
+    private static ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.ks.photoapp.domain.export;
+
+import jakarta.persistence.EntityManager;
+import org.ks.photoapp.domain.client.ClientRepository;
+import org.ks.photoapp.domain.payment.PaymentRepository;
+import org.ks.photoapp.domain.photoSession.PhotoSessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+public class ExportService {
+
+    static final List<String> CLIENT_COLUMNS =
+            List.of("id", "first_name", "last_name", "email", "phone_number");
+    static final List<String> PHOTO_SESSION_COLUMNS =
+            List.of("id", "client_id", "session_date", "session_type", "payment_id", "photos_id",
+                    "is_photos_sent_to_client_for_choose", "is_photos_chosen_by_client",
+                    "is_additional_photos_chosen_by_client", "is_contract_finished");
+    static final List<String> PAYMENT_COLUMNS =
+            List.of("id", "photo_session_id", "deposit", "base_payment", "additional_payment",
+                    "is_deposit_paid", "is_base_paid", "is_additional_paid");
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ClientRepository clientRepository;
+    private final PhotoSessionRepository photoSessionRepository;
+    private final PaymentRepository paymentRepository;
+    private final int clearEvery;
+
+    public ExportService(EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         ClientRepository clientRepository,
+                         PhotoSessionRepository photoSessionRepository,
+                         PaymentRepository paymentRepository,
+                         @Value("${photoapp.export.clear-every:500}") int clearEvery) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clientRepository = clientRepository;
+        this.photoSessionRepository = photoSessionRepository;
+        this.paymentRepository = paymentRepository;
+        this.clearEvery = clearEvery;
+    }
+
+    public void exportClients(ExportFormat format, OutputStream out) {
+        export(format, out, CLIENT_COLUMNS, clientRepository::streamAllOrderById, client -> new Object[]{
+                client.getId(), client.getFirstName(), client.getLastName(), client.getEmail(), client.getPhoneNumber()});
+    }
+
+    public void exportPhotoSessions(ExportFormat format, OutputStream out) {
+        export(format, out, PHOTO_SESSION_COLUMNS, photoSessionRepository::streamExportRows, row -> new Object[]{
+                row.getId(), row.getClientId(), row.getSessionDate(),
+                row.getSessionType(),
+                row.getPaymentId(), row.getPhotosId(), row.getIsPhotosSentToClientForChoose(),
+                row.getIsPhotosChosenByClient(), row.getIsAdditionalPhotosChosenByClient(), row.getIsContractFinished()});
+    }
+
+    public void exportPayments(ExportFormat format, OutputStream out) {
+        export(format, out, PAYMENT_COLUMNS, paymentRepository::streamExportRows, row -> new Object[]{
+                row.getId(), row.getPhotoSessionId(), row.getDeposit(), row.getBasePayment(), row.getAdditionalPayment(),
+                row.getIsDepositPaid(), row.getIsBasePaid(), row.getIsAdditionalPaid()});
+    }
+
+    private <T> void export(ExportFormat format, OutputStream out, List<String> columns,
+                            Supplier<Stream<T>> query, Function<T, Object[]> toRow) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (ExportWriter writer = ExportWriter.create(format, out, columns);
+                 Stream<T> rows = query.get()) {
+                long written = 0;
+                for (T row : (Iterable<T>) rows::iterator) {
+                    writer.writeRow(toRow.apply(row));
+                    if (++written % clearEvery == 0) {
+                        // drop the entities we already wrote so the context does not grow with the export
+                        entityManager.clear();
+                    }
+                }
+            }
+        });
+    }
+}
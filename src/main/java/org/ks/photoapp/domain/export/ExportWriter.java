@@ -0,0 +1,152 @@
+package org.ks.photoapp.domain.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+abstract class ExportWriter implements AutoCloseable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    protected final List<String> columns;
+
+    private ExportWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    static ExportWriter create(ExportFormat format, OutputStream out, List<String> columns) {
+        try {
+            ExportWriter writer = format == ExportFormat.CSV
+                    ? new CsvWriter(out, columns)
+                    : new NdjsonWriter(out, columns);
+            writer.writeHeader();
+            return writer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void writeRow(Object... values) {
+        try {
+            write(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            closeOutput();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected abstract void writeHeader() throws IOException;
+
+    protected abstract void write(Object[] values) throws IOException;
+
+    protected abstract void closeOutput() throws IOException;
+
+    private static final class CsvWriter extends ExportWriter {
+        private final BufferedWriter writer;
+
+        private CsvWriter(OutputStream out, List<String> columns) {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected void writeHeader() throws IOException {
+            write(columns.toArray());
+            writer.flush();
+        }
+
+        @Override
+        protected void write(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(values[i].toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        protected void closeOutput() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static final class NdjsonWriter extends ExportWriter {
+        private final JsonGenerator generator;
+        private boolean rowWritten;
+
+        private NdjsonWriter(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.generator = JSON_FACTORY.createGenerator(out);
+            this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        }
+
+        @Override
+        protected void writeHeader() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        protected void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                writeValue(values[i]);
+            }
+            generator.writeEndObject();
+            rowWritten = true;
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Boolean booleanValue) {
+                generator.writeBoolean(booleanValue);
+            } else if (value instanceof Long longValue) {
+                generator.writeNumber(longValue);
+            } else if (value instanceof BigDecimal decimalValue) {
+                generator.writeNumber(decimalValue);
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+
+        @Override
+        protected void closeOutput() throws IOException {
+            if (rowWritten) {
+                generator.writeRaw('\n');
+            }
+            generator.close();
+        }
+    }
+}
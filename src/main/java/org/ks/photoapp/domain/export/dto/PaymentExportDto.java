@@ -0,0 +1,30 @@
+package org.ks.photoapp.domain.export.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class PaymentExportDto {
+    Long id;
+    Long photoSessionId;
+    BigDecimal deposit;
+    BigDecimal basePayment;
+    BigDecimal additionalPayment;
+    Boolean isDepositPaid;
+    Boolean isBasePaid;
+    Boolean isAdditionalPaid;
+
+    public PaymentExportDto(Long id, Long photoSessionId, BigDecimal deposit, BigDecimal basePayment,
+                            BigDecimal additionalPayment, Boolean isDepositPaid, Boolean isBasePaid,
+                            Boolean isAdditionalPaid) {
+        this.id = id;
+        this.photoSessionId = photoSessionId;
+        this.deposit = deposit;
+        this.basePayment = basePayment;
+        this.additionalPayment = additionalPayment;
+        this.isDepositPaid = isDepositPaid;
+        this.isBasePaid = isBasePaid;
+        this.isAdditionalPaid = isAdditionalPaid;
+    }
+}
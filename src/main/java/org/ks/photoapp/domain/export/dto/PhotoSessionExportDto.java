@@ -0,0 +1,35 @@
+package org.ks.photoapp.domain.export.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class PhotoSessionExportDto {
+    Long id;
+    Long clientId;
+    LocalDateTime sessionDate;
+    String sessionType;
+    Long paymentId;
+    Long photosId;
+    Boolean isPhotosSentToClientForChoose;
+    Boolean isPhotosChosenByClient;
+    Boolean isAdditionalPhotosChosenByClient;
+    Boolean isContractFinished;
+
+    public PhotoSessionExportDto(Long id, Long clientId, LocalDateTime sessionDate, String sessionType,
+                                 Long paymentId, Long photosId, Boolean isPhotosSentToClientForChoose,
+                                 Boolean isPhotosChosenByClient, Boolean isAdditionalPhotosChosenByClient,
+                                 Boolean isContractFinished) {
+        this.id = id;
+        this.clientId = clientId;
+        this.sessionDate = sessionDate;
+        this.sessionType = sessionType;
+        this.paymentId = paymentId;
+        this.photosId = photosId;
+        this.isPhotosSentToClientForChoose = isPhotosSentToClientForChoose;
+        this.isPhotosChosenByClient = isPhotosChosenByClient;
+        this.isAdditionalPhotosChosenByClient = isAdditionalPhotosChosenByClient;
+        this.isContractFinished = isContractFinished;
+    }
+}
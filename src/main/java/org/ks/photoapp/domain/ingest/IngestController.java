@@ -0,0 +1,49 @@
+package org.ks.photoapp.domain.ingest;
+
+import org.ks.photoapp.domain.ingest.dto.IngestProgressDto;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.util.List;
+
+import static org.ks.photoapp.domain.client.ClientController.NOTIFICATION_ATTRIBUTE;
+
+@Controller
+public class IngestController {
+
+    private final IngestService ingestService;
+
+    public IngestController(IngestService ingestService) {
+        this.ingestService = ingestService;
+    }
+
+    @PostMapping("/photosession/{id}/ingest")
+    public String startIngest(@PathVariable long id, @RequestParam String directory,
+                              RedirectAttributes redirectAttributes) {
+        try {
+            IngestProgressDto progress = ingestService.start(id, directory);
+            redirectAttributes.addFlashAttribute(NOTIFICATION_ATTRIBUTE,
+                    "Import z katalogu " + progress.getSourceDirectory() + " rozpoczęty");
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute(NOTIFICATION_ATTRIBUTE, e.getMessage());
+        }
+        return "redirect:/photosession/" + id + "/gallery";
+    }
+
+    @GetMapping("/photosession/{id}/ingest")
+    @ResponseBody
+    public List<IngestProgressDto> getSessionJobs(@PathVariable long id) {
+        return ingestService.getSessionJobs(id);
+    }
+
+    @GetMapping("/ingest/jobs")
+    @ResponseBody
+    public List<IngestProgressDto> getRunningJobs() {
+        return ingestService.getRunningJobs();
+    }
+}
@@ -0,0 +1,21 @@
+package org.ks.photoapp.domain.ingest;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.ks.photoapp.domain.photos.PhotoFile;
+
+@Data
+@Entity
+public class IngestEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingest_entry_seq")
+    @SequenceGenerator(name = "ingest_entry_seq", sequenceName = "ingest_entry_seq", allocationSize = 50)
+    Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ingest_job_id")
+    IngestJob ingestJob;
+    String relativePath;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "photo_file_id")
+    PhotoFile photoFile;
+}
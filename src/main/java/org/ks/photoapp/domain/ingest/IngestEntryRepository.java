@@ -0,0 +1,12 @@
+package org.ks.photoapp.domain.ingest;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Set;
+
+public interface IngestEntryRepository extends CrudRepository<IngestEntry, Long> {
+
+    @Query("select e.relativePath from IngestEntry e where e.ingestJob.id = :jobId")
+    Set<String> findRelativePathsByJobId(long jobId);
+}
@@ -0,0 +1,28 @@
+package org.ks.photoapp.domain.ingest;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.ks.photoapp.domain.photoSession.PhotoSession;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+public class IngestJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingest_job_seq")
+    @SequenceGenerator(name = "ingest_job_seq", sequenceName = "ingest_job_seq", allocationSize = 50)
+    Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "photo_session_id")
+    PhotoSession photoSession;
+    String sourceDirectory;
+    @Enumerated(EnumType.STRING)
+    IngestStatus status;
+    Integer filesTotal;
+    Integer filesDone;
+    Integer filesFailed;
+    Long bytesDone;
+    LocalDateTime startedAt;
+    LocalDateTime finishedAt;
+}
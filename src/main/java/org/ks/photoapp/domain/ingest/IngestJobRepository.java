@@ -0,0 +1,45 @@
+package org.ks.photoapp.domain.ingest;
+
+import org.ks.photoapp.domain.ingest.dto.IngestJobDto;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface IngestJobRepository extends CrudRepository<IngestJob, Long> {
+
+    String DTO_PROJECTION = """
+            select new org.ks.photoapp.domain.ingest.dto.IngestJobDto(
+                j.id, j.photoSession.id, j.photoSession.photos.id, j.sourceDirectory, j.status, j.filesTotal,
+                j.filesDone, j.filesFailed, j.bytesDone)
+            from IngestJob j
+            """;
+
+    @Query(DTO_PROJECTION + "where j.id = :id")
+    Optional<IngestJobDto> findDtoById(long id);
+
+    @Query(DTO_PROJECTION + "where j.status = :status order by j.id")
+    List<IngestJobDto> findDtosByStatus(IngestStatus status);
+
+    @Query(DTO_PROJECTION + "where j.photoSession.id = :sessionId order by j.id desc")
+    List<IngestJobDto> findDtosBySessionId(long sessionId);
+
+    @Query(DTO_PROJECTION + "where j.photoSession.id = :sessionId and j.sourceDirectory = :sourceDirectory")
+    Optional<IngestJobDto> findDtoBySessionIdAndSourceDirectory(long sessionId, String sourceDirectory);
+
+    @Modifying
+    @Query("""
+            update IngestJob j
+            set j.status = :status, j.filesTotal = :filesTotal, j.filesDone = :filesDone, j.filesFailed = :filesFailed,
+                j.bytesDone = :bytesDone, j.finishedAt = :finishedAt
+            where j.id = :id""")
+    void updateProgress(long id, IngestStatus status, int filesTotal, int filesDone, int filesFailed, long bytesDone,
+                        LocalDateTime finishedAt);
+
+    @Modifying
+    @Query("update IngestJob j set j.status = :status, j.startedAt = :startedAt, j.finishedAt = null where j.id = :id")
+    void restart(long id, IngestStatus status, LocalDateTime startedAt);
+}
@@ -0,0 +1,99 @@
+package org.ks.photoapp.domain.ingest;
+
+import org.ks.photoapp.domain.ingest.dto.IngestJobDto;
+import org.ks.photoapp.domain.ingest.dto.IngestProgressDto;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class IngestProgress {
+
+    private final IngestJobDto job;
+    private final long startedNanos = System.nanoTime();
+    private final AtomicInteger filesDone = new AtomicInteger();
+    private final AtomicInteger filesFailed = new AtomicInteger();
+    private final AtomicLong bytesDone = new AtomicLong();
+    private volatile int filesTotal;
+    private volatile int filesDoneBefore;
+    private volatile long bytesDoneBefore;
+    private volatile IngestStatus status = IngestStatus.RUNNING;
+
+    IngestProgress(IngestJobDto job) {
+        this.job = job;
+        this.bytesDoneBefore = job.getBytesDone() == null ? 0 : job.getBytesDone();
+    }
+
+    IngestJobDto job() {
+        return job;
+    }
+
+    void started(int filesTotal, int filesDoneBefore) {
+        this.filesTotal = filesTotal;
+        this.filesDoneBefore = filesDoneBefore;
+    }
+
+    void recordDone(long bytes) {
+        filesDone.incrementAndGet();
+        bytesDone.addAndGet(bytes);
+    }
+
+    void recordFailed() {
+        filesFailed.incrementAndGet();
+    }
+
+    void finished(IngestStatus status) {
+        this.status = status;
+    }
+
+    IngestStatus status() {
+        return status;
+    }
+
+    int filesTotal() {
+        return filesTotal;
+    }
+
+    int totalFilesDone() {
+        return filesDoneBefore + filesDone.get();
+    }
+
+    int filesFailed() {
+        return filesFailed.get();
+    }
+
+    long totalBytesDone() {
+        return bytesDoneBefore + bytesDone.get();
+    }
+
+    IngestProgressDto toDto() {
+        double elapsedSeconds = (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+        IngestProgressDto dto = new IngestProgressDto();
+        dto.setJobId(job.getId());
+        dto.setSessionId(job.getSessionId());
+        dto.setSourceDirectory(job.getSourceDirectory());
+        dto.setStatus(status);
+        dto.setFilesTotal(filesTotal);
+        dto.setFilesDone(totalFilesDone());
+        dto.setFilesFailed(filesFailed());
+        dto.setBytesDone(totalBytesDone());
+        dto.setElapsedSeconds(elapsedSeconds);
+        if (elapsedSeconds > 0) {
+            dto.setFilesPerSecond(filesDone.get() / elapsedSeconds);
+            dto.setMegabytesPerSecond(bytesDone.get() / 1_048_576.0 / elapsedSeconds);
+        }
+        return dto;
+    }
+
+    static IngestProgressDto toDto(IngestJobDto job) {
+        IngestProgressDto dto = new IngestProgressDto();
+        dto.setJobId(job.getId());
+        dto.setSessionId(job.getSessionId());
+        dto.setSourceDirectory(job.getSourceDirectory());
+        dto.setStatus(job.getStatus());
+        dto.setFilesTotal(job.getFilesTotal());
+        dto.setFilesDone(job.getFilesDone());
+        dto.setFilesFailed(job.getFilesFailed());
+        dto.setBytesDone(job.getBytesDone());
+        return dto;
+    }
+}
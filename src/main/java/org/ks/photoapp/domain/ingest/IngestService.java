@@ -0,0 +1,321 @@
+package org.ks.photoapp.domain.ingest;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.ks.photoapp.domain.ingest.dto.IngestJobDto;
+import org.ks.photoapp.domain.ingest.dto.IngestProgressDto;
+import org.ks.photoapp.domain.photoSession.PhotoSession;
+import org.ks.photoapp.domain.photos.PhotoFile;
+import org.ks.photoapp.domain.photos.PhotoFileService;
+import org.ks.photoapp.domain.storage.ContentStore;
+import org.ks.photoapp.domain.storage.StoredContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class IngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestService.class);
+
+    private final IngestJobRepository ingestJobRepository;
+    private final IngestEntryRepository ingestEntryRepository;
+    private final PhotoFileService photoFileService;
+    private final ContentStore contentStore;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Path root;
+    private final Set<String> extensions;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final ExecutorService workers;
+    private final ExecutorService coordinators = Executors.newCachedThreadPool(new CustomizableThreadFactory("ingest-job-"));
+    private final Map<Long, IngestProgress> running = new ConcurrentHashMap<>();
+
+    public IngestService(IngestJobRepository ingestJobRepository,
+                         IngestEntryRepository ingestEntryRepository,
+                         PhotoFileService photoFileService,
+                         ContentStore contentStore,
+                         EntityManager entityManager,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${photoapp.ingest.root:data/import}") String root,
+                         @Value("${photoapp.ingest.extensions:jpg,jpeg,png}") Set<String> extensions,
+                         @Value("${photoapp.ingest.threads:0}") int threads,
+                         @Value("${photoapp.ingest.batch-size:50}") int batchSize) {
+        this.ingestJobRepository = ingestJobRepository;
+        this.ingestEntryRepository = ingestEntryRepository;
+        this.photoFileService = photoFileService;
+        this.contentStore = contentStore;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.root = realDirectory(Path.of(root));
+        this.extensions = extensions.stream().map(extension -> extension.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+        this.batchSize = batchSize;
+        int workerCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.maxInFlight = workerCount * 2;
+        this.workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("ingest-worker-"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (IngestJobDto job : ingestJobRepository.findDtosByStatus(IngestStatus.RUNNING)) {
+            log.info("Resuming interrupted ingest job {} from {}", job.getId(), job.getSourceDirectory());
+            launch(job);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinators.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    public IngestProgressDto start(long sessionId, String directory) {
+        Path sourceDirectory = sourceDirectoryOf(directory);
+        IngestJobDto job = transactionTemplate.execute(status -> createOrRestart(sessionId, sourceDirectory.toString()));
+        IngestProgress progress = running.get(job.getId());
+        return progress != null ? progress.toDto() : launch(job).toDto();
+    }
+
+    private Path sourceDirectoryOf(String directory) {
+        try {
+            // relative paths are taken from the import folder; links are resolved before the check so none leads out
+            Path sourceDirectory = root.resolve(directory).toRealPath();
+            if (sourceDirectory.startsWith(root) && Files.isDirectory(sourceDirectory)) {
+                return sourceDirectory;
+            }
+        } catch (IOException | InvalidPathException e) {
+            // reported below like any other directory that cannot be used
+        }
+        throw new IllegalArgumentException("Katalog nie istnieje lub jest poza dozwolonym obszarem: " + directory);
+    }
+
+    public List<IngestProgressDto> getSessionJobs(long sessionId) {
+        return ingestJobRepository.findDtosBySessionId(sessionId).stream().map(this::progressOf).toList();
+    }
+
+    public List<IngestProgressDto> getRunningJobs() {
+        return running.values().stream().map(IngestProgress::toDto).toList();
+    }
+
+    private IngestProgressDto progressOf(IngestJobDto job) {
+        IngestProgress progress = running.get(job.getId());
+        return progress != null ? progress.toDto() : IngestProgress.toDto(job);
+    }
+
+    private IngestJobDto createOrRestart(long sessionId, String sourceDirectory) {
+        IngestJobDto existing = ingestJobRepository.findDtoBySessionIdAndSourceDirectory(sessionId, sourceDirectory)
+                .orElse(null);
+        if (existing != null) {
+            if (!running.containsKey(existing.getId())) {
+                ingestJobRepository.restart(existing.getId(), IngestStatus.RUNNING, LocalDateTime.now());
+                existing.setStatus(IngestStatus.RUNNING);
+            }
+            return existing;
+        }
+        IngestJob job = new IngestJob();
+        job.setPhotoSession(entityManager.getReference(PhotoSession.class, sessionId));
+        job.setSourceDirectory(sourceDirectory);
+        job.setStatus(IngestStatus.RUNNING);
+        job.setFilesTotal(0);
+        job.setFilesDone(0);
+        job.setFilesFailed(0);
+        job.setBytesDone(0L);
+        job.setStartedAt(LocalDateTime.now());
+        ingestJobRepository.save(job);
+        entityManager.flush();
+        return ingestJobRepository.findDtoById(job.getId()).orElseThrow();
+    }
+
+    private IngestProgress launch(IngestJobDto job) {
+        IngestProgress progress = new IngestProgress(job);
+        if (running.putIfAbsent(job.getId(), progress) != null) {
+            return running.get(job.getId());
+        }
+        coordinators.execute(() -> run(progress));
+        return progress;
+    }
+
+    private void run(IngestProgress progress) {
+        IngestJobDto job = progress.job();
+        Path directory = Path.of(job.getSourceDirectory());
+        try {
+            Set<String> finished = ingestEntryRepository.findRelativePathsByJobId(job.getId());
+            List<Path> files = listFiles(directory);
+            List<Path> pending = files.stream()
+                    .filter(file -> !finished.contains(relativePath(directory, file)))
+                    .toList();
+            progress.started(files.size(), files.size() - pending.size());
+            log.info("Ingest job {}: {} files, {} already done", job.getId(), files.size(), files.size() - pending.size());
+            process(progress, directory, pending);
+            complete(progress, progress.filesFailed() == 0 ? IngestStatus.COMPLETED : IngestStatus.FAILED);
+        } catch (InterruptedException e) {
+            // shutting down, the job stays RUNNING and is resumed on the next start
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            if (workers.isShutdown()) {
+                return;
+            }
+            log.error("Ingest job {} failed", job.getId(), e);
+            complete(progress, IngestStatus.FAILED);
+        } finally {
+            running.remove(job.getId());
+        }
+    }
+
+    private void process(IngestProgress progress, Path directory, List<Path> pending) throws InterruptedException {
+        // permits bound the files that are read or waiting to be written, which keeps readers from running ahead
+        Semaphore permits = new Semaphore(maxInFlight);
+        BlockingQueue<FileResult> completed = new LinkedBlockingQueue<>();
+        TreeMap<Integer, FileResult> reorder = new TreeMap<>();
+        List<FileResult> batch = new ArrayList<>(batchSize);
+        int submitted = 0;
+        int next = 0;
+        while (next < pending.size()) {
+            while (submitted < pending.size() && permits.tryAcquire()) {
+                int index = submitted++;
+                Path file = pending.get(index);
+                workers.execute(() -> completed.add(ingestFile(index, directory, file)));
+            }
+            FileResult result = completed.poll(500, TimeUnit.MILLISECONDS);
+            if (result == null) {
+                flush(progress, batch);
+                continue;
+            }
+            if (result.error() instanceof Error error) {
+                // an Error leaves the worker in an unknown state, so the job stops here and is resumed on restart
+                flush(progress, batch);
+                throw new IllegalStateException("Ingest worker failed on " + result.relativePath(), error);
+            }
+            reorder.put(result.index(), result);
+            while (!reorder.isEmpty() && reorder.firstKey() == next) {
+                batch.add(reorder.pollFirstEntry().getValue());
+                permits.release();
+                next++;
+            }
+            if (batch.size() >= batchSize) {
+                flush(progress, batch);
+            }
+        }
+        flush(progress, batch);
+    }
+
+    private FileResult ingestFile(int index, Path directory, Path file) {
+        String relativePath = file.toString();
+        try {
+            relativePath = relativePath(directory, file);
+            StoredContent content = contentStore.store(file);
+            PhotoFile photoFile = photoFileService.describe(content, file.getFileName().toString(),
+                    Files.probeContentType(file));
+            return new FileResult(index, relativePath, photoFile, null);
+        } catch (Throwable e) {
+            // every index must be posted, otherwise the coordinator waits for it forever
+            return new FileResult(index, relativePath, null, e);
+        }
+    }
+
+    private void flush(IngestProgress progress, List<FileResult> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long jobId = progress.job().getId();
+        List<FileResult> stored = new ArrayList<>(batch.size());
+        for (FileResult result : batch) {
+            if (result.error() == null) {
+                stored.add(result);
+            } else {
+                log.warn("Ingest job {}: cannot read {}: {}", jobId, result.relativePath(), result.error().getMessage());
+                progress.recordFailed();
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            List<PhotoFile> photoFiles = stored.stream().map(FileResult::photoFile).toList();
+            photoFileService.addToGallery(progress.job().getPhotosId(), photoFiles);
+            IngestJob job = entityManager.getReference(IngestJob.class, jobId);
+            List<IngestEntry> entries = new ArrayList<>(stored.size());
+            for (FileResult result : stored) {
+                IngestEntry entry = new IngestEntry();
+                entry.setIngestJob(job);
+                entry.setRelativePath(result.relativePath());
+                entry.setPhotoFile(result.photoFile());
+                entries.add(entry);
+            }
+            ingestEntryRepository.saveAll(entries);
+            stored.forEach(result -> progress.recordDone(result.photoFile().getSizeBytes()));
+            updateJob(progress, IngestStatus.RUNNING, null);
+        });
+        batch.clear();
+    }
+
+    private void complete(IngestProgress progress, IngestStatus status) {
+        progress.finished(status);
+        transactionTemplate.executeWithoutResult(transaction -> updateJob(progress, status, LocalDateTime.now()));
+        log.info("Ingest job {} {}: {}", progress.job().getId(), status, progress.toDto());
+    }
+
+    private void updateJob(IngestProgress progress, IngestStatus status, LocalDateTime finishedAt) {
+        ingestJobRepository.updateProgress(progress.job().getId(), status, progress.filesTotal(),
+                progress.totalFilesDone(), progress.filesFailed(), progress.totalBytesDone(), finishedAt);
+    }
+
+    private static Path realDirectory(Path directory) {
+        try {
+            return Files.createDirectories(directory.toAbsolutePath().normalize()).toRealPath();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the import folder " + directory, e);
+        }
+    }
+
+    private List<Path> listFiles(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(path -> Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS))
+                    .filter(this::isPhoto)
+                    .sorted(Comparator.comparing(path -> relativePath(directory, path)))
+                    .toList();
+        }
+    }
+
+    private boolean isPhoto(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return !name.startsWith(".") && dot > 0 && extensions.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static String relativePath(Path directory, Path file) {
+        return directory.relativize(file).toString().replace('\\', '/');
+    }
+
+    private record FileResult(int index, String relativePath, PhotoFile photoFile, Throwable error) {
+    }
+}
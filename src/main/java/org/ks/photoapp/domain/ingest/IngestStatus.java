@@ -0,0 +1,7 @@
+package org.ks.photoapp.domain.ingest;
+
+public enum IngestStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,30 @@
+package org.ks.photoapp.domain.ingest.dto;
+
+import lombok.Data;
+import org.ks.photoapp.domain.ingest.IngestStatus;
+
+@Data
+public class IngestJobDto {
+    Long id;
+    Long sessionId;
+    Long photosId;
+    String sourceDirectory;
+    IngestStatus status;
+    Integer filesTotal;
+    Integer filesDone;
+    Integer filesFailed;
+    Long bytesDone;
+
+    public IngestJobDto(Long id, Long sessionId, Long photosId, String sourceDirectory, IngestStatus status,
+                        Integer filesTotal, Integer filesDone, Integer filesFailed, Long bytesDone) {
+        this.id = id;
+        this.sessionId = sessionId;
+        this.photosId = photosId;
+        this.sourceDirectory = sourceDirectory;
+        this.status = status;
+        this.filesTotal = filesTotal;
+        this.filesDone = filesDone;
+        this.filesFailed = filesFailed;
+        this.bytesDone = bytesDone;
+    }
+}
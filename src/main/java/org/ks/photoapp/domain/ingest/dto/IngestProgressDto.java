@@ -0,0 +1,19 @@
+package org.ks.photoapp.domain.ingest.dto;
+
+import lombok.Data;
+import org.ks.photoapp.domain.ingest.IngestStatus;
+
+@Data
+public class IngestProgressDto {
+    Long jobId;
+    Long sessionId;
+    String sourceDirectory;
+    IngestStatus status;
+    int filesTotal;
+    int filesDone;
+    int filesFailed;
+    long bytesDone;
+    Double elapsedSeconds;
+    Double filesPerSecond;
+    Double megabytesPerSecond;
+}
@@ -2,17 +2,24 @@ package org.ks.photoapp.domain.payment;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.ks.photoapp.domain.photoSession.PhotoSession;
 
+import java.math.BigDecimal;
+
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "payment")
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq")
+    @SequenceGenerator(name = "payment_seq", sequenceName = "payment_seq", allocationSize = 50)
     Long id;
-    Float deposit;
-    Float basePayment;
-    Float additionalPayment;
+    BigDecimal deposit;
+    BigDecimal basePayment;
+    BigDecimal additionalPayment;
     Boolean isDepositPaid;
     Boolean isBasePaid;
     Boolean isAdditionalPaid;
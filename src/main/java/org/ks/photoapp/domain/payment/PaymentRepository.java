@@ -1,13 +1,31 @@
 package org.ks.photoapp.domain.payment;
 
-
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.ks.photoapp.domain.export.dto.PaymentExportDto;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends CrudRepository<Payment, Long> {
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Payment> findPaymentById(Long id);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select new org.ks.photoapp.domain.export.dto.PaymentExportDto(
+                p.id, ps.id, p.deposit, p.basePayment, p.additionalPayment,
+                p.isDepositPaid, p.isBasePaid, p.isAdditionalPaid)
+            from Payment p
+            left join p.photoSession ps
+            order by p.id""")
+    Stream<PaymentExportDto> streamExportRows();
 }
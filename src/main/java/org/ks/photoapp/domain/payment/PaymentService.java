@@ -3,9 +3,13 @@ package org.ks.photoapp.domain.payment;
 import org.ks.photoapp.domain.client.Client;
 import org.ks.photoapp.domain.client.ClientRepository;
 import org.ks.photoapp.domain.payment.dto.PaymentDto;
+import org.ks.photoapp.domain.paymentStatus.PaymentStatusService;
 import org.ks.photoapp.domain.photoSession.PhotoSession;
 import org.ks.photoapp.domain.photoSession.PhotoSessionRepository;
+import org.ks.photoapp.domain.revenue.RevenuePeriod;
+import org.ks.photoapp.domain.revenue.RevenueReadModel;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -14,12 +18,19 @@ public class PaymentService {
 
     PaymentRepository paymentRepository;
     PhotoSessionRepository photoSessionRepository;
+    RevenueReadModel revenueReadModel;
+    PaymentStatusService paymentStatusService;
 
 
-    public PaymentService(PaymentRepository paymentRepository) {
+    public PaymentService(PaymentRepository paymentRepository, PhotoSessionRepository photoSessionRepository,
+                          RevenueReadModel revenueReadModel, PaymentStatusService paymentStatusService) {
         this.paymentRepository = paymentRepository;
+        this.photoSessionRepository = photoSessionRepository;
+        this.revenueReadModel = revenueReadModel;
+        this.paymentStatusService = paymentStatusService;
     }
 
+    @Transactional
     public void updatePayment(long paymentId, Client client) {
         Payment paymentToUpdate = paymentRepository.findPaymentById(paymentId).orElseThrow();
         PhotoSession photoSession = photoSessionRepository.findPhotoSessionByClient(client).orElseThrow();
@@ -29,7 +40,11 @@ public class PaymentService {
         paymentToUpdate.setIsDepositPaid(photoSession.getPayment().getIsDepositPaid());
         paymentToUpdate.setIsBasePaid(photoSession.getPayment().getIsBasePaid());
         paymentToUpdate.setIsAdditionalPaid(photoSession.getPayment().getIsAdditionalPaid());
-        paymentRepository.save(paymentToUpdate);
+        paymentStatusService.onPaymentSaved(paymentRepository.save(paymentToUpdate));
+        PhotoSession paidSession = paymentToUpdate.getPhotoSession();
+        if (paidSession != null) {
+            revenueReadModel.refresh(RevenuePeriod.of(paidSession.getSessionDate(), paidSession.getSessionType()));
+        }
     }
 
 }
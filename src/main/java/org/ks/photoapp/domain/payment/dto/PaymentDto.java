@@ -1,14 +1,16 @@
 package org.ks.photoapp.domain.payment.dto;
 
+import java.math.BigDecimal;
+
 public class PaymentDto {
-    Float deposit;
-    Float basePayment;
-    Float additionalPayment;
+    BigDecimal deposit;
+    BigDecimal basePayment;
+    BigDecimal additionalPayment;
     Boolean isDepositPaid;
     Boolean isBasePaid;
     Boolean isAdditionalPaid;
 
-    public PaymentDto(Float deposit, Float basePayment, Float additionalPayment, Boolean isDepositPaid,
+    public PaymentDto(BigDecimal deposit, BigDecimal basePayment, BigDecimal additionalPayment, Boolean isDepositPaid,
                       Boolean isBasePaid, Boolean isAdditionalPaid) {
         this.deposit = deposit;
         this.basePayment = basePayment;
@@ -0,0 +1,32 @@
+package org.ks.photoapp.domain.paymentStatus;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+public enum PaymentStage {
+    AWAITING_DEPOSIT("Czeka na zaliczkę"),
+    AWAITING_BASE_PAYMENT("Czeka na płatność za sesję"),
+    AWAITING_ADDITIONAL_PAYMENT("Czeka na płatność za dodatkowe zdjęcia"),
+    FULLY_PAID("Opłacone w całości");
+
+    private final String label;
+
+    PaymentStage(String label) {
+        this.label = label;
+    }
+
+    static boolean owesDeposit(Boolean isDepositPaid) {
+        return !Boolean.TRUE.equals(isDepositPaid);
+    }
+
+    static boolean owesBasePayment(Boolean isBasePaid) {
+        return !Boolean.TRUE.equals(isBasePaid);
+    }
+
+    static boolean owesAdditionalPayment(Boolean isAdditionalPaid, BigDecimal additionalPayment) {
+        return !Boolean.TRUE.equals(isAdditionalPaid)
+                && additionalPayment != null && additionalPayment.signum() > 0;
+    }
+}
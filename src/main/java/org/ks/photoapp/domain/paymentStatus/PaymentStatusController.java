@@ -0,0 +1,45 @@
+package org.ks.photoapp.domain.paymentStatus;
+
+import org.ks.photoapp.domain.paymentStatus.dto.PaymentStageCountDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@Controller
+public class PaymentStatusController {
+
+    private final PaymentStatusService paymentStatusService;
+
+    public PaymentStatusController(PaymentStatusService paymentStatusService) {
+        this.paymentStatusService = paymentStatusService;
+    }
+
+    @GetMapping("/payment-status")
+    @ResponseBody
+    public List<PaymentStageCountDto> getCounts() {
+        return paymentStatusService.getCounts();
+    }
+
+    @GetMapping("/payment-status/{stage}")
+    public String getSessions(@PathVariable String stage, @RequestParam(defaultValue = "100") int limit, Model model) {
+        PaymentStage paymentStage = parseStage(stage);
+        model.addAttribute("heading", paymentStage.getLabel());
+        model.addAttribute("photoSessions", paymentStatusService.getSessions(paymentStage, limit));
+        return "all-photosessions";
+    }
+
+    private static PaymentStage parseStage(String stage) {
+        try {
+            return PaymentStage.valueOf(stage.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+        }
+    }
+}
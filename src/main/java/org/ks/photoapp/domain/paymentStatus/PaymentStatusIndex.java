@@ -0,0 +1,71 @@
+package org.ks.photoapp.domain.paymentStatus;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class PaymentStatusIndex {
+
+    private final Map<PaymentStage, BitSet> sessionsByStage = new EnumMap<>(PaymentStage.class);
+    private final Map<PaymentStage, Integer> counts = new EnumMap<>(PaymentStage.class);
+
+    PaymentStatusIndex() {
+        for (PaymentStage stage : PaymentStage.values()) {
+            sessionsByStage.put(stage, new BitSet());
+            counts.put(stage, 0);
+        }
+    }
+
+    synchronized void put(long sessionId, Set<PaymentStage> stages) {
+        int bit = toBit(sessionId);
+        for (PaymentStage stage : PaymentStage.values()) {
+            BitSet sessions = sessionsByStage.get(stage);
+            boolean present = sessions.get(bit);
+            boolean wanted = stages.contains(stage);
+            if (present != wanted) {
+                sessions.set(bit, wanted);
+                counts.merge(stage, wanted ? 1 : -1, Integer::sum);
+            }
+        }
+    }
+
+    synchronized void remove(long sessionId) {
+        put(sessionId, Set.of());
+    }
+
+    synchronized int count(PaymentStage stage) {
+        return counts.get(stage);
+    }
+
+    synchronized Map<PaymentStage, Integer> counts() {
+        return new EnumMap<>(counts);
+    }
+
+    synchronized List<Long> sessionIds(PaymentStage stage, int limit) {
+        BitSet sessions = sessionsByStage.get(stage);
+        List<Long> ids = new ArrayList<>(Math.min(limit, counts.get(stage)));
+        for (int bit = sessions.nextSetBit(0); bit >= 0 && ids.size() < limit; bit = sessions.nextSetBit(bit + 1)) {
+            ids.add((long) bit);
+        }
+        return ids;
+    }
+
+    synchronized void replaceAll(PaymentStatusIndex other) {
+        synchronized (other) {
+            for (PaymentStage stage : PaymentStage.values()) {
+                sessionsByStage.put(stage, (BitSet) other.sessionsByStage.get(stage).clone());
+                counts.put(stage, other.counts.get(stage));
+            }
+        }
+    }
+
+    private static int toBit(long sessionId) {
+        if (sessionId < 0 || sessionId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Session id out of bitmap range: " + sessionId);
+        }
+        return (int) sessionId;
+    }
+}
@@ -0,0 +1,129 @@
+package org.ks.photoapp.domain.paymentStatus;
+
+import org.ks.photoapp.config.transaction.AfterCommit;
+import org.ks.photoapp.domain.payment.Payment;
+import org.ks.photoapp.domain.paymentStatus.dto.PaymentStageCountDto;
+import org.ks.photoapp.domain.paymentStatus.dto.PaymentStatusRowDto;
+import org.ks.photoapp.domain.photoSession.PhotoSession;
+import org.ks.photoapp.domain.photoSession.PhotoSessionRepository;
+import org.ks.photoapp.domain.photoSession.dto.PhotoSessionDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Service
+public class PaymentStatusService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentStatusService.class);
+    static final int MAX_DRILL_DOWN_SIZE = 500;
+
+    private final PhotoSessionRepository photoSessionRepository;
+    private final PaymentStatusIndex index = new PaymentStatusIndex();
+    private final Object updateLock = new Object();
+    // updates applied while a rebuild reads the database, replayed over its snapshot; null when no rebuild runs
+    private List<Consumer<PaymentStatusIndex>> updatesDuringRebuild;
+
+    public PaymentStatusService(PhotoSessionRepository photoSessionRepository) {
+        this.photoSessionRepository = photoSessionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${photoapp.payment-status.rebuild-interval:PT15M}",
+            fixedDelayString = "${photoapp.payment-status.rebuild-interval:PT15M}")
+    public void rebuild() {
+        synchronized (updateLock) {
+            updatesDuringRebuild = new ArrayList<>();
+        }
+        PaymentStatusIndex loaded = new PaymentStatusIndex();
+        try {
+            for (PaymentStatusRowDto row : photoSessionRepository.findOpenPaymentStatusRows()) {
+                loaded.put(row.getSessionId(), stagesOf(row.getIsDepositPaid(), row.getIsBasePaid(),
+                        row.getIsAdditionalPaid(), row.getAdditionalPayment()));
+            }
+            synchronized (updateLock) {
+                // an update committed while the rows were read may be missing from them
+                updatesDuringRebuild.forEach(update -> update.accept(loaded));
+                index.replaceAll(loaded);
+            }
+        } finally {
+            synchronized (updateLock) {
+                updatesDuringRebuild = null;
+            }
+        }
+        log.info("Payment status index loaded: {}", index.counts());
+    }
+
+    public void onSessionSaved(PhotoSession photoSession) {
+        long sessionId = photoSession.getId();
+        Payment payment = photoSession.getPayment();
+        if (payment == null || !Boolean.FALSE.equals(photoSession.getIsContractFinished())) {
+            onSessionDeleted(sessionId);
+            return;
+        }
+        Set<PaymentStage> stages = stagesOf(payment.getIsDepositPaid(), payment.getIsBasePaid(),
+                payment.getIsAdditionalPaid(), payment.getAdditionalPayment());
+        AfterCommit.run(() -> apply(target -> target.put(sessionId, stages)));
+    }
+
+    public void onSessionDeleted(long sessionId) {
+        AfterCommit.run(() -> apply(target -> target.remove(sessionId)));
+    }
+
+    public void onPaymentSaved(Payment payment) {
+        if (payment.getPhotoSession() != null) {
+            onSessionSaved(payment.getPhotoSession());
+        }
+    }
+
+    public List<PaymentStageCountDto> getCounts() {
+        Map<PaymentStage, Integer> counts = index.counts();
+        List<PaymentStageCountDto> result = new ArrayList<>();
+        for (PaymentStage stage : PaymentStage.values()) {
+            result.add(new PaymentStageCountDto(stage.name(), stage.getLabel(), counts.get(stage)));
+        }
+        return result;
+    }
+
+    public List<PhotoSessionDto> getSessions(PaymentStage stage, int limit) {
+        List<Long> ids = index.sessionIds(stage, Math.max(1, Math.min(limit, MAX_DRILL_DOWN_SIZE)));
+        return ids.isEmpty() ? List.of() : photoSessionRepository.findDtosByIds(ids);
+    }
+
+    private void apply(Consumer<PaymentStatusIndex> update) {
+        synchronized (updateLock) {
+            update.accept(index);
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(update);
+            }
+        }
+    }
+
+    static Set<PaymentStage> stagesOf(Boolean isDepositPaid, Boolean isBasePaid, Boolean isAdditionalPaid,
+                                      BigDecimal additionalPayment) {
+        Set<PaymentStage> stages = EnumSet.noneOf(PaymentStage.class);
+        if (PaymentStage.owesDeposit(isDepositPaid)) {
+            stages.add(PaymentStage.AWAITING_DEPOSIT);
+        }
+        if (PaymentStage.owesBasePayment(isBasePaid)) {
+            stages.add(PaymentStage.AWAITING_BASE_PAYMENT);
+        }
+        if (PaymentStage.owesAdditionalPayment(isAdditionalPaid, additionalPayment)) {
+            stages.add(PaymentStage.AWAITING_ADDITIONAL_PAYMENT);
+        }
+        if (stages.isEmpty()) {
+            stages.add(PaymentStage.FULLY_PAID);
+        }
+        return stages;
+    }
+}
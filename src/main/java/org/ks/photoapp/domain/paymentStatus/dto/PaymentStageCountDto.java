@@ -0,0 +1,16 @@
+package org.ks.photoapp.domain.paymentStatus.dto;
+
+import lombok.Data;
+
+@Data
+public class PaymentStageCountDto {
+    String stage;
+    String label;
+    int count;
+
+    public PaymentStageCountDto(String stage, String label, int count) {
+        this.stage = stage;
+        this.label = label;
+        this.count = count;
+    }
+}
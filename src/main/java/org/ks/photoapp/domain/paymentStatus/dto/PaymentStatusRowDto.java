@@ -0,0 +1,23 @@
+package org.ks.photoapp.domain.paymentStatus.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class PaymentStatusRowDto {
+    Long sessionId;
+    Boolean isDepositPaid;
+    Boolean isBasePaid;
+    Boolean isAdditionalPaid;
+    BigDecimal additionalPayment;
+
+    public PaymentStatusRowDto(Long sessionId, Boolean isDepositPaid, Boolean isBasePaid, Boolean isAdditionalPaid,
+                               BigDecimal additionalPayment) {
+        this.sessionId = sessionId;
+        this.isDepositPaid = isDepositPaid;
+        this.isBasePaid = isBasePaid;
+        this.isAdditionalPaid = isAdditionalPaid;
+        this.additionalPayment = additionalPayment;
+    }
+}
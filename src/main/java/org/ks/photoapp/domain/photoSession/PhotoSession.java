@@ -5,7 +5,6 @@ import lombok.Data;
 import org.ks.photoapp.domain.client.Client;
 import org.ks.photoapp.domain.payment.Payment;
 import org.ks.photoapp.domain.photos.Photos;
-import org.ks.photoapp.domain.sessionType.SessionType;
 
 
 import java.text.SimpleDateFormat;
@@ -16,14 +15,14 @@ import java.util.Date;
 @Data
 public class PhotoSession {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "photo_session_seq")
+    @SequenceGenerator(name = "photo_session_seq", sequenceName = "photo_session_seq", allocationSize = 50)
     Long id;
     @ManyToOne(cascade = {CascadeType.REFRESH, CascadeType.PERSIST})
     @JoinColumn(name = "client_id", referencedColumnName = "id")
     Client client;
     LocalDateTime sessionDate;
-    @Enumerated(EnumType.STRING)
-    SessionType sessionType;
+    String sessionType;
     @OneToOne(cascade = {CascadeType.REFRESH, CascadeType.PERSIST})
     @JoinColumn(name = "payment_id")
     Payment payment;
@@ -31,6 +30,8 @@ public class PhotoSession {
     @JoinColumn(name = "photos_id")
     Photos photos;
     Boolean isContractFinished;
+    @Version
+    Long version;
 
     public PhotoSession() {
     }
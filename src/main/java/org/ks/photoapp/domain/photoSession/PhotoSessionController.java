@@ -1,13 +1,14 @@
 package org.ks.photoapp.domain.photoSession;
 
+import org.ks.photoapp.config.rendering.ListStreaming;
+import org.ks.photoapp.domain.availability.BookingConflictException;
 import org.ks.photoapp.domain.client.Client;
 import org.ks.photoapp.domain.client.ClientDtoMapper;
-import org.ks.photoapp.domain.client.ClientService;
-import org.ks.photoapp.domain.client.dto.ClientDto;
 import org.ks.photoapp.domain.payment.Payment;
 import org.ks.photoapp.domain.payment.PaymentService;
 import org.ks.photoapp.domain.photoSession.dto.PhotoSessionDto;
-import org.ks.photoapp.domain.sessionType.SessionType;
+import org.ks.photoapp.domain.photoSession.dto.PhotoSessionPage;
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -16,7 +17,6 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,23 +25,48 @@ import static org.ks.photoapp.domain.client.ClientController.NOTIFICATION_ATTRIB
 
 @Controller
 public class PhotoSessionController {
+    static final String SESSION_CONFLICT_MESSAGE = "Termin koliduje z inną sesją";
+    static final String MISSING_CLIENT_MESSAGE = "Wybierz klienta z listy";
+    static final String UNKNOWN_SESSION_TYPE_MESSAGE = "Wybierz rodzaj sesji z listy";
 
-    private final ClientService clientService;
     private final PhotoSessionService photoSessionService;
+    private final SessionTypeCatalog sessionTypeCatalog;
+    private final ListStreaming listStreaming;
 
-    public PhotoSessionController(ClientService clientService, PhotoSessionService photoSessionService) {
-        this.clientService = clientService;
+    public PhotoSessionController(PhotoSessionService photoSessionService, SessionTypeCatalog sessionTypeCatalog,
+                                  ListStreaming listStreaming) {
         this.photoSessionService = photoSessionService;
+        this.sessionTypeCatalog = sessionTypeCatalog;
+        this.listStreaming = listStreaming;
     }
 
     @GetMapping("/all-photosessions")
-    public String getAllPhotoSession(Model model) {
-        List<PhotoSessionDto> photoSessions = photoSessionService.getAll();
+    public String getAllPhotoSession(@RequestParam(required = false) String after,
+                                     @RequestParam(required = false) String before,
+                                     @RequestParam(defaultValue = "20") int size,
+                                     Model model) {
+        PhotoSessionPage page = photoSessionService.getUnfinishedPage(parseCursor(after), parseCursor(before), size);
         model.addAttribute("heading", "Aktualne sesje");
-        model.addAttribute("photoSessions", photoSessions);
+        model.addAttribute("photoSessions", listStreaming.isEnabled()
+                ? listStreaming.flushing(page.getPhotoSessions())
+                : page.getPhotoSessions());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("previousCursor", page.getPreviousCursor());
+        model.addAttribute("size", size);
         return "all-photosessions";
     }
 
+    private static PhotoSessionCursor parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return PhotoSessionCursor.parse(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @GetMapping("/delete-photosession/{id}")
     public String delete(Model model, @PathVariable long id) {
         model.addAttribute("id", id);
@@ -58,12 +83,9 @@ public class PhotoSessionController {
 
     @GetMapping("/update-photosession/{id}")
     public String update(@PathVariable Long id, Model model) {
-        PhotoSession photoSession = photoSessionService.findById(id);
-        List<ClientDto> clients = clientService.getAllClients();
-        List<SessionType> sessionType = Arrays.stream(SessionType.values()).toList();
-
-        model.addAttribute("clients", clients);
-        model.addAttribute("sessionTypes", sessionType);
+        PhotoSessionDto photoSession = photoSessionService.findDtoById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        model.addAttribute("sessionTypes", sessionTypeCatalog.getAll());
         model.addAttribute("photoSession", photoSession);
 
         return "update-photosession";
@@ -75,7 +97,16 @@ public class PhotoSessionController {
     public String updatePhotosession(@PathVariable long id,
                                      @ModelAttribute PhotoSessionDto photoSession,
                                      RedirectAttributes redirectAttributes) {
-        photoSessionService.updateSession(photoSession, id);
+        if (photoSession.getClient() == null || photoSession.getClient().getId() == null) {
+            redirectAttributes.addFlashAttribute(NOTIFICATION_ATTRIBUTE, MISSING_CLIENT_MESSAGE);
+            return "redirect:/update-photosession/" + id;
+        }
+        try {
+            photoSessionService.updateSession(photoSession, id);
+        } catch (BookingConflictException e) {
+            redirectAttributes.addFlashAttribute(NOTIFICATION_ATTRIBUTE, SESSION_CONFLICT_MESSAGE);
+            return "redirect:/update-photosession/" + id;
+        }
 
         redirectAttributes.addFlashAttribute("notification", "Sesja zaktualizowana");
         return "redirect:/all-photosessions";
@@ -101,10 +132,7 @@ public class PhotoSessionController {
 
     @GetMapping("/new-photosession")
     public String addPhotoSessionForm(Model model) {
-        List<ClientDto> clients = clientService.getAllClients();
-        List<SessionType> sessionType = Arrays.stream(SessionType.values()).toList();
-        model.addAttribute("clients", clients);
-        model.addAttribute("sessionTypes", sessionType);
+        model.addAttribute("sessionTypes", sessionTypeCatalog.getAll());
         PhotoSessionDto photoSession = new PhotoSessionDto();
         model.addAttribute("photoSession", photoSession);
         return "photosession-form";
@@ -114,7 +142,20 @@ public class PhotoSessionController {
 
     @PostMapping("/new-photosession")
     public String addPhotoSession(PhotoSessionDto photoSession, RedirectAttributes redirectAttributes) {
-        photoSessionService.createNewSession(photoSession);
+        if (photoSession.getClient() == null || photoSession.getClient().getId() == null) {
+            redirectAttributes.addFlashAttribute(NOTIFICATION_ATTRIBUTE, MISSING_CLIENT_MESSAGE);
+            return "redirect:/new-photosession";
+        }
+        if (!sessionTypeCatalog.exists(photoSession.getSessionType())) {
+            redirectAttributes.addFlashAttribute(NOTIFICATION_ATTRIBUTE, UNKNOWN_SESSION_TYPE_MESSAGE);
+            return "redirect:/new-photosession";
+        }
+        try {
+            photoSessionService.createNewSession(photoSession);
+        } catch (BookingConflictException e) {
+            redirectAttributes.addFlashAttribute(NOTIFICATION_ATTRIBUTE, SESSION_CONFLICT_MESSAGE);
+            return "redirect:/new-photosession";
+        }
         redirectAttributes.addFlashAttribute("message", "Dodano nową sesję");
         return "redirect:/all-photosessions";
     }
@@ -0,0 +1,34 @@
+package org.ks.photoapp.domain.photoSession;
+
+import org.ks.photoapp.domain.photoSession.dto.PhotoSessionDto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+public record PhotoSessionCursor(LocalDateTime sessionDate, Long id) {
+
+    private static final String SEPARATOR = "_";
+
+    public static PhotoSessionCursor parse(String cursor) {
+        int separatorIndex = cursor.lastIndexOf(SEPARATOR);
+        if (separatorIndex <= 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new PhotoSessionCursor(
+                    LocalDateTime.parse(cursor.substring(0, separatorIndex)),
+                    Long.parseLong(cursor.substring(separatorIndex + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public static PhotoSessionCursor of(PhotoSessionDto photoSession) {
+        return new PhotoSessionCursor(photoSession.getSessionDate(), photoSession.getSessionPhotoId());
+    }
+
+    @Override
+    public String toString() {
+        return sessionDate + SEPARATOR + id;
+    }
+}
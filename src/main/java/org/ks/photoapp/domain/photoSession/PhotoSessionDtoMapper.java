@@ -16,7 +16,8 @@ public class PhotoSessionDtoMapper {
                 photoSession.getPhotos().getChosenByClient(),
                 photoSession.getPhotos().getAdditionalChosenByClient(),
                 photoSession.getPayment().getIsAdditionalPaid(),
-                photoSession.getIsContractFinished()
+                photoSession.getIsContractFinished(),
+                photoSession.getVersion()
         );
     }
 }
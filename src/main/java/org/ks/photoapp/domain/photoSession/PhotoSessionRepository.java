@@ -1,19 +1,121 @@
 package org.ks.photoapp.domain.photoSession;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.ks.photoapp.domain.availability.dto.BookingDto;
+import org.ks.photoapp.domain.calendar.dto.CalendarEntryDto;
 import org.ks.photoapp.domain.client.Client;
+import org.ks.photoapp.domain.export.dto.PhotoSessionExportDto;
+import org.ks.photoapp.domain.paymentStatus.dto.PaymentStatusRowDto;
+import org.ks.photoapp.domain.photoSession.dto.PhotoSessionDto;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PhotoSessionRepository extends CrudRepository <PhotoSession,Long> {
 
+    String DTO_PROJECTION = """
+            select new org.ks.photoapp.domain.photoSession.dto.PhotoSessionDto(
+                c, ps.id, ps.sessionDate, ps.sessionType,
+                pay.isDepositPaid, pay.isBasePaid,
+                ph.SentToClientForChoose, ph.ChosenByClient, ph.AdditionalChosenByClient,
+                pay.isAdditionalPaid, ps.isContractFinished, ps.version)
+            from PhotoSession ps
+            join ps.client c
+            join ps.payment pay
+            join ps.photos ph
+            """;
+
     Optional<PhotoSession> findPhotoSessionByClientId(long clientId);
     Optional<PhotoSession> findPhotoSessionById(long id);
     Optional<PhotoSession> findPhotoSessionByClient(Client client);
     Optional<PhotoSession> findPhotoSessionBySessionDate(LocalDateTime sessionDate);
     List<PhotoSession> findAllByIsContractFinishedIsFalse();
+
+    @Query("select ps.client.id from PhotoSession ps where ps.id = :id")
+    Optional<Long> findClientIdById(long id);
+
+    @Query("select ps.photos.id from PhotoSession ps where ps.id = :id")
+    Optional<Long> findPhotosIdById(long id);
+
+    @Query("select coalesce(ps.photos.ChosenByClient, false) from PhotoSession ps where ps.id = :id")
+    Optional<Boolean> findChosenByClientById(long id);
+
+    @Query("select new org.ks.photoapp.domain.availability.dto.BookingDto(ps.id, ps.sessionDate, ps.sessionType) from PhotoSession ps where ps.id = :id")
+    Optional<BookingDto> findBookingById(long id);
+
+    @Query(DTO_PROJECTION + "where ps.isContractFinished = false")
+    List<PhotoSessionDto> findAllUnfinishedDtos();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query(DTO_PROJECTION + "where ps.id = :id")
+    Optional<PhotoSessionDto> findDtoById(long id);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query(DTO_PROJECTION + "where c.id = :clientId order by ps.sessionDate desc, ps.id desc")
+    List<PhotoSessionDto> findDtosByClientId(long clientId, Limit limit);
+
+    @Query(DTO_PROJECTION + """
+            where ps.isContractFinished = false and ps.sessionDate is not null
+            order by ps.sessionDate asc, ps.id asc""")
+    List<PhotoSessionDto> findUnfinishedFirstPage(Limit limit);
+
+    @Query(DTO_PROJECTION + """
+            where ps.isContractFinished = false
+              and (ps.sessionDate > :sessionDate or (ps.sessionDate = :sessionDate and ps.id > :id))
+            order by ps.sessionDate asc, ps.id asc""")
+    List<PhotoSessionDto> findUnfinishedAfter(LocalDateTime sessionDate, Long id, Limit limit);
+
+    @Query(DTO_PROJECTION + """
+            where ps.isContractFinished = false
+              and (ps.sessionDate < :sessionDate or (ps.sessionDate = :sessionDate and ps.id < :id))
+            order by ps.sessionDate desc, ps.id desc""")
+    List<PhotoSessionDto> findUnfinishedBefore(LocalDateTime sessionDate, Long id, Limit limit);
+
+    @Query("""
+            select new org.ks.photoapp.domain.calendar.dto.CalendarEntryDto(
+                ps.id, ps.sessionDate, ps.sessionType, c.id, c.firstName, c.lastName, ps.isContractFinished)
+            from PhotoSession ps
+            join ps.client c
+            where ps.sessionDate >= :from and ps.sessionDate < :to
+            order by ps.sessionDate asc, ps.id asc""")
+    List<CalendarEntryDto> findCalendarEntries(LocalDateTime from, LocalDateTime to);
+
+    @Query("""
+            select new org.ks.photoapp.domain.availability.dto.BookingDto(ps.id, ps.sessionDate, ps.sessionType)
+            from PhotoSession ps
+            where ps.sessionDate is not null""")
+    List<BookingDto> findAllBookings();
+
+    @Query("""
+            select new org.ks.photoapp.domain.paymentStatus.dto.PaymentStatusRowDto(
+                ps.id, pay.isDepositPaid, pay.isBasePaid, pay.isAdditionalPaid, pay.additionalPayment)
+            from PhotoSession ps
+            join ps.payment pay
+            where ps.isContractFinished = false""")
+    List<PaymentStatusRowDto> findOpenPaymentStatusRows();
+
+    @Query(DTO_PROJECTION + "where ps.id in :ids order by ps.sessionDate, ps.id")
+    List<PhotoSessionDto> findDtosByIds(Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select new org.ks.photoapp.domain.export.dto.PhotoSessionExportDto(
+                ps.id, ps.client.id, ps.sessionDate, ps.sessionType, ps.payment.id, ph.id,
+                ph.SentToClientForChoose, ph.ChosenByClient, ph.AdditionalChosenByClient, ps.isContractFinished)
+            from PhotoSession ps
+            left join ps.photos ph
+            order by ps.id""")
+    Stream<PhotoSessionExportDto> streamExportRows();
 }
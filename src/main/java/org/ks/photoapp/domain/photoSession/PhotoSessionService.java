@@ -1,40 +1,99 @@
 package org.ks.photoapp.domain.photoSession;
 
 
+import org.ks.photoapp.domain.availability.AvailabilityService;
+import org.ks.photoapp.domain.availability.dto.BookingDto;
 import org.ks.photoapp.domain.client.Client;
 import org.ks.photoapp.domain.client.ClientDtoMapper;
 import org.ks.photoapp.domain.client.ClientRepository;
 import org.ks.photoapp.domain.client.ClientService;
+import org.ks.photoapp.domain.client.CurrentClientReadModel;
 import org.ks.photoapp.domain.payment.Payment;
 import org.ks.photoapp.domain.payment.PaymentRepository;
+import org.ks.photoapp.domain.paymentStatus.PaymentStatusService;
 import org.ks.photoapp.domain.photoSession.dto.PhotoSessionDto;
+import org.ks.photoapp.domain.photoSession.dto.PhotoSessionPage;
 import org.ks.photoapp.domain.photos.Photos;
+import org.ks.photoapp.domain.proofing.ProofingService;
+import org.ks.photoapp.domain.revenue.RevenuePeriod;
+import org.ks.photoapp.domain.revenue.RevenueReadModel;
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class PhotoSessionService {
+    static final int MAX_PAGE_SIZE = 100;
+
     private final ClientRepository clientRepository;
+    private final AvailabilityService availabilityService;
+    private final CurrentClientReadModel currentClientReadModel;
+    private final SessionTypeCatalog sessionTypeCatalog;
+    private final RevenueReadModel revenueReadModel;
+    private final PaymentStatusService paymentStatusService;
+    private final ProofingService proofingService;
     PhotoSessionRepository photoSessionRepository;
 
 
-    public PhotoSessionService(PhotoSessionRepository photoSessionRepository, ClientRepository clientRepository) {
+    public PhotoSessionService(PhotoSessionRepository photoSessionRepository, ClientRepository clientRepository,
+                               AvailabilityService availabilityService, CurrentClientReadModel currentClientReadModel,
+                               SessionTypeCatalog sessionTypeCatalog, RevenueReadModel revenueReadModel,
+                               PaymentStatusService paymentStatusService, ProofingService proofingService) {
         this.photoSessionRepository = photoSessionRepository;
         this.clientRepository = clientRepository;
+        this.availabilityService = availabilityService;
+        this.currentClientReadModel = currentClientReadModel;
+        this.sessionTypeCatalog = sessionTypeCatalog;
+        this.revenueReadModel = revenueReadModel;
+        this.paymentStatusService = paymentStatusService;
+        this.proofingService = proofingService;
     }
 
     public List <PhotoSessionDto> getAll() {
-        List<PhotoSession> photoSessions = (List<PhotoSession>) photoSessionRepository.findAll();
-        return photoSessions.stream()
-                .filter(photoSession -> !photoSession.isContractFinished)
-                .map(PhotoSessionDtoMapper::map)
-                .toList();
+        return photoSessionRepository.findAllUnfinishedDtos();
+    }
+
+    public PhotoSessionPage getUnfinishedPage(PhotoSessionCursor after, PhotoSessionCursor before, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+        boolean backward = before != null;
+
+        List<PhotoSessionDto> rows;
+        if (backward) {
+            rows = photoSessionRepository.findUnfinishedBefore(before.sessionDate(), before.id(), limit);
+        } else if (after != null) {
+            rows = photoSessionRepository.findUnfinishedAfter(after.sessionDate(), after.id(), limit);
+        } else {
+            rows = photoSessionRepository.findUnfinishedFirstPage(limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<PhotoSessionDto> page = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        if (backward) {
+            Collections.reverse(page);
+        }
+        if (page.isEmpty()) {
+            return new PhotoSessionPage(List.of(), null, null);
+        }
+
+        boolean hasNext = backward || hasMore;
+        boolean hasPrevious = backward ? hasMore : after != null;
+        return new PhotoSessionPage(
+                page,
+                hasNext ? PhotoSessionCursor.of(page.get(page.size() - 1)).toString() : null,
+                hasPrevious ? PhotoSessionCursor.of(page.get(0)).toString() : null);
     }
 
 
@@ -43,15 +102,25 @@ public class PhotoSessionService {
         return optionalPhotoSession.orElseThrow(() -> new NullPointerException("PhotoSession not found with ID: " + id));
     }
 
+    public Optional<PhotoSessionDto> findDtoById(long id) {
+        return photoSessionRepository.findDtoById(id);
+    }
+
     public Optional<PhotoSessionDto> getPhotoSessionByClientId(Long clientId) {
-        Optional<PhotoSession> photoSession = photoSessionRepository.findPhotoSessionByClientId(clientId);
-        return photoSession.map(PhotoSessionDtoMapper::map);
+        return photoSessionRepository.findDtosByClientId(clientId, Limit.of(1)).stream().findFirst();
     }
 
 
 
+    @Transactional
     public void createNewSession(PhotoSessionDto photoSessionToSave) {
+        availabilityService.lockBookingsUntilCompletion();
+        if (photoSessionToSave.getSessionDate() != null) {
+            availabilityService.requireFree(photoSessionToSave.getSessionType(), photoSessionToSave.getSessionDate());
+        }
         Payment payment = new Payment();
+        sessionTypeCatalog.find(photoSessionToSave.getSessionType())
+                .ifPresent(sessionType -> payment.setBasePayment(BigDecimal.valueOf(sessionType.getPrice())));
         Photos photos = new Photos();
         PhotoSession photoSession = new PhotoSession();
         Client client = clientRepository.findById(photoSessionToSave.getClient().getId()).orElse(new Client());
@@ -61,14 +130,28 @@ public class PhotoSessionService {
         photoSession.setSessionDate(photoSessionToSave.getSessionDate());
         photoSession.setSessionType(photoSessionToSave.getSessionType());
         photoSession.isContractFinished = false;
-        photoSessionRepository.save(photoSession);
+        PhotoSession savedSession = photoSessionRepository.save(photoSession);
+        availabilityService.onSessionSaved(savedSession);
+        paymentStatusService.onSessionSaved(savedSession);
+        currentClientReadModel.refresh(client.getId());
+        revenueReadModel.refresh(RevenuePeriod.of(photoSession.getSessionDate(), photoSession.getSessionType()));
     }
 
+    @Transactional
     public void deleteSession(long id) {
+        Optional<Long> clientId = photoSessionRepository.findClientIdById(id);
+        Optional<BookingDto> booking = photoSessionRepository.findBookingById(id);
         photoSessionRepository.deleteById(id);
+        availabilityService.onSessionDeleted(id);
+        paymentStatusService.onSessionDeleted(id);
+        proofingService.onSessionDeleted(id);
+        clientId.ifPresent(currentClientReadModel::refresh);
+        booking.ifPresent(deleted -> revenueReadModel.refresh(
+                RevenuePeriod.of(deleted.getStart(), deleted.getSessionType())));
     }
 
 
+    @Transactional
     public void updateSession(PhotoSessionDto photoSessionDto, long id) {
         PhotoSession photoSessionToUpdate = photoSessionRepository.findPhotoSessionById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Photo session not found"));
@@ -80,8 +163,18 @@ public class PhotoSessionService {
         Client client = clientRepository.findById(photoSessionDto.getClient().getId())
                 .orElseThrow(() -> new IllegalArgumentException("Client not found"));
 
+        availabilityService.lockBookingsUntilCompletion();
+        if (photoSessionDto.getSessionDate() != null) {
+            availabilityService.requireFreeOnReschedule(id, photoSessionToUpdate.getSessionType(),
+                    photoSessionDto.getSessionDate());
+        }
+
+        Long previousClientId = photoSessionToUpdate.getClient().getId();
+        RevenuePeriod previousPeriod = RevenuePeriod.of(photoSessionToUpdate.getSessionDate(),
+                photoSessionToUpdate.getSessionType());
         photoSessionToUpdate.setClient(client);
         photoSessionToUpdate.setSessionDate(photoSessionDto.getSessionDate());
+        photoSessionToUpdate.setIsContractFinished(Boolean.TRUE.equals(photoSessionDto.getIsContractFinished()));
 
         Payment payment = photoSessionToUpdate.getPayment();
         if (payment == null) {
@@ -101,7 +194,12 @@ public class PhotoSessionService {
         photos.setChosenByClient(photoSessionDto.getIsPhotosChosenByClient());
         photos.setAdditionalChosenByClient(photoSessionDto.getIsAdditionalPhotosChosenByClient());
 
-        photoSessionRepository.save(photoSessionToUpdate);
+        PhotoSession savedSession = photoSessionRepository.save(photoSessionToUpdate);
+        availabilityService.onSessionSaved(savedSession);
+        paymentStatusService.onSessionSaved(savedSession);
+        currentClientReadModel.refresh(Stream.of(previousClientId, client.getId()).collect(Collectors.toSet()));
+        revenueReadModel.refresh(previousPeriod,
+                RevenuePeriod.of(photoSessionToUpdate.getSessionDate(), photoSessionToUpdate.getSessionType()));
     }
 
 
@@ -139,9 +237,7 @@ public class PhotoSessionService {
     }
 
     public List<PhotoSessionDto> findAllUnfinishedPhotoSession(){
-        return photoSessionRepository.findAllByIsContractFinishedIsFalse().stream()
-                .map(PhotoSessionDtoMapper::map)
-                .toList();
+        return photoSessionRepository.findAllUnfinishedDtos();
     }
 
 
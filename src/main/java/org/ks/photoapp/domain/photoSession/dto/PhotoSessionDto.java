@@ -2,7 +2,6 @@ package org.ks.photoapp.domain.photoSession.dto;
 
 import lombok.Data;
 import org.ks.photoapp.domain.client.Client;
-import org.ks.photoapp.domain.sessionType.SessionType;
 
 
 import java.time.LocalDateTime;
@@ -13,7 +12,7 @@ public class PhotoSessionDto {
     Client client;
     Long sessionPhotoId;
     LocalDateTime sessionDate;
-    SessionType sessionType;
+    String sessionType;
     Boolean isDepositPaid;
     Boolean isBasePaid;
     Boolean isPhotosSentToClientForChoose;
@@ -21,14 +20,15 @@ public class PhotoSessionDto {
     Boolean isAdditionalPhotosChosenByClient;
     Boolean isAdditionalPaid;
     Boolean isContractFinished;
+    Long version;
 
     public PhotoSessionDto() {
     }
 
-    public PhotoSessionDto(Client client, Long sessionPhotoId, LocalDateTime sessionDate, SessionType sessionType,
+    public PhotoSessionDto(Client client, Long sessionPhotoId, LocalDateTime sessionDate, String sessionType,
                            Boolean isDepositPaid, Boolean isBasePaid, Boolean isPhotosSentToClientForChoose,
                            Boolean isPhotosChosenByClient, Boolean isAdditionalPhotosChosenByClient,
-                           Boolean isAdditionalPaid, Boolean isContractFinished) {
+                           Boolean isAdditionalPaid, Boolean isContractFinished, Long version) {
         this.client = client;
         this.sessionPhotoId = sessionPhotoId;
         this.sessionDate = sessionDate;
@@ -40,6 +40,7 @@ public class PhotoSessionDto {
         this.isAdditionalPhotosChosenByClient = isAdditionalPhotosChosenByClient;
         this.isAdditionalPaid = isAdditionalPaid;
         this.isContractFinished = isContractFinished;
+        this.version = version;
     }
 
 }
@@ -0,0 +1,18 @@
+package org.ks.photoapp.domain.photoSession.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PhotoSessionPage {
+    List<PhotoSessionDto> photoSessions;
+    String nextCursor;
+    String previousCursor;
+
+    public PhotoSessionPage(List<PhotoSessionDto> photoSessions, String nextCursor, String previousCursor) {
+        this.photoSessions = photoSessions;
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+    }
+}
@@ -0,0 +1,213 @@
+package org.ks.photoapp.domain.photos;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+// reads capture time, camera and orientation from the EXIF block of JPEGs and TIFF based raws
+// (CR2, NEF, ARW, DNG, ORF, RW2) without decoding the image: only the head of the file is read
+public final class ExifReader {
+
+    private static final int HEADER_BYTES = 256 * 1024;
+    private static final DateTimeFormatter EXIF_DATE_TIME = DateTimeFormatter.ofPattern("yyyy:MM:dd HH:mm:ss");
+
+    private static final int TAG_MAKE = 0x010F;
+    private static final int TAG_MODEL = 0x0110;
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final int TAG_DATE_TIME = 0x0132;
+    private static final int TAG_EXIF_IFD = 0x8769;
+    private static final int TAG_DATE_TIME_ORIGINAL = 0x9003;
+    private static final int TAG_SUB_SEC_TIME_ORIGINAL = 0x9291;
+    private static final int TAG_BODY_SERIAL_NUMBER = 0xA431;
+    private static final int TYPE_ASCII = 2;
+    private static final int TYPE_SHORT = 3;
+    private static final int TYPE_LONG = 4;
+
+    private ExifReader() {
+    }
+
+    public static Exif read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate((int) Math.min(channel.size(), HEADER_BYTES));
+            while (head.hasRemaining()) {
+                if (channel.read(head) < 0) {
+                    break;
+                }
+            }
+            head.flip();
+            int tiffStart = tiffStart(head);
+            return tiffStart < 0 ? Exif.NONE : parseTiff(head.slice(tiffStart, head.limit() - tiffStart));
+        } catch (IOException | RuntimeException e) {
+            return Exif.NONE;
+        }
+    }
+
+    private static int tiffStart(ByteBuffer head) {
+        if (isTiff(head, 0)) {
+            return 0;
+        }
+        if (head.limit() < 4 || (head.get(0) & 0xFF) != 0xFF || (head.get(1) & 0xFF) != 0xD8) {
+            return -1;
+        }
+        int position = 2;
+        while (position + 4 <= head.limit()) {
+            if ((head.get(position) & 0xFF) != 0xFF) {
+                return -1;
+            }
+            int marker = head.get(position + 1) & 0xFF;
+            if (marker == 0xFF) {
+                position++;
+                continue;
+            }
+            if (marker == 0xDA || marker == 0xD9) {
+                return -1;
+            }
+            int length = head.order(ByteOrder.BIG_ENDIAN).getShort(position + 2) & 0xFFFF;
+            if (marker == 0xE1 && position + 10 <= head.limit() && isExifHeader(head, position + 4)) {
+                return isTiff(head, position + 10) ? position + 10 : -1;
+            }
+            position += 2 + length;
+        }
+        return -1;
+    }
+
+    private static boolean isExifHeader(ByteBuffer head, int position) {
+        byte[] expected = {'E', 'x', 'i', 'f', 0, 0};
+        for (int i = 0; i < expected.length; i++) {
+            if (head.get(position + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isTiff(ByteBuffer head, int position) {
+        if (position + 8 > head.limit()) {
+            return false;
+        }
+        int first = head.get(position);
+        int second = head.get(position + 1);
+        return first == second && (first == 'I' || first == 'M');
+    }
+
+    private static Exif parseTiff(ByteBuffer tiff) {
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        Ifd ifd0 = new Ifd();
+        readIfd(tiff, tiff.getInt(4), ifd0);
+        Ifd exifIfd = new Ifd();
+        if (ifd0.exifIfdOffset > 0) {
+            readIfd(tiff, ifd0.exifIfdOffset, exifIfd);
+        }
+
+        LocalDateTime capturedAt = parseDateTime(exifIfd.dateTimeOriginal, exifIfd.subSecTimeOriginal);
+        if (capturedAt == null) {
+            capturedAt = parseDateTime(ifd0.dateTime, null);
+        }
+        return new Exif(capturedAt, camera(ifd0.make, ifd0.model, exifIfd.bodySerialNumber),
+                ifd0.orientation >= 1 && ifd0.orientation <= 8 ? ifd0.orientation : null);
+    }
+
+    private static void readIfd(ByteBuffer tiff, long offset, Ifd ifd) {
+        if (offset < 8 || offset + 2 > tiff.limit()) {
+            return;
+        }
+        int count = tiff.getShort((int) offset) & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            int entry = (int) offset + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) {
+                return;
+            }
+            int tag = tiff.getShort(entry) & 0xFFFF;
+            int type = tiff.getShort(entry + 2) & 0xFFFF;
+            long valueCount = tiff.getInt(entry + 4) & 0xFFFFFFFFL;
+            switch (tag) {
+                case TAG_MAKE -> ifd.make = ascii(tiff, entry, type, valueCount);
+                case TAG_MODEL -> ifd.model = ascii(tiff, entry, type, valueCount);
+                case TAG_DATE_TIME -> ifd.dateTime = ascii(tiff, entry, type, valueCount);
+                case TAG_DATE_TIME_ORIGINAL -> ifd.dateTimeOriginal = ascii(tiff, entry, type, valueCount);
+                case TAG_SUB_SEC_TIME_ORIGINAL -> ifd.subSecTimeOriginal = ascii(tiff, entry, type, valueCount);
+                case TAG_BODY_SERIAL_NUMBER -> ifd.bodySerialNumber = ascii(tiff, entry, type, valueCount);
+                case TAG_ORIENTATION -> ifd.orientation = type == TYPE_SHORT ? tiff.getShort(entry + 8) & 0xFFFF : 0;
+                case TAG_EXIF_IFD -> ifd.exifIfdOffset = type == TYPE_LONG ? tiff.getInt(entry + 8) & 0xFFFFFFFFL : 0;
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static String ascii(ByteBuffer tiff, int entry, int type, long count) {
+        if (type != TYPE_ASCII || count == 0 || count > 1024) {
+            return null;
+        }
+        long start = count <= 4 ? entry + 8 : tiff.getInt(entry + 8) & 0xFFFFFFFFL;
+        if (start + count > tiff.limit()) {
+            return null;
+        }
+        byte[] bytes = new byte[(int) count];
+        tiff.get((int) start, bytes);
+        int length = 0;
+        while (length < bytes.length && bytes[length] != 0) {
+            length++;
+        }
+        String value = new String(bytes, 0, length, StandardCharsets.US_ASCII).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static LocalDateTime parseDateTime(String dateTime, String subSeconds) {
+        if (dateTime == null || dateTime.length() < 19) {
+            return null;
+        }
+        try {
+            LocalDateTime parsed = LocalDateTime.parse(dateTime.substring(0, 19), EXIF_DATE_TIME);
+            if (subSeconds != null && subSeconds.chars().allMatch(Character::isDigit)) {
+                // burst frames share a second, the fraction keeps them in shooting order
+                String millis = (subSeconds + "000").substring(0, 3);
+                parsed = parsed.plusNanos(Integer.parseInt(millis) * 1_000_000L);
+            }
+            return parsed;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String camera(String make, String model, String serialNumber) {
+        String camera;
+        if (model == null) {
+            camera = make;
+        } else if (make == null || model.toLowerCase().startsWith(make.toLowerCase().split(" ")[0])) {
+            camera = model;
+        } else {
+            camera = make + " " + model;
+        }
+        if (camera == null) {
+            return null;
+        }
+        // two bodies of the same model need separate clock offsets
+        if (serialNumber != null) {
+            camera += " (" + serialNumber + ")";
+        }
+        return camera.length() <= 255 ? camera : camera.substring(0, 255);
+    }
+
+    private static class Ifd {
+        String make;
+        String model;
+        String dateTime;
+        String dateTimeOriginal;
+        String subSecTimeOriginal;
+        String bodySerialNumber;
+        int orientation;
+        long exifIfdOffset;
+    }
+
+    public record Exif(LocalDateTime capturedAt, String camera, Integer orientation) {
+        public static final Exif NONE = new Exif(null, null, null);
+    }
+}
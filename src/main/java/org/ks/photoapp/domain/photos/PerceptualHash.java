@@ -0,0 +1,47 @@
+package org.ks.photoapp.domain.photos;
+
+import java.awt.image.BufferedImage;
+
+// 64-bit difference hash: the image is averaged down to 9x8 grey cells and each bit says whether a cell
+// is brighter than its right neighbour, so re-encoding, resizing and small exposure changes barely move it
+public final class PerceptualHash {
+
+    private static final int WIDTH = 9;
+    private static final int HEIGHT = 8;
+
+    private PerceptualHash() {
+    }
+
+    public static long of(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double[] sums = new double[WIDTH * HEIGHT];
+        int[] counts = new int[WIDTH * HEIGHT];
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            int cellRow = y * HEIGHT / height * WIDTH;
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x];
+                int cell = cellRow + x * WIDTH / width;
+                sums[cell] += 0.299 * (rgb >> 16 & 0xFF) + 0.587 * (rgb >> 8 & 0xFF) + 0.114 * (rgb & 0xFF);
+                counts[cell]++;
+            }
+        }
+
+        long hash = 0;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH - 1; x++) {
+                int cell = y * WIDTH + x;
+                double left = sums[cell] / Math.max(1, counts[cell]);
+                double right = sums[cell + 1] / Math.max(1, counts[cell + 1]);
+                hash = hash << 1 | (left > right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+}
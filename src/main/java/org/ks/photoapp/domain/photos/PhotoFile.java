@@ -0,0 +1,33 @@
+package org.ks.photoapp.domain.photos;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+public class PhotoFile {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "photo_file_seq")
+    @SequenceGenerator(name = "photo_file_seq", sequenceName = "photo_file_seq", allocationSize = 50)
+    Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "photos_id")
+    Photos photos;
+    Integer ordinal;
+    String fileName;
+    String contentType;
+    String contentHash;
+    Long sizeBytes;
+    Long crc32;
+    String previewHash;
+    Integer width;
+    Integer height;
+    Long perceptualHash;
+    LocalDateTime capturedAt;
+    String camera;
+    Integer orientation;
+    Boolean exifRead;
+    LocalDateTime uploadedAt;
+}
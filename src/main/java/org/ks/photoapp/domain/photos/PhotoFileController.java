@@ -0,0 +1,90 @@
+package org.ks.photoapp.domain.photos;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.ks.photoapp.domain.photos.dto.PhotoFileDto;
+import org.ks.photoapp.domain.storage.ContentResponseWriter;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.ks.photoapp.domain.client.ClientController.NOTIFICATION_ATTRIBUTE;
+
+@Controller
+public class PhotoFileController {
+
+    private final PhotoFileService photoFileService;
+    private final ContentResponseWriter contentResponseWriter;
+
+    public PhotoFileController(PhotoFileService photoFileService, ContentResponseWriter contentResponseWriter) {
+        this.photoFileService = photoFileService;
+        this.contentResponseWriter = contentResponseWriter;
+    }
+
+    @GetMapping("/photosession/{id}/gallery")
+    public String getGallery(@PathVariable long id, Model model) {
+        model.addAttribute("sessionId", id);
+        model.addAttribute("photoFiles", photoFileService.getGallery(id));
+        return "gallery";
+    }
+
+    @GetMapping("/photosession/{id}/photos")
+    @ResponseBody
+    public List<PhotoFileDto> getPhotos(@PathVariable long id) {
+        return photoFileService.getGallery(id);
+    }
+
+    @PostMapping("/photosession/{id}/photos")
+    public String uploadPhotos(@PathVariable long id, @RequestParam("files") List<MultipartFile> files,
+                               RedirectAttributes redirectAttributes) throws IOException {
+        int uploaded;
+        try {
+            uploaded = photoFileService.upload(id, files);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        redirectAttributes.addFlashAttribute(NOTIFICATION_ATTRIBUTE, "Dodano zdjęcia: " + uploaded);
+        return "redirect:/photosession/" + id + "/gallery";
+    }
+
+    @GetMapping("/photo-files/{id}/original")
+    public void getOriginal(@PathVariable long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        PhotoFileDto photoFile = findPhotoFile(id);
+        // rows stored before types were checked may still carry one the browser would render as a page
+        if (!PhotoFileService.isInlineImage(photoFile.getContentType())) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(photoFile.getFileName(), StandardCharsets.UTF_8).build().toString());
+        }
+        contentResponseWriter.write(photoFile.getContentHash(),
+                PhotoFileService.servedContentType(photoFile.getContentType()), request, response);
+    }
+
+    @GetMapping("/photo-files/{id}/preview")
+    public void getPreview(@PathVariable long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        PhotoFileDto photoFile = findPhotoFile(id);
+        if (photoFile.getPreviewHash() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        contentResponseWriter.write(photoFile.getPreviewHash(), PhotoFileService.PREVIEW_CONTENT_TYPE, request, response);
+    }
+
+    private PhotoFileDto findPhotoFile(long id) {
+        return photoFileService.findDtoById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+}
@@ -0,0 +1,85 @@
+package org.ks.photoapp.domain.photos;
+
+import jakarta.persistence.LockModeType;
+import org.ks.photoapp.domain.delivery.dto.DeliveryFileDto;
+import org.ks.photoapp.domain.photos.dto.PhotoFileDto;
+import org.ks.photoapp.domain.timeline.dto.CameraDto;
+import org.ks.photoapp.domain.timeline.dto.TimelineEntryDto;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PhotoFileRepository extends CrudRepository<PhotoFile, Long> {
+
+    String DTO_PROJECTION = """
+            select new org.ks.photoapp.domain.photos.dto.PhotoFileDto(
+                pf.id, pf.ordinal, pf.fileName, pf.contentType, pf.contentHash, pf.sizeBytes, pf.previewHash,
+                pf.width, pf.height, pf.perceptualHash)
+            from PhotoFile pf
+            """;
+
+    String TIMELINE_PROJECTION = """
+            select new org.ks.photoapp.domain.timeline.dto.TimelineEntryDto(
+                pf.id, pf.ordinal, pf.fileName, pf.previewHash, pf.camera, pf.orientation, pf.capturedAt)
+            from PhotoFile pf
+            """;
+
+    @Query(DTO_PROJECTION + "where pf.id = :id")
+    Optional<PhotoFileDto> findDtoById(long id);
+
+    @Query(DTO_PROJECTION + "where pf.photos.id = :photosId order by pf.ordinal")
+    List<PhotoFileDto> findDtosByPhotosId(long photosId);
+
+    @Query("select pf.photos.id from PhotoFile pf where pf.id = :id")
+    Optional<Long> findPhotosIdById(long id);
+
+    @Query("select coalesce(max(pf.ordinal), 0) from PhotoFile pf where pf.photos.id = :photosId")
+    int findMaxOrdinal(long photosId);
+
+    @Query("""
+            select new org.ks.photoapp.domain.delivery.dto.DeliveryFileDto(
+                pf.id, pf.ordinal, pf.fileName, pf.contentHash, pf.sizeBytes, pf.crc32, pf.uploadedAt)
+            from PhotoFile pf
+            where pf.photos.id = :photosId
+            order by pf.ordinal
+            """)
+    List<DeliveryFileDto> findDeliveryFilesByPhotosId(long photosId);
+
+    @Modifying
+    @Query("update PhotoFile pf set pf.crc32 = :crc32 where pf.contentHash = :contentHash and pf.crc32 is null")
+    int updateCrc32(String contentHash, long crc32);
+
+    @Query(TIMELINE_PROJECTION + """
+            where pf.photos.id = :photosId and pf.camera = :camera
+              and (pf.capturedAt > :after or (pf.capturedAt = :after and pf.id > :afterId))
+              and pf.capturedAt < :before
+            order by pf.capturedAt asc, pf.id asc""")
+    List<TimelineEntryDto> findTimelineAfter(long photosId, String camera, LocalDateTime after, long afterId,
+                                             LocalDateTime before, Limit limit);
+
+    @Query("""
+            select new org.ks.photoapp.domain.timeline.dto.CameraDto(
+                pf.camera, count(pf), min(pf.capturedAt), max(pf.capturedAt))
+            from PhotoFile pf
+            where pf.photos.id = :photosId and pf.capturedAt is not null
+            group by pf.camera
+            order by min(pf.capturedAt)""")
+    List<CameraDto> findCamerasByPhotosId(long photosId);
+
+    @Query("select pf from PhotoFile pf where pf.photos.id = :photosId and pf.exifRead = false")
+    List<PhotoFile> findWithoutExif(long photosId);
+
+    @Modifying
+    @Query("update PhotoFile pf set pf.perceptualHash = :perceptualHash where pf.id = :id")
+    void updatePerceptualHash(long id, long perceptualHash);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Photos p where p.id = :photosId")
+    Optional<Photos> lockPhotos(long photosId);
+}
@@ -0,0 +1,149 @@
+package org.ks.photoapp.domain.photos;
+
+import org.ks.photoapp.domain.photoSession.PhotoSessionRepository;
+import org.ks.photoapp.domain.photos.dto.PhotoFileDto;
+import org.ks.photoapp.domain.storage.ContentStore;
+import org.ks.photoapp.domain.storage.StoredContent;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class PhotoFileService {
+
+    static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    static final String PREVIEW_CONTENT_TYPE = "image/jpeg";
+    public static final String UNKNOWN_CAMERA = "";
+
+    private final PhotoFileRepository photoFileRepository;
+    private final PhotoSessionRepository photoSessionRepository;
+    private final ContentStore contentStore;
+    private final PhotoPreviewRenderer previewRenderer;
+    private final TransactionTemplate transactionTemplate;
+
+    public PhotoFileService(PhotoFileRepository photoFileRepository, PhotoSessionRepository photoSessionRepository,
+                            ContentStore contentStore, PhotoPreviewRenderer previewRenderer,
+                            TransactionTemplate transactionTemplate) {
+        this.photoFileRepository = photoFileRepository;
+        this.photoSessionRepository = photoSessionRepository;
+        this.contentStore = contentStore;
+        this.previewRenderer = previewRenderer;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public List<PhotoFileDto> getGallery(long sessionId) {
+        return photoSessionRepository.findPhotosIdById(sessionId)
+                .map(photoFileRepository::findDtosByPhotosId)
+                .orElse(List.of());
+    }
+
+    public Optional<PhotoFileDto> findDtoById(long id) {
+        return photoFileRepository.findDtoById(id);
+    }
+
+    public int upload(long sessionId, List<MultipartFile> files) throws IOException {
+        long photosId = photosIdOf(sessionId);
+        List<PhotoFile> photoFiles = new ArrayList<>();
+        for (MultipartFile file : files) {
+            if (file.isEmpty()) {
+                continue;
+            }
+            StoredContent content;
+            try (InputStream in = file.getInputStream()) {
+                content = contentStore.store(in);
+            }
+            photoFiles.add(describe(content, file.getOriginalFilename(), file.getContentType()));
+        }
+        addToGallery(photosId, photoFiles);
+        return photoFiles.size();
+    }
+
+    public long photosIdOf(long sessionId) {
+        return photoSessionRepository.findPhotosIdById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Photo session not found"));
+    }
+
+    public PhotoFile describe(StoredContent content, String fileName, String contentType) {
+        PhotoPreviewRenderer.Preview preview = previewRenderer.render(contentStore.pathOf(content.hash()));
+        PhotoFile photoFile = new PhotoFile();
+        photoFile.setFileName(truncate(cleanFileName(fileName, content.hash()), 255));
+        photoFile.setContentType(truncate(servedContentType(contentType), 100));
+        photoFile.setContentHash(content.hash());
+        photoFile.setSizeBytes(content.size());
+        photoFile.setCrc32(content.crc32());
+        photoFile.setPreviewHash(preview.previewHash());
+        photoFile.setWidth(preview.width());
+        photoFile.setHeight(preview.height());
+        photoFile.setPerceptualHash(preview.perceptualHash());
+        readExif(photoFile);
+        return photoFile;
+    }
+
+    public void readExif(PhotoFile photoFile) {
+        ExifReader.Exif exif = ExifReader.read(contentStore.pathOf(photoFile.getContentHash()));
+        photoFile.setCapturedAt(exif.capturedAt());
+        // timeline queries go camera by camera, frames with a time but no camera still need a key
+        photoFile.setCamera(exif.camera() == null && exif.capturedAt() != null ? UNKNOWN_CAMERA : exif.camera());
+        photoFile.setOrientation(exif.orientation());
+        photoFile.setExifRead(true);
+    }
+
+    public void addToGallery(long photosId, List<PhotoFile> photoFiles) {
+        if (photoFiles.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Photos photos = photoFileRepository.lockPhotos(photosId)
+                    .orElseThrow(() -> new IllegalArgumentException("Photos not found"));
+            int ordinal = photoFileRepository.findMaxOrdinal(photosId);
+            LocalDateTime now = LocalDateTime.now();
+            for (PhotoFile photoFile : photoFiles) {
+                photoFile.setPhotos(photos);
+                photoFile.setOrdinal(++ordinal);
+                photoFile.setUploadedAt(now);
+            }
+            photoFileRepository.saveAll(photoFiles);
+        });
+    }
+
+    // originals are served from the application's own origin, so a type sent by the client is only kept when it
+    // is a raster image; anything else, SVG included, could run script there and is served as a download
+    public static String servedContentType(String contentType) {
+        if (!StringUtils.hasText(contentType)) {
+            return DEFAULT_CONTENT_TYPE;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if ("image".equals(mediaType.getType()) && !mediaType.isWildcardSubtype()
+                    && !mediaType.getSubtype().startsWith("svg")) {
+                return mediaType.getType() + "/" + mediaType.getSubtype();
+            }
+        } catch (InvalidMediaTypeException e) {
+            // falls through to the opaque type
+        }
+        return DEFAULT_CONTENT_TYPE;
+    }
+
+    public static boolean isInlineImage(String contentType) {
+        return !DEFAULT_CONTENT_TYPE.equals(servedContentType(contentType));
+    }
+
+    private static String cleanFileName(String fileName, String hash) {
+        String name = StringUtils.getFilename(StringUtils.cleanPath(fileName == null ? "" : fileName));
+        return StringUtils.hasText(name) ? name : hash;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
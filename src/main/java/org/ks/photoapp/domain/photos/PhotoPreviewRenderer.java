@@ -0,0 +1,122 @@
+package org.ks.photoapp.domain.photos;
+
+import org.ks.photoapp.domain.storage.ContentStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+@Component
+class PhotoPreviewRenderer {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoPreviewRenderer.class);
+
+    private final ContentStore contentStore;
+    private final int previewSize;
+    private final float previewQuality;
+
+    PhotoPreviewRenderer(ContentStore contentStore,
+                         @Value("${photoapp.photos.preview-size:1600}") int previewSize,
+                         @Value("${photoapp.photos.preview-quality:0.85}") float previewQuality) {
+        this.contentStore = contentStore;
+        this.previewSize = previewSize;
+        this.previewQuality = previewQuality;
+    }
+
+    Preview render(Path original) {
+        try {
+            return decode(original);
+        } catch (IOException | RuntimeException e) {
+            // raw formats and damaged files are still stored, they just get no preview
+            log.debug("No preview for {}: {}", original, e.getMessage());
+            return Preview.NONE;
+        }
+    }
+
+    private Preview decode(Path original) throws IOException {
+        SizedImage decoded = decodeNearPreviewSize(original);
+        if (decoded == null) {
+            return Preview.NONE;
+        }
+        BufferedImage scaled = scale(decoded.image());
+        String previewHash = contentStore.store(new ByteArrayInputStream(encode(scaled))).hash();
+        return new Preview(decoded.width(), decoded.height(), previewHash, PerceptualHash.of(scaled));
+    }
+
+    SizedImage decodeNearPreviewSize(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                // subsample down to at most twice the preview size, so a 25 MB original is never expanded
+                // on the heap; scale() then does the final, smoother step
+                int subsampling = Math.max(1, Math.max(width, height) / previewSize);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return new SizedImage(width, height, reader.read(0, param));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source) {
+        double ratio = Math.min(1.0, (double) previewSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(previewQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    record SizedImage(int width, int height, BufferedImage image) {
+    }
+
+    record Preview(Integer width, Integer height, String previewHash, Long perceptualHash) {
+        static final Preview NONE = new Preview(null, null, null, null);
+    }
+}
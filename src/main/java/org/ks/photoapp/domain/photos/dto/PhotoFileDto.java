@@ -0,0 +1,39 @@
+package org.ks.photoapp.domain.photos.dto;
+
+import lombok.Data;
+
+@Data
+public class PhotoFileDto {
+    Long id;
+    Integer ordinal;
+    String fileName;
+    String contentType;
+    String contentHash;
+    Long sizeBytes;
+    String previewHash;
+    Integer width;
+    Integer height;
+    Long perceptualHash;
+
+    public PhotoFileDto(Long id, Integer ordinal, String fileName, String contentType, String contentHash,
+                        Long sizeBytes, String previewHash, Integer width, Integer height, Long perceptualHash) {
+        this.id = id;
+        this.ordinal = ordinal;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.contentHash = contentHash;
+        this.sizeBytes = sizeBytes;
+        this.previewHash = previewHash;
+        this.width = width;
+        this.height = height;
+        this.perceptualHash = perceptualHash;
+    }
+
+    public String getOriginalUrl() {
+        return "/photo-files/" + id + "/original";
+    }
+
+    public String getPreviewUrl() {
+        return previewHash == null ? null : "/photo-files/" + id + "/preview";
+    }
+}
@@ -0,0 +1,17 @@
+package org.ks.photoapp.domain.proofing;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+public class PhotoSelection {
+    @Id
+    Long photoSessionId;
+    byte[] selected;
+    byte[] favorites;
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,6 @@
+package org.ks.photoapp.domain.proofing;
+
+import org.springframework.data.repository.CrudRepository;
+
+public interface PhotoSelectionRepository extends CrudRepository<PhotoSelection, Long> {
+}
@@ -0,0 +1,41 @@
+package org.ks.photoapp.domain.proofing;
+
+import org.ks.photoapp.domain.proofing.dto.PhotoSelectionDto;
+import org.ks.photoapp.domain.proofing.dto.SelectionChangeDto;
+import org.ks.photoapp.domain.proofing.dto.SelectionDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.NoSuchElementException;
+
+@RestController
+public class ProofingController {
+
+    private final ProofingService proofingService;
+
+    public ProofingController(ProofingService proofingService) {
+        this.proofingService = proofingService;
+    }
+
+    @GetMapping("/photosession/{id}/selection")
+    public SelectionDto getSelection(@PathVariable long id) {
+        return proofingService.getSelection(id);
+    }
+
+    @PutMapping("/photosession/{id}/selection/{ordinal}")
+    public PhotoSelectionDto change(@PathVariable long id, @PathVariable int ordinal,
+                                    @RequestBody SelectionChangeDto change) {
+        return proofingService.change(id, ordinal, change);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> notFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+}
@@ -0,0 +1,216 @@
+package org.ks.photoapp.domain.proofing;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.ks.photoapp.config.transaction.AfterCommit;
+import org.ks.photoapp.domain.photoSession.PhotoSessionRepository;
+import org.ks.photoapp.domain.photos.PhotoFileRepository;
+import org.ks.photoapp.domain.proofing.dto.PhotoSelectionDto;
+import org.ks.photoapp.domain.proofing.dto.SelectionChangeDto;
+import org.ks.photoapp.domain.proofing.dto.SelectionDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Service
+public class ProofingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProofingService.class);
+    static final int MAX_ORDINAL = 8192 * 8 - 1;
+
+    private final PhotoSelectionRepository photoSelectionRepository;
+    private final PhotoSessionRepository photoSessionRepository;
+    private final PhotoFileRepository photoFileRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final long evictAfterNanos;
+    private final int batchSize;
+    private final Map<Long, SelectionState> states = new ConcurrentHashMap<>();
+
+    public ProofingService(PhotoSelectionRepository photoSelectionRepository,
+                           PhotoSessionRepository photoSessionRepository,
+                           PhotoFileRepository photoFileRepository,
+                           EntityManager entityManager,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${photoapp.proofing.evict-after:PT30M}") Duration evictAfter,
+                           @Value("${photoapp.proofing.batch-size:50}") int batchSize) {
+        this.photoSelectionRepository = photoSelectionRepository;
+        this.photoSessionRepository = photoSessionRepository;
+        this.photoFileRepository = photoFileRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.evictAfterNanos = evictAfter.toNanos();
+        this.batchSize = batchSize;
+    }
+
+    public SelectionDto getSelection(long sessionId) {
+        return withState(sessionId, state -> new SelectionDto(ordinals(state.selected), ordinals(state.favorites)));
+    }
+
+    public BitSet getSelectedOrdinals(long sessionId) {
+        return withState(sessionId, state -> (BitSet) state.selected.clone());
+    }
+
+    public PhotoSelectionDto change(long sessionId, int ordinal, SelectionChangeDto change) {
+        if (ordinal < 1 || ordinal > MAX_ORDINAL) {
+            throw new IllegalArgumentException("Nieprawidłowy numer zdjęcia");
+        }
+        long photosId = withState(sessionId, state -> ordinal <= state.maxOrdinal ? -1 : state.photosId);
+        if (photosId >= 0) {
+            // the gallery grew since the selection was loaded
+            int maxOrdinal = photoFileRepository.findMaxOrdinal(photosId);
+            if (ordinal > maxOrdinal) {
+                throw new NoSuchElementException("Photo not found");
+            }
+            withState(sessionId, state -> state.maxOrdinal = Math.max(state.maxOrdinal, maxOrdinal));
+        }
+
+        return withState(sessionId, state -> {
+            boolean wasSelected = state.selected.get(ordinal);
+            boolean wasFavorite = state.favorites.get(ordinal);
+            if (change.getSelected() != null) {
+                state.selected.set(ordinal, change.getSelected());
+                if (!change.getSelected()) {
+                    state.favorites.clear(ordinal);
+                }
+            }
+            if (change.getFavorite() != null) {
+                state.favorites.set(ordinal, change.getFavorite());
+                if (change.getFavorite()) {
+                    state.selected.set(ordinal);
+                }
+            }
+            boolean selected = state.selected.get(ordinal);
+            boolean favorite = state.favorites.get(ordinal);
+            state.dirty |= selected != wasSelected || favorite != wasFavorite;
+            return new PhotoSelectionDto(ordinal, selected, favorite, state.selected.cardinality());
+        });
+    }
+
+    public void onSessionDeleted(long sessionId) {
+        AfterCommit.run(() -> discard(sessionId));
+    }
+
+    // unsaved clicks are only dropped once the delete has committed, so a rolled-back delete keeps them
+    private void discard(long sessionId) {
+        SelectionState state = states.remove(sessionId);
+        if (state != null) {
+            synchronized (state) {
+                state.evicted = true;
+                state.dirty = false;
+            }
+        }
+    }
+
+    // clicks only flip bits in memory, dirty sessions are written together with one row per session
+    @Scheduled(fixedDelayString = "${photoapp.proofing.flush-interval:PT2S}")
+    public void flush() {
+        Map<SelectionState, PhotoSelection> rows = new HashMap<>();
+        long now = System.nanoTime();
+        for (SelectionState state : states.values()) {
+            synchronized (state) {
+                if (state.dirty) {
+                    rows.put(state, snapshot(state));
+                    state.dirty = false;
+                } else if (now - state.lastAccess > evictAfterNanos) {
+                    state.evicted = true;
+                    states.remove(state.sessionId, state);
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(rows.values()));
+        } catch (RuntimeException e) {
+            // isolate the failing session so the others still get saved
+            rows.forEach((state, row) -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write(List.of(row)));
+                } catch (RuntimeException rowException) {
+                    log.warn("Cannot save proofing selection of photo session {}", state.sessionId, rowException);
+                    synchronized (state) {
+                        state.dirty = !state.evicted;
+                    }
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void write(Iterable<PhotoSelection> rows) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        List<PhotoSelection> ordered = new ArrayList<>();
+        rows.forEach(ordered::add);
+        // a stable order keeps concurrent flushes from deadlocking on each other's rows
+        ordered.sort(Comparator.comparing(PhotoSelection::getPhotoSessionId));
+
+        Map<Long, PhotoSelection> existing = new HashMap<>();
+        photoSelectionRepository.findAllById(ordered.stream().map(PhotoSelection::getPhotoSessionId).toList())
+                .forEach(row -> existing.put(row.getPhotoSessionId(), row));
+        for (PhotoSelection row : ordered) {
+            PhotoSelection current = existing.get(row.getPhotoSessionId());
+            if (current == null) {
+                entityManager.persist(row);
+            } else {
+                current.setSelected(row.getSelected());
+                current.setFavorites(row.getFavorites());
+                current.setUpdatedAt(row.getUpdatedAt());
+            }
+        }
+    }
+
+    private <T> T withState(long sessionId, Function<SelectionState, T> action) {
+        while (true) {
+            SelectionState state = states.computeIfAbsent(sessionId, this::load);
+            synchronized (state) {
+                if (!state.evicted) {
+                    state.lastAccess = System.nanoTime();
+                    return action.apply(state);
+                }
+            }
+        }
+    }
+
+    private SelectionState load(long sessionId) {
+        long photosId = photoSessionRepository.findPhotosIdById(sessionId)
+                .orElseThrow(() -> new NoSuchElementException("Photo session not found"));
+        return new SelectionState(sessionId, photosId, photoFileRepository.findMaxOrdinal(photosId),
+                photoSelectionRepository.findById(sessionId).orElse(null));
+    }
+
+    private static PhotoSelection snapshot(SelectionState state) {
+        PhotoSelection row = new PhotoSelection();
+        row.setPhotoSessionId(state.sessionId);
+        row.setSelected(state.selected.toByteArray());
+        row.setFavorites(state.favorites.toByteArray());
+        row.setUpdatedAt(LocalDateTime.now());
+        return row;
+    }
+
+    private static List<Integer> ordinals(BitSet bits) {
+        return bits.stream().boxed().toList();
+    }
+}
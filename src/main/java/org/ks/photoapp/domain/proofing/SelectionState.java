@@ -0,0 +1,24 @@
+package org.ks.photoapp.domain.proofing;
+
+import java.util.BitSet;
+
+class SelectionState {
+
+    final long sessionId;
+    final long photosId;
+    final BitSet selected;
+    final BitSet favorites;
+    int maxOrdinal;
+    boolean dirty;
+    boolean evicted;
+    long lastAccess;
+
+    SelectionState(long sessionId, long photosId, int maxOrdinal, PhotoSelection row) {
+        this.sessionId = sessionId;
+        this.photosId = photosId;
+        this.maxOrdinal = maxOrdinal;
+        this.selected = row == null ? new BitSet() : BitSet.valueOf(row.getSelected());
+        this.favorites = row == null ? new BitSet() : BitSet.valueOf(row.getFavorites());
+        this.lastAccess = System.nanoTime();
+    }
+}
@@ -0,0 +1,18 @@
+package org.ks.photoapp.domain.proofing.dto;
+
+import lombok.Data;
+
+@Data
+public class PhotoSelectionDto {
+    Integer ordinal;
+    Boolean selected;
+    Boolean favorite;
+    Integer selectedCount;
+
+    public PhotoSelectionDto(Integer ordinal, Boolean selected, Boolean favorite, Integer selectedCount) {
+        this.ordinal = ordinal;
+        this.selected = selected;
+        this.favorite = favorite;
+        this.selectedCount = selectedCount;
+    }
+}
@@ -0,0 +1,9 @@
+package org.ks.photoapp.domain.proofing.dto;
+
+import lombok.Data;
+
+@Data
+public class SelectionChangeDto {
+    Boolean selected;
+    Boolean favorite;
+}
@@ -0,0 +1,16 @@
+package org.ks.photoapp.domain.proofing.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SelectionDto {
+    List<Integer> selected;
+    List<Integer> favorites;
+
+    public SelectionDto(List<Integer> selected, List<Integer> favorites) {
+        this.selected = selected;
+        this.favorites = favorites;
+    }
+}
@@ -0,0 +1,48 @@
+package org.ks.photoapp.domain.revenue;
+
+import org.ks.photoapp.domain.revenue.dto.RevenueReportDto;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.time.Year;
+
+import static org.ks.photoapp.domain.client.ClientController.NOTIFICATION_ATTRIBUTE;
+
+@Controller
+public class RevenueController {
+
+    private final RevenueService revenueService;
+    private final RevenueReadModel revenueReadModel;
+
+    public RevenueController(RevenueService revenueService, RevenueReadModel revenueReadModel) {
+        this.revenueService = revenueService;
+        this.revenueReadModel = revenueReadModel;
+    }
+
+    @GetMapping("/revenue")
+    public String getRevenue(@RequestParam(required = false) Integer year, Model model) {
+        int shownYear = year == null ? Year.now().getValue() : year;
+        model.addAttribute("report", revenueService.getYearReport(shownYear));
+        model.addAttribute("previousYear", shownYear - 1);
+        model.addAttribute("nextYear", shownYear + 1);
+        return "revenue";
+    }
+
+    @GetMapping("/revenue/report")
+    @ResponseBody
+    public RevenueReportDto getRevenueReport(@RequestParam int year) {
+        return revenueService.getYearReport(year);
+    }
+
+    @PostMapping("/admin/revenue/rebuild")
+    public String rebuild(@RequestParam(required = false) Integer year, RedirectAttributes redirectAttributes) {
+        revenueReadModel.rebuild();
+        redirectAttributes.addFlashAttribute(NOTIFICATION_ATTRIBUTE, "Zestawienie przychodów przeliczone");
+        return year == null ? "redirect:/revenue" : "redirect:/revenue?year=" + year;
+    }
+}
@@ -0,0 +1,24 @@
+package org.ks.photoapp.domain.revenue;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+public record RevenuePeriod(YearMonth month, String sessionType) {
+
+    static final String NO_SESSION_TYPE = "NONE";
+
+    public static RevenuePeriod of(LocalDateTime sessionDate, String sessionType) {
+        if (sessionDate == null) {
+            return null;
+        }
+        return new RevenuePeriod(YearMonth.from(sessionDate), sessionType == null ? NO_SESSION_TYPE : sessionType);
+    }
+
+    LocalDateTime start() {
+        return month.atDay(1).atStartOfDay();
+    }
+
+    LocalDateTime end() {
+        return month.plusMonths(1).atDay(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,72 @@
+package org.ks.photoapp.domain.revenue;
+
+import org.ks.photoapp.domain.revenue.dto.RevenueTotalsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Component
+public class RevenueReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueReadModel.class);
+
+    private static final Comparator<RevenuePeriod> BY_PERIOD = Comparator
+            .comparing(RevenuePeriod::month)
+            .thenComparing(RevenuePeriod::sessionType);
+
+    private final RevenueRollupRepository revenueRollupRepository;
+
+    public RevenueReadModel(RevenueRollupRepository revenueRollupRepository) {
+        this.revenueRollupRepository = revenueRollupRepository;
+    }
+
+    @Transactional
+    public void refresh(RevenuePeriod... periods) {
+        refresh(Arrays.asList(periods));
+    }
+
+    @Transactional
+    public void refresh(Collection<RevenuePeriod> periods) {
+        Set<RevenuePeriod> distinct = new TreeSet<>(BY_PERIOD);
+        periods.stream().filter(Objects::nonNull).forEach(distinct::add);
+        for (RevenuePeriod period : distinct) {
+            int year = period.month().getYear();
+            int month = period.month().getMonthValue();
+            // the period row is locked before it is recomputed, so concurrent edits of one period queue up instead
+            // of both inserting it; rows are taken in a fixed order so two edits spanning two periods cannot deadlock.
+            // The row is only locked once it exists, because locking a missing row takes a gap lock on MySQL and two
+            // such locks deadlock on the inserts that follow them; the insert is only tried for a missing period,
+            // because H2 logs the conflict it ignores as an error
+            if (!revenueRollupRepository.existsPeriod(year, month, period.sessionType())) {
+                revenueRollupRepository.insertEmptyPeriod(year, month, period.sessionType());
+            }
+            RevenueRollup rollup = revenueRollupRepository.lockPeriod(year, month, period.sessionType())
+                    .orElseGet(() -> {
+                        // removed by a rebuild since the check
+                        revenueRollupRepository.insertEmptyPeriod(year, month, period.sessionType());
+                        return revenueRollupRepository.lockPeriod(year, month, period.sessionType()).orElseThrow();
+                    });
+            RevenueTotalsDto totals = revenueRollupRepository.sumPeriod(period.start(), period.end(),
+                    period.sessionType());
+            rollup.setSessionCount(totals.getSessionCount());
+            rollup.setBilled(totals.getBilled());
+            rollup.setPaid(totals.getPaid());
+            rollup.setOutstanding(totals.getOutstanding());
+        }
+    }
+
+    @Transactional
+    public void rebuild() {
+        revenueRollupRepository.deleteAllRollups();
+        revenueRollupRepository.insertAllRollups();
+        log.info("Revenue rollups rebuilt");
+    }
+}
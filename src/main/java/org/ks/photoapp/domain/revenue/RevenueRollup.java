@@ -0,0 +1,24 @@
+package org.ks.photoapp.domain.revenue;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Entity
+@IdClass(RevenueRollupId.class)
+public class RevenueRollup {
+    @Id
+    Integer periodYear;
+    @Id
+    Integer periodMonth;
+    @Id
+    String sessionType;
+    Long sessionCount;
+    BigDecimal billed;
+    BigDecimal paid;
+    BigDecimal outstanding;
+}
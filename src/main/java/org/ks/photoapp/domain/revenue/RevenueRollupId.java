@@ -0,0 +1,12 @@
+package org.ks.photoapp.domain.revenue;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+public class RevenueRollupId implements Serializable {
+    Integer periodYear;
+    Integer periodMonth;
+    String sessionType;
+}
@@ -0,0 +1,76 @@
+package org.ks.photoapp.domain.revenue;
+
+import jakarta.persistence.LockModeType;
+import org.ks.photoapp.domain.revenue.dto.RevenueTotalsDto;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RevenueRollupRepository extends CrudRepository<RevenueRollup, RevenueRollupId> {
+
+    String ROLLUP_TOTALS = """
+            count(ps),
+            sum(coalesce(p.deposit, 0) + coalesce(p.basePayment, 0) + coalesce(p.additionalPayment, 0)),
+            sum(case when p.isDepositPaid = true then coalesce(p.deposit, 0) else 0 end
+                + case when p.isBasePaid = true then coalesce(p.basePayment, 0) else 0 end
+                + case when p.isAdditionalPaid = true then coalesce(p.additionalPayment, 0) else 0 end),
+            sum(case when p.isDepositPaid = true then 0 else coalesce(p.deposit, 0) end
+                + case when p.isBasePaid = true then 0 else coalesce(p.basePayment, 0) end
+                + case when p.isAdditionalPaid = true then 0 else coalesce(p.additionalPayment, 0) end)
+            """;
+
+    // periods whose last session moved away keep a row with no sessions, see RevenueReadModel.refresh
+    @Query("""
+            select r from RevenueRollup r
+            where r.periodYear = :year and r.sessionCount > 0
+            order by r.periodMonth, r.sessionType""")
+    List<RevenueRollup> findReportedByPeriodYear(int year);
+
+    // a plain read, so checking for a missing period takes no gap lock on MySQL
+    @Query("""
+            select count(r) > 0 from RevenueRollup r
+            where r.periodYear = :year and r.periodMonth = :month and r.sessionType = :sessionType""")
+    boolean existsPeriod(int year, int month, String sessionType);
+
+    @Modifying
+    @Query("""
+            insert into RevenueRollup (periodYear, periodMonth, sessionType, sessionCount, billed, paid, outstanding)
+            values (:year, :month, :sessionType, 0, 0, 0, 0)
+            on conflict do nothing""")
+    void insertEmptyPeriod(int year, int month, String sessionType);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select r from RevenueRollup r
+            where r.periodYear = :year and r.periodMonth = :month and r.sessionType = :sessionType""")
+    Optional<RevenueRollup> lockPeriod(int year, int month, String sessionType);
+
+    @Query("select new org.ks.photoapp.domain.revenue.dto.RevenueTotalsDto(" + ROLLUP_TOTALS + """
+            )
+            from PhotoSession ps
+            join ps.payment p
+            where ps.sessionDate >= :from and ps.sessionDate < :to and coalesce(ps.sessionType, 'NONE') = :sessionType""")
+    RevenueTotalsDto sumPeriod(LocalDateTime from, LocalDateTime to, String sessionType);
+
+    @Modifying
+    @Query("delete from RevenueRollup r")
+    void deleteAllRollups();
+
+    @Modifying
+    @Query("""
+            insert into RevenueRollup (periodYear, periodMonth, sessionType, sessionCount, billed, paid, outstanding)
+            select year(ps.sessionDate), month(ps.sessionDate), coalesce(ps.sessionType, 'NONE'),
+            """ + ROLLUP_TOTALS + """
+            from PhotoSession ps
+            join ps.payment p
+            where ps.sessionDate is not null
+            group by year(ps.sessionDate), month(ps.sessionDate), coalesce(ps.sessionType, 'NONE')""")
+    void insertAllRollups();
+}
@@ -0,0 +1,43 @@
+package org.ks.photoapp.domain.revenue;
+
+import org.ks.photoapp.domain.revenue.dto.RevenueReportDto;
+import org.ks.photoapp.domain.revenue.dto.RevenueRowDto;
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class RevenueService {
+
+    static final String TOTAL_LABEL = "Razem";
+
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final SessionTypeCatalog sessionTypeCatalog;
+
+    public RevenueService(RevenueRollupRepository revenueRollupRepository, SessionTypeCatalog sessionTypeCatalog) {
+        this.revenueRollupRepository = revenueRollupRepository;
+        this.sessionTypeCatalog = sessionTypeCatalog;
+    }
+
+    public RevenueReportDto getYearReport(int year) {
+        List<RevenueRowDto> rows = new ArrayList<>();
+        Map<YearMonth, RevenueRowDto> months = new TreeMap<>();
+        RevenueRowDto total = new RevenueRowDto(null, null, TOTAL_LABEL);
+        for (RevenueRollup rollup : revenueRollupRepository.findReportedByPeriodYear(year)) {
+            YearMonth month = YearMonth.of(rollup.getPeriodYear(), rollup.getPeriodMonth());
+            RevenueRowDto row = new RevenueRowDto(month, rollup.getSessionType(),
+                    sessionTypeCatalog.nameOf(rollup.getSessionType()));
+            row.add(rollup.getSessionCount(), rollup.getBilled(), rollup.getPaid(), rollup.getOutstanding());
+            rows.add(row);
+            months.computeIfAbsent(month, key -> new RevenueRowDto(key, null, TOTAL_LABEL))
+                    .add(rollup.getSessionCount(), rollup.getBilled(), rollup.getPaid(), rollup.getOutstanding());
+            total.add(rollup.getSessionCount(), rollup.getBilled(), rollup.getPaid(), rollup.getOutstanding());
+        }
+        return new RevenueReportDto(year, rows, List.copyOf(months.values()), total);
+    }
+}
@@ -0,0 +1,20 @@
+package org.ks.photoapp.domain.revenue.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RevenueReportDto {
+    int year;
+    List<RevenueRowDto> rows;
+    List<RevenueRowDto> months;
+    RevenueRowDto total;
+
+    public RevenueReportDto(int year, List<RevenueRowDto> rows, List<RevenueRowDto> months, RevenueRowDto total) {
+        this.year = year;
+        this.rows = rows;
+        this.months = months;
+        this.total = total;
+    }
+}
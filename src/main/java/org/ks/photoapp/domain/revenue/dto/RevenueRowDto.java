@@ -0,0 +1,30 @@
+package org.ks.photoapp.domain.revenue.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+public class RevenueRowDto {
+    YearMonth month;
+    String sessionType;
+    String sessionTypeName;
+    long sessionCount;
+    BigDecimal billed = BigDecimal.ZERO;
+    BigDecimal paid = BigDecimal.ZERO;
+    BigDecimal outstanding = BigDecimal.ZERO;
+
+    public RevenueRowDto(YearMonth month, String sessionType, String sessionTypeName) {
+        this.month = month;
+        this.sessionType = sessionType;
+        this.sessionTypeName = sessionTypeName;
+    }
+
+    public void add(long sessionCount, BigDecimal billed, BigDecimal paid, BigDecimal outstanding) {
+        this.sessionCount += sessionCount;
+        this.billed = this.billed.add(billed);
+        this.paid = this.paid.add(paid);
+        this.outstanding = this.outstanding.add(outstanding);
+    }
+}
@@ -0,0 +1,20 @@
+package org.ks.photoapp.domain.revenue.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class RevenueTotalsDto {
+    long sessionCount;
+    BigDecimal billed;
+    BigDecimal paid;
+    BigDecimal outstanding;
+
+    public RevenueTotalsDto(long sessionCount, BigDecimal billed, BigDecimal paid, BigDecimal outstanding) {
+        this.sessionCount = sessionCount;
+        this.billed = billed == null ? BigDecimal.ZERO : billed;
+        this.paid = paid == null ? BigDecimal.ZERO : paid;
+        this.outstanding = outstanding == null ? BigDecimal.ZERO : outstanding;
+    }
+}
@@ -0,0 +1,94 @@
+package org.ks.photoapp.domain.sessionType;
+
+import jakarta.annotation.PostConstruct;
+import org.ks.photoapp.domain.sessionType.dto.SessionTypeDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class SessionTypeCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionTypeCatalog.class);
+
+    private final SessionTypeDefinitionRepository sessionTypeDefinitionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(List.of(), Map.of());
+
+    public SessionTypeCatalog(SessionTypeDefinitionRepository sessionTypeDefinitionRepository,
+                              ApplicationEventPublisher eventPublisher) {
+        this.sessionTypeDefinitionRepository = sessionTypeDefinitionRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    @Scheduled(initialDelayString = "${photoapp.session-types.refresh-interval:PT5M}",
+            fixedDelayString = "${photoapp.session-types.refresh-interval:PT5M}")
+    public int reload() {
+        reloadLock.lock();
+        try {
+            Map<String, SessionTypeDto> byCode = new LinkedHashMap<>();
+            for (SessionTypeDefinition definition : sessionTypeDefinitionRepository.findAllByOrderByIdAsc()) {
+                byCode.put(definition.getCode(), new SessionTypeDto(definition.getCode(), definition.getName(),
+                        valueOrZero(definition.getDuration()), valueOrZero(definition.getPrice())));
+            }
+            Snapshot loaded = new Snapshot(List.copyOf(byCode.values()), Map.copyOf(byCode));
+            if (!loaded.all().equals(snapshot.all())) {
+                snapshot = loaded;
+                log.info("Session type catalog loaded with {} types", loaded.all().size());
+                eventPublisher.publishEvent(new SessionTypesChangedEvent());
+            }
+            return loaded.all().size();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    public List<SessionTypeDto> getAll() {
+        return snapshot.all();
+    }
+
+    public Optional<SessionTypeDto> find(String code) {
+        return code == null ? Optional.empty() : Optional.ofNullable(snapshot.byCode().get(code));
+    }
+
+    public boolean exists(String code) {
+        return find(code).isPresent();
+    }
+
+    public String nameOf(String code) {
+        return find(code).map(SessionTypeDto::getName).orElse(code);
+    }
+
+    public Optional<SessionTypeDto> resolve(String codeOrName) {
+        for (SessionTypeDto sessionType : snapshot.all()) {
+            if (sessionType.getCode().equalsIgnoreCase(codeOrName) || sessionType.getName().equalsIgnoreCase(codeOrName)) {
+                return Optional.of(sessionType);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static int valueOrZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private record Snapshot(List<SessionTypeDto> all, Map<String, SessionTypeDto> byCode) {
+    }
+
+    public record SessionTypesChangedEvent() {
+    }
+}
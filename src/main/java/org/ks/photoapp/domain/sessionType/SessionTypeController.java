@@ -0,0 +1,29 @@
+package org.ks.photoapp.domain.sessionType;
+
+import org.ks.photoapp.domain.sessionType.dto.SessionTypeDto;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class SessionTypeController {
+
+    private final SessionTypeCatalog sessionTypeCatalog;
+
+    public SessionTypeController(SessionTypeCatalog sessionTypeCatalog) {
+        this.sessionTypeCatalog = sessionTypeCatalog;
+    }
+
+    @GetMapping("/session-types")
+    public List<SessionTypeDto> getAll() {
+        return sessionTypeCatalog.getAll();
+    }
+
+    @PostMapping("/admin/session-types/reload")
+    public List<SessionTypeDto> reload() {
+        sessionTypeCatalog.reload();
+        return sessionTypeCatalog.getAll();
+    }
+}
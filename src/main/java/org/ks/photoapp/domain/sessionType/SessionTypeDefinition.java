@@ -0,0 +1,18 @@
+package org.ks.photoapp.domain.sessionType;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "session_type")
+public class SessionTypeDefinition {
+    @Id
+    Integer id;
+    String code;
+    String name;
+    Integer duration;
+    Integer price;
+}
@@ -0,0 +1,12 @@
+package org.ks.photoapp.domain.sessionType;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SessionTypeDefinitionRepository extends CrudRepository<SessionTypeDefinition, Integer> {
+
+    List<SessionTypeDefinition> findAllByOrderByIdAsc();
+}
@@ -0,0 +1,11 @@
+package org.ks.photoapp.domain.sessionType.dto;
+
+import lombok.Value;
+
+@Value
+public class SessionTypeDto {
+    String code;
+    String name;
+    int duration;
+    int price;
+}
@@ -0,0 +1,73 @@
+package org.ks.photoapp.domain.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@Component
+public class ContentResponseWriter {
+
+    static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ContentStore contentStore;
+
+    public ContentResponseWriter(ContentStore contentStore) {
+        this.contentStore = contentStore;
+    }
+
+    public void write(String hash, String contentType, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path path = contentStore.pathOf(hash);
+        long size;
+        try {
+            size = Files.size(path);
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+        RangedResponses.ByteSpan span = RangedResponses.prepare(request, response, "\"" + hash + "\"", size, contentType);
+        if (span == null) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // the connector streams the file with sendfile after the handler returns, off the request thread
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, span.start());
+            request.setAttribute(SENDFILE_END, span.end() + 1);
+            return;
+        }
+        transfer(path, span.start(), span.end() + 1 - span.start(), Channels.newChannel(response.getOutputStream()));
+    }
+
+    public static void transfer(Path path, long position, long count, WritableByteChannel out) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long end = position + count;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, out);
+                if (transferred == 0 && position >= channel.size()) {
+                    throw new EOFException("Stored file is shorter than expected: " + path);
+                }
+                position += transferred;
+            }
+        }
+    }
+}
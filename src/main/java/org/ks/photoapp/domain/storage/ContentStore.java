@@ -0,0 +1,128 @@
+package org.ks.photoapp.domain.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+@Component
+public class ContentStore {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path incoming;
+
+    public ContentStore(@Value("${photoapp.storage.root:data/photos}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.incoming = this.root.resolve("incoming");
+        try {
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create photo storage in " + this.root, e);
+        }
+    }
+
+    public StoredContent store(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            CRC32 crc = new CRC32();
+            long size;
+            try (InputStream in = new CheckedInputStream(new DigestInputStream(content, digest), crc)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            moveIntoPlace(temp, hash);
+            return new StoredContent(hash, size, crc.getValue());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public StoredContent store(Path source) throws IOException {
+        try (InputStream in = Files.newInputStream(source)) {
+            return store(in);
+        }
+    }
+
+    public StoredContent hash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        CRC32 crc = new CRC32();
+        long size = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.rewind();
+                crc.update(buffer);
+                buffer.clear();
+                size += read;
+            }
+        }
+        return new StoredContent(HexFormat.of().formatHex(digest.digest()), size, crc.getValue());
+    }
+
+    public void adopt(Path file, String hash) throws IOException {
+        moveIntoPlace(file, hash);
+        Files.deleteIfExists(file);
+    }
+
+    public Path incomingPath(String name) {
+        Path path = incoming.resolve(name).normalize();
+        if (!path.getParent().equals(incoming)) {
+            throw new IllegalArgumentException("Invalid incoming file name: " + name);
+        }
+        return path;
+    }
+
+    public boolean contains(String hash) {
+        return Files.exists(pathOf(hash));
+    }
+
+    public Path pathOf(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid content hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private void moveIntoPlace(Path temp, String hash) throws IOException {
+        Path target = pathOf(hash);
+        if (Files.exists(target)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // the same content was stored concurrently, the existing copy is identical
+        }
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package org.ks.photoapp.domain.storage;
+
+public record StoredContent(String hash, long size, long crc32) {
+}
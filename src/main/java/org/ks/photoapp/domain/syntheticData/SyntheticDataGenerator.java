@@ -0,0 +1,335 @@
+package org.ks.photoapp.domain.syntheticData;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.ks.photoapp.domain.availability.AvailabilityService;
+import org.ks.photoapp.domain.client.Client;
+import org.ks.photoapp.domain.client.ClientRepository;
+import org.ks.photoapp.domain.client.CurrentClientReadModel;
+import org.ks.photoapp.domain.payment.Payment;
+import org.ks.photoapp.domain.photoSession.PhotoSession;
+import org.ks.photoapp.domain.photos.Photos;
+import org.ks.photoapp.domain.revenue.RevenueReadModel;
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog;
+import org.ks.photoapp.domain.sessionType.dto.SessionTypeDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// fills the database for scale tests; runs before ApplicationReadyEvent, so the in-memory indexes load the result
+@Component
+@Profile("scale-test")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[] FIRST_NAMES = {"Anna", "Maria", "Katarzyna", "Małgorzata", "Agnieszka",
+            "Barbara", "Ewa", "Krystyna", "Magdalena", "Joanna", "Aleksandra", "Zofia", "Monika", "Natalia",
+            "Piotr", "Krzysztof", "Andrzej", "Tomasz", "Paweł", "Michał", "Marcin", "Jakub", "Adam", "Łukasz"};
+    private static final String[] LAST_NAMES = {"Nowak", "Kowalska", "Wiśniewska", "Wójcik", "Kowalczyk",
+            "Kamińska", "Lewandowski", "Zielińska", "Szymański", "Woźniak", "Dąbrowska", "Kozłowski", "Jankowska",
+            "Mazur", "Kwiatkowski", "Krawczyk", "Piotrowska", "Grabowski", "Nowakowska", "Pawłowski", "Michalska",
+            "Król", "Wieczorek", "Jabłoński", "Wróbel", "Majewska", "Olszewski", "Stępień", "Malinowska", "Jaworski"};
+    // relative number of sessions per month, January first: busy from spring to early autumn and before Christmas
+    private static final int[] MONTH_WEIGHTS = {3, 3, 4, 6, 9, 10, 9, 9, 10, 7, 6, 8};
+    private static final int MAX_SESSIONS_PER_CLIENT = 40;
+    private static final String EMAIL_DOMAIN = "@example.pl";
+    private static final int SLOT_MINUTES = 15;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ClientRepository clientRepository;
+    private final CurrentClientReadModel currentClientReadModel;
+    private final RevenueReadModel revenueReadModel;
+    private final SessionTypeCatalog sessionTypeCatalog;
+    private final AvailabilityService availabilityService;
+    private final LocalTime dayStart;
+    private final LocalTime dayEnd;
+    private final int clients;
+    private final double sessionsPerClient;
+    private final int years;
+    private final long seed;
+    private final String today;
+    private final int chunkSize;
+    private final int batchSize;
+
+    public SyntheticDataGenerator(EntityManager entityManager,
+                                  TransactionTemplate transactionTemplate,
+                                  ClientRepository clientRepository,
+                                  CurrentClientReadModel currentClientReadModel,
+                                  RevenueReadModel revenueReadModel,
+                                  SessionTypeCatalog sessionTypeCatalog,
+                                  AvailabilityService availabilityService,
+                                  @Value("${photoapp.availability.day-start:08:00}") String dayStart,
+                                  @Value("${photoapp.availability.day-end:20:00}") String dayEnd,
+                                  @Value("${photoapp.synthetic-data.clients:100000}") int clients,
+                                  @Value("${photoapp.synthetic-data.sessions-per-client:4}") double sessionsPerClient,
+                                  @Value("${photoapp.synthetic-data.years:5}") int years,
+                                  @Value("${photoapp.synthetic-data.seed:42}") long seed,
+                                  @Value("${photoapp.synthetic-data.today:}") String today,
+                                  @Value("${photoapp.synthetic-data.chunk-size:1000}") int chunkSize,
+                                  @Value("${photoapp.synthetic-data.batch-size:100}") int batchSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.clientRepository = clientRepository;
+        this.currentClientReadModel = currentClientReadModel;
+        this.revenueReadModel = revenueReadModel;
+        this.sessionTypeCatalog = sessionTypeCatalog;
+        this.availabilityService = availabilityService;
+        this.dayStart = LocalTime.parse(dayStart);
+        this.dayEnd = LocalTime.parse(dayEnd);
+        this.clients = clients;
+        this.sessionsPerClient = sessionsPerClient;
+        this.years = years;
+        this.seed = seed;
+        this.today = today;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long existing = clientRepository.countByEmailEndingWith(EMAIL_DOMAIN);
+        if (existing >= clients) {
+            log.info("Database already holds {} synthetic clients, skipping synthetic data", existing);
+            return;
+        }
+        List<SessionTypeDto> sessionTypes = sessionTypeCatalog.getAll();
+        if (sessionTypes.isEmpty()) {
+            throw new IllegalStateException("Session type catalog is empty");
+        }
+
+        log.info("Generating {} clients with about {} sessions each, seed {}", clients, sessionsPerClient, seed);
+        long started = System.nanoTime();
+        // one generator for the whole run, so the data depends on the seed and not on the chunk size
+        Random random = new Random(seed);
+        // dates are spread around 'today', pin it to get the same rows on another day
+        LocalDate today = this.today.isBlank() ? LocalDate.now() : LocalDate.parse(this.today);
+        Schedule schedule = schedule(today, sessionTypes);
+        int first = resumeAfter((int) existing, random, today, schedule, sessionTypes);
+        long sessions = 0;
+        for (int from = first; from < clients; from += chunkSize) {
+            int to = Math.min(clients, from + chunkSize);
+            List<Client> chunk = new ArrayList<>(to - from);
+            for (int number = from; number < to; number++) {
+                chunk.add(client(random, number, today, schedule, sessionTypes));
+                sessions += chunk.get(chunk.size() - 1).getPhotoSessions().size();
+            }
+            transactionTemplate.executeWithoutResult(status -> persist(chunk));
+            if (to % (chunkSize * 50) == 0) {
+                log.info("Generated {} clients and {} sessions", to, sessions);
+            }
+        }
+        revenueReadModel.rebuild();
+        log.info("Generated {} clients and {} sessions in {} s", clients - first, sessions,
+                (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    // chunks commit one by one, so an interrupted run leaves clients 0 to existing - 1; they are drawn again
+    // and dropped to bring the generator to where it stopped, and the last of them must match the stored one
+    private int resumeAfter(int existing, Random random, LocalDate today, Schedule schedule,
+                            List<SessionTypeDto> sessionTypes) {
+        if (existing == 0) {
+            return 0;
+        }
+        Client last = null;
+        for (int number = 0; number < existing; number++) {
+            last = client(random, number, today, schedule, sessionTypes);
+        }
+        if (clientRepository.findByEmailIn(List.of(last.getEmail())).isEmpty()) {
+            throw new IllegalStateException("Database holds " + existing + " synthetic clients that were not "
+                    + "generated with these settings, delete data/scale-test* to generate again");
+        }
+        log.info("Resuming after {} synthetic clients", existing);
+        return existing;
+    }
+
+    private void persist(List<Client> chunk) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        List<Long> clientIds = new ArrayList<>(chunk.size());
+        for (Client client : chunk) {
+            entityManager.persist(client);
+            for (PhotoSession photoSession : client.getPhotoSessions()) {
+                entityManager.persist(photoSession.getPayment());
+                entityManager.persist(photoSession.getPhotos());
+                entityManager.persist(photoSession);
+            }
+            clientIds.add(client.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        currentClientReadModel.refresh(clientIds);
+    }
+
+    // sessions are booked on one calendar like a single photographer's: never overlapping and all inside the
+    // availability window. A day holds only a handful, so a large data set reaches further back than 'years'
+    // rather than piling bookings onto the same days; half of the calendar is left free
+    private Schedule schedule(LocalDate today, List<SessionTypeDto> sessionTypes) {
+        int slotsPerDay = (int) (Duration.between(dayStart, dayEnd).toMinutes() / SLOT_MINUTES);
+        int longest = 1;
+        for (SessionTypeDto sessionType : sessionTypes) {
+            longest = Math.max(longest, slotsOf(sessionType));
+        }
+        if (longest > slotsPerDay) {
+            throw new IllegalStateException("Session type longer than the availability window");
+        }
+        int sessionsPerDay = slotsPerDay / longest;
+        int pastMonths = (int) Math.max(years * 12L, Math.ceil(2 * clients * sessionsPerClient / sessionsPerDay / 30));
+        if (pastMonths > years * 12) {
+            log.info("Spreading sessions over {} months so that no day is overbooked", pastMonths);
+        }
+        return new Schedule(Season.of(today, pastMonths), dayStart, slotsPerDay);
+    }
+
+    private int slotsOf(SessionTypeDto sessionType) {
+        long minutes = availabilityService.durationOf(sessionType.getCode()).toMinutes();
+        return (int) Math.max(1, (minutes + SLOT_MINUTES - 1) / SLOT_MINUTES);
+    }
+
+    private Client client(Random random, int number, LocalDate today, Schedule schedule,
+                          List<SessionTypeDto> sessionTypes) {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        Client client = new Client();
+        client.setFirstName(firstName);
+        client.setLastName(lastName);
+        client.setEmail(ascii(firstName) + "." + ascii(lastName) + "." + number + EMAIL_DOMAIN);
+        // phone numbers are unique, the multiplier shares no factor with the range so every number maps to its own
+        client.setPhoneNumber(500_000_000L + number * 104_729L % 300_000_000L);
+
+        // most clients come once or twice, a few families come back every year
+        int count = Math.min(MAX_SESSIONS_PER_CLIENT,
+                1 + (int) Math.round(-Math.log(1 - random.nextDouble()) * (sessionsPerClient - 1)));
+        for (int i = 0; i < count; i++) {
+            client.getPhotoSessions().add(session(random, client, today, schedule, sessionTypes));
+        }
+        return client;
+    }
+
+    private PhotoSession session(Random random, Client client, LocalDate today, Schedule schedule,
+                                 List<SessionTypeDto> sessionTypes) {
+        SessionTypeDto sessionType = sessionTypes.get(random.nextInt(sessionTypes.size()));
+        LocalDateTime sessionDate = schedule.book(random, slotsOf(sessionType));
+        boolean past = sessionDate.toLocalDate().isBefore(today);
+        // older sessions are closed; the last few months still wait for photo choices and payments
+        boolean finished = past && (sessionDate.toLocalDate().isBefore(today.minusMonths(3)) || random.nextInt(3) > 0)
+                && random.nextInt(50) > 0;
+
+        BigDecimal base = BigDecimal.valueOf(Math.max(sessionType.getPrice(), 100));
+        Payment payment = new Payment();
+        payment.setBasePayment(base);
+        payment.setDeposit(base.divide(BigDecimal.valueOf(5)).setScale(0, RoundingMode.HALF_UP));
+        boolean additional = past && random.nextInt(10) < 3;
+        payment.setAdditionalPayment(additional ? BigDecimal.valueOf(50L * (1 + random.nextInt(8))) : BigDecimal.ZERO);
+        payment.setIsDepositPaid(finished || past || random.nextInt(10) < 7);
+        payment.setIsBasePaid(finished || past && random.nextInt(10) < 6);
+        payment.setIsAdditionalPaid(additional && (finished || random.nextBoolean()));
+
+        Photos photos = new Photos();
+        photos.setSentToClientForChoose(finished || past && random.nextInt(10) < 8);
+        photos.setChosenByClient(finished || photos.getSentToClientForChoose() && random.nextBoolean());
+        photos.setAdditionalChosenByClient(additional);
+
+        PhotoSession photoSession = new PhotoSession();
+        photoSession.setClient(client);
+        photoSession.setSessionDate(sessionDate);
+        photoSession.setSessionType(sessionType.getCode());
+        photoSession.setPayment(payment);
+        photoSession.setPhotos(photos);
+        photoSession.setIsContractFinished(finished);
+        return photoSession;
+    }
+
+    private static String ascii(String name) {
+        return Normalizer.normalize(name.replace("ł", "l").replace("Ł", "L"), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase();
+    }
+
+    private record Season(LocalDate firstMonth, int[] weights, int total) {
+
+        // bookings reach three months ahead
+        static Season of(LocalDate today, int pastMonths) {
+            LocalDate firstMonth = today.withDayOfMonth(1).minusMonths(pastMonths);
+            int[] weights = new int[pastMonths + 3];
+            int total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = MONTH_WEIGHTS[firstMonth.plusMonths(i).getMonthValue() - 1];
+                total += weights[i];
+            }
+            return new Season(firstMonth, weights, total);
+        }
+
+        LocalDate pick(Random random) {
+            int pick = random.nextInt(total);
+            int month = 0;
+            while (pick >= weights[month]) {
+                pick -= weights[month++];
+            }
+            LocalDate date = firstMonth.plusMonths(month);
+            return date.withDayOfMonth(1 + random.nextInt(date.lengthOfMonth()));
+        }
+    }
+
+    // booked quarter hours of every day; the state is rebuilt when a resumed run draws the stored clients again
+    private static final class Schedule {
+
+        private final Season season;
+        private final LocalTime dayStart;
+        private final int slotsPerDay;
+        private final Map<LocalDate, BitSet> booked = new HashMap<>();
+
+        Schedule(Season season, LocalTime dayStart, int slotsPerDay) {
+            this.season = season;
+            this.dayStart = dayStart;
+            this.slotsPerDay = slotsPerDay;
+        }
+
+        // a full day passes the booking on to the next one, as a client would take the next free date
+        LocalDateTime book(Random random, int length) {
+            LocalDate day = season.pick(random);
+            int preferred = random.nextInt(slotsPerDay - length + 1);
+            while (true) {
+                BitSet slots = booked.computeIfAbsent(day, key -> new BitSet(slotsPerDay));
+                int start = freeRun(slots, preferred, length);
+                if (start >= 0) {
+                    slots.set(start, start + length);
+                    return LocalDateTime.of(day, dayStart.plusMinutes((long) start * SLOT_MINUTES));
+                }
+                day = day.plusDays(1);
+            }
+        }
+
+        // the first start from 'preferred' on, wrapping around the day, with 'length' free slots after it
+        private int freeRun(BitSet slots, int preferred, int length) {
+            int starts = slotsPerDay - length + 1;
+            for (int i = 0; i < starts; i++) {
+                int start = (preferred + i) % starts;
+                int next = slots.nextSetBit(start);
+                if (next < 0 || next >= start + length) {
+                    return start;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.ks.photoapp.domain.timeline;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.ks.photoapp.domain.photoSession.PhotoSession;
+
+@Data
+@Entity
+public class CameraClockOffset {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "camera_clock_offset_seq")
+    @SequenceGenerator(name = "camera_clock_offset_seq", sequenceName = "camera_clock_offset_seq", allocationSize = 50)
+    Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "photo_session_id")
+    PhotoSession photoSession;
+    String camera;
+    Long offsetSeconds;
+}
@@ -0,0 +1,16 @@
+package org.ks.photoapp.domain.timeline;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CameraClockOffsetRepository extends CrudRepository<CameraClockOffset, Long> {
+
+    @Query("select o from CameraClockOffset o where o.photoSession.id = :sessionId")
+    List<CameraClockOffset> findBySessionId(long sessionId);
+
+    @Query("select o from CameraClockOffset o where o.photoSession.id = :sessionId and o.camera = :camera")
+    Optional<CameraClockOffset> findBySessionIdAndCamera(long sessionId, String camera);
+}
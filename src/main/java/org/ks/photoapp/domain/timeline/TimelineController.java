@@ -0,0 +1,94 @@
+package org.ks.photoapp.domain.timeline;
+
+import org.ks.photoapp.domain.timeline.dto.CameraDto;
+import org.ks.photoapp.domain.timeline.dto.TimelinePage;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+import static org.ks.photoapp.domain.client.ClientController.NOTIFICATION_ATTRIBUTE;
+
+@Controller
+public class TimelineController {
+
+    private final TimelineService timelineService;
+
+    public TimelineController(TimelineService timelineService) {
+        this.timelineService = timelineService;
+    }
+
+    @GetMapping("/photosession/{id}/timeline")
+    public String getTimeline(@PathVariable long id,
+                              @RequestParam(required = false) String after,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                              @RequestParam(defaultValue = "60") int size,
+                              Model model) {
+        TimelinePage page = handle(() -> timelineService.getPage(id, cursorOf(after, from), to, size));
+        model.addAttribute("sessionId", id);
+        model.addAttribute("cameras", timelineService.getCameras(id));
+        model.addAttribute("photoFiles", page.getPhotoFiles());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("from", from);
+        model.addAttribute("to", to);
+        model.addAttribute("size", size);
+        return "timeline";
+    }
+
+    @GetMapping("/photosession/{id}/timeline-entries")
+    @ResponseBody
+    public TimelinePage getTimelineEntries(@PathVariable long id,
+                                           @RequestParam(required = false) String after,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                           @RequestParam(defaultValue = "60") int size) {
+        return handle(() -> timelineService.getPage(id, cursorOf(after, from), to, size));
+    }
+
+    @GetMapping("/photosession/{id}/cameras")
+    @ResponseBody
+    public List<CameraDto> getCameras(@PathVariable long id) {
+        return handle(() -> timelineService.getCameras(id));
+    }
+
+    @PostMapping("/photosession/{id}/cameras/offset")
+    public String setClockOffset(@PathVariable long id, @RequestParam String camera,
+                                 @RequestParam long offsetSeconds, RedirectAttributes redirectAttributes) {
+        handle(() -> {
+            timelineService.setClockOffset(id, camera, offsetSeconds);
+            return null;
+        });
+        redirectAttributes.addFlashAttribute(NOTIFICATION_ATTRIBUTE, "Przesunięcie zegara zapisane");
+        return "redirect:/photosession/" + id + "/timeline";
+    }
+
+    private static TimelineCursor cursorOf(String after, LocalDateTime from) {
+        if (after != null && !after.isBlank()) {
+            return TimelineCursor.parse(after);
+        }
+        return from == null ? null : TimelineCursor.startingAt(from);
+    }
+
+    private static <T> T handle(Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
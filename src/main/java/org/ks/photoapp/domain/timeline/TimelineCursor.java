@@ -0,0 +1,32 @@
+package org.ks.photoapp.domain.timeline;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+public record TimelineCursor(LocalDateTime takenAt, Long id) {
+
+    private static final String SEPARATOR = "_";
+
+    public static TimelineCursor parse(String cursor) {
+        int separatorIndex = cursor.lastIndexOf(SEPARATOR);
+        if (separatorIndex <= 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new TimelineCursor(
+                    LocalDateTime.parse(cursor.substring(0, separatorIndex)),
+                    Long.parseLong(cursor.substring(separatorIndex + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public static TimelineCursor startingAt(LocalDateTime takenAt) {
+        return new TimelineCursor(takenAt, 0L);
+    }
+
+    @Override
+    public String toString() {
+        return takenAt + SEPARATOR + id;
+    }
+}
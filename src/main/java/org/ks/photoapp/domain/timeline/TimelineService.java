@@ -0,0 +1,138 @@
+package org.ks.photoapp.domain.timeline;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.ks.photoapp.domain.photoSession.PhotoSession;
+import org.ks.photoapp.domain.photoSession.PhotoSessionRepository;
+import org.ks.photoapp.domain.photos.PhotoFileRepository;
+import org.ks.photoapp.domain.photos.PhotoFileService;
+import org.ks.photoapp.domain.timeline.dto.CameraDto;
+import org.ks.photoapp.domain.timeline.dto.TimelineEntryDto;
+import org.ks.photoapp.domain.timeline.dto.TimelinePage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@Service
+public class TimelineService {
+
+    static final int MAX_PAGE_SIZE = 200;
+    static final Duration MAX_CLOCK_OFFSET = Duration.ofDays(366);
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private final PhotoSessionRepository photoSessionRepository;
+    private final PhotoFileRepository photoFileRepository;
+    private final CameraClockOffsetRepository cameraClockOffsetRepository;
+    private final PhotoFileService photoFileService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public TimelineService(PhotoSessionRepository photoSessionRepository,
+                           PhotoFileRepository photoFileRepository,
+                           CameraClockOffsetRepository cameraClockOffsetRepository,
+                           PhotoFileService photoFileService,
+                           EntityManager entityManager,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${photoapp.timeline.batch-size:50}") int batchSize) {
+        this.photoSessionRepository = photoSessionRepository;
+        this.photoFileRepository = photoFileRepository;
+        this.cameraClockOffsetRepository = cameraClockOffsetRepository;
+        this.photoFileService = photoFileService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public TimelinePage getPage(long sessionId, TimelineCursor after, LocalDateTime to, int size) {
+        long photosId = photosIdOf(sessionId);
+        readMissingExif(photosId);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TimelineCursor cursor = after == null ? TimelineCursor.startingAt(EARLIEST) : after;
+        Map<String, Long> offsets = offsetsOf(sessionId);
+
+        // camera clocks are corrected at read time: each camera is an index range scan on its own raw
+        // capture times shifted by its offset, and the per-camera runs are merged here
+        List<TimelineEntryDto> rows = new ArrayList<>();
+        for (CameraDto camera : photoFileRepository.findCamerasByPhotosId(photosId)) {
+            long offset = offsets.getOrDefault(camera.getCamera(), 0L);
+            List<TimelineEntryDto> cameraRows = photoFileRepository.findTimelineAfter(photosId, camera.getCamera(),
+                    cursor.takenAt().minusSeconds(offset), cursor.id(),
+                    (to == null ? LATEST : to).minusSeconds(offset), Limit.of(pageSize + 1));
+            cameraRows.forEach(row -> row.setTakenAt(row.getCapturedAt().plusSeconds(offset)));
+            rows.addAll(cameraRows);
+        }
+        rows.sort(Comparator.comparing(TimelineEntryDto::getTakenAt).thenComparing(TimelineEntryDto::getId));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TimelineEntryDto> page = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        String nextCursor = null;
+        if (hasMore) {
+            TimelineEntryDto last = page.get(page.size() - 1);
+            nextCursor = new TimelineCursor(last.getTakenAt(), last.getId()).toString();
+        }
+        return new TimelinePage(page, nextCursor);
+    }
+
+    public List<CameraDto> getCameras(long sessionId) {
+        long photosId = photosIdOf(sessionId);
+        readMissingExif(photosId);
+        Map<String, Long> offsets = offsetsOf(sessionId);
+        List<CameraDto> cameras = photoFileRepository.findCamerasByPhotosId(photosId);
+        cameras.forEach(camera -> camera.setOffsetSeconds(offsets.getOrDefault(camera.getCamera(), 0L)));
+        return cameras;
+    }
+
+    public void setClockOffset(long sessionId, String camera, long offsetSeconds) {
+        photosIdOf(sessionId);
+        if (camera == null) {
+            throw new IllegalArgumentException("Nie wybrano aparatu");
+        }
+        if (Math.abs(offsetSeconds) > MAX_CLOCK_OFFSET.toSeconds()) {
+            throw new IllegalArgumentException("Przesunięcie zegara może wynosić najwyżej rok");
+        }
+        // one row per camera, the photos themselves keep the time their camera recorded
+        transactionTemplate.executeWithoutResult(status -> {
+            CameraClockOffset clockOffset = cameraClockOffsetRepository.findBySessionIdAndCamera(sessionId, camera)
+                    .orElseGet(() -> {
+                        CameraClockOffset created = new CameraClockOffset();
+                        created.setPhotoSession(entityManager.getReference(PhotoSession.class, sessionId));
+                        created.setCamera(camera);
+                        return created;
+                    });
+            clockOffset.setOffsetSeconds(offsetSeconds);
+            cameraClockOffsetRepository.save(clockOffset);
+        });
+    }
+
+    private void readMissingExif(long photosId) {
+        // photos stored before capture times were recorded are read once, header only
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            photoFileRepository.findWithoutExif(photosId).forEach(photoFileService::readExif);
+        });
+    }
+
+    private Map<String, Long> offsetsOf(long sessionId) {
+        Map<String, Long> offsets = new HashMap<>();
+        cameraClockOffsetRepository.findBySessionId(sessionId)
+                .forEach(offset -> offsets.put(offset.getCamera(), offset.getOffsetSeconds()));
+        return offsets;
+    }
+
+    private long photosIdOf(long sessionId) {
+        return photoSessionRepository.findPhotosIdById(sessionId)
+                .orElseThrow(() -> new NoSuchElementException("Photo session not found"));
+    }
+}
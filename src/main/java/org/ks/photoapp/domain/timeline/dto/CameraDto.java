@@ -0,0 +1,22 @@
+package org.ks.photoapp.domain.timeline.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class CameraDto {
+    String camera;
+    Long photoCount;
+    LocalDateTime firstCapturedAt;
+    LocalDateTime lastCapturedAt;
+    Long offsetSeconds;
+
+    public CameraDto(String camera, Long photoCount, LocalDateTime firstCapturedAt, LocalDateTime lastCapturedAt) {
+        this.camera = camera;
+        this.photoCount = photoCount;
+        this.firstCapturedAt = firstCapturedAt;
+        this.lastCapturedAt = lastCapturedAt;
+        this.offsetSeconds = 0L;
+    }
+}
@@ -0,0 +1,37 @@
+package org.ks.photoapp.domain.timeline.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class TimelineEntryDto {
+    Long id;
+    Integer ordinal;
+    String fileName;
+    String previewHash;
+    String camera;
+    Integer orientation;
+    LocalDateTime capturedAt;
+    LocalDateTime takenAt;
+
+    public TimelineEntryDto(Long id, Integer ordinal, String fileName, String previewHash, String camera,
+                            Integer orientation, LocalDateTime capturedAt) {
+        this.id = id;
+        this.ordinal = ordinal;
+        this.fileName = fileName;
+        this.previewHash = previewHash;
+        this.camera = camera;
+        this.orientation = orientation;
+        this.capturedAt = capturedAt;
+        this.takenAt = capturedAt;
+    }
+
+    public String getOriginalUrl() {
+        return "/photo-files/" + id + "/original";
+    }
+
+    public String getPreviewUrl() {
+        return previewHash == null ? null : "/photo-files/" + id + "/preview";
+    }
+}
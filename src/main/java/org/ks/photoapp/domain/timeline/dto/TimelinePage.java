@@ -0,0 +1,16 @@
+package org.ks.photoapp.domain.timeline.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TimelinePage {
+    List<TimelineEntryDto> photoFiles;
+    String nextCursor;
+
+    public TimelinePage(List<TimelineEntryDto> photoFiles, String nextCursor) {
+        this.photoFiles = photoFiles;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,25 @@
+package org.ks.photoapp.domain.upload;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.ks.photoapp.domain.photoSession.PhotoSession;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+public class ChunkedUpload {
+    @Id
+    String id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "photo_session_id")
+    PhotoSession photoSession;
+    String fileName;
+    String contentType;
+    Long sizeBytes;
+    Integer chunkSize;
+    String expectedHash;
+    byte[] receivedChunks;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,70 @@
+package org.ks.photoapp.domain.upload;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.ks.photoapp.domain.photos.dto.PhotoFileDto;
+import org.ks.photoapp.domain.upload.dto.CreateUploadDto;
+import org.ks.photoapp.domain.upload.dto.UploadStatusDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+
+@RestController
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    public ChunkedUploadController(ChunkedUploadService chunkedUploadService) {
+        this.chunkedUploadService = chunkedUploadService;
+    }
+
+    @PostMapping("/photosession/{id}/uploads")
+    public ResponseEntity<UploadStatusDto> create(@PathVariable long id, @RequestBody CreateUploadDto request)
+            throws IOException {
+        return ResponseEntity.status(HttpStatus.CREATED).body(chunkedUploadService.create(id, request));
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    public UploadStatusDto getStatus(@PathVariable String uploadId) {
+        return chunkedUploadService.getStatus(uploadId);
+    }
+
+    @PutMapping("/uploads/{uploadId}")
+    public UploadStatusDto writeChunk(@PathVariable String uploadId, @RequestParam long offset,
+                                      @RequestHeader(name = "Content-Digest", required = false) String contentDigest,
+                                      HttpServletRequest request) throws IOException {
+        try (InputStream body = request.getInputStream()) {
+            return chunkedUploadService.writeChunk(uploadId, offset, request.getContentLengthLong(), contentDigest,
+                    body);
+        }
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public PhotoFileDto complete(@PathVariable String uploadId) throws IOException {
+        return chunkedUploadService.complete(uploadId);
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> abort(@PathVariable String uploadId) throws IOException {
+        chunkedUploadService.abort(uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> notFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> conflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+}
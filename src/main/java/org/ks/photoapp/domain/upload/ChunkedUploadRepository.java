@@ -0,0 +1,25 @@
+package org.ks.photoapp.domain.upload;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChunkedUploadRepository extends CrudRepository<ChunkedUpload, String> {
+
+    @Query("select u.id from ChunkedUpload u where u.updatedAt < :before")
+    List<String> findIdsUpdatedBefore(LocalDateTime before);
+
+    @Query("select u.photoSession.id from ChunkedUpload u where u.id = :id")
+    Long findSessionIdById(String id);
+
+    @Modifying
+    @Query("update ChunkedUpload u set u.receivedChunks = :receivedChunks, u.updatedAt = :updatedAt where u.id = :id")
+    void updateReceivedChunks(String id, byte[] receivedChunks, LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("update ChunkedUpload u set u.expectedHash = :expectedHash, u.updatedAt = :updatedAt where u.id = :id")
+    void updateExpectedHash(String id, String expectedHash, LocalDateTime updatedAt);
+}
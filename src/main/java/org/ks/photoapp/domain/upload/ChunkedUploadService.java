@@ -0,0 +1,367 @@
+package org.ks.photoapp.domain.upload;
+
+import jakarta.persistence.EntityManager;
+import org.ks.photoapp.domain.photoSession.PhotoSession;
+import org.ks.photoapp.domain.photos.PhotoFile;
+import org.ks.photoapp.domain.photos.PhotoFileService;
+import org.ks.photoapp.domain.photos.dto.PhotoFileDto;
+import org.ks.photoapp.domain.storage.ContentStore;
+import org.ks.photoapp.domain.storage.StoredContent;
+import org.ks.photoapp.domain.upload.dto.CreateUploadDto;
+import org.ks.photoapp.domain.upload.dto.UploadRangeDto;
+import org.ks.photoapp.domain.upload.dto.UploadStatusDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadService.class);
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    static final int MAX_CHUNKS = 8192 * 8;
+
+    private final ChunkedUploadRepository chunkedUploadRepository;
+    private final PhotoFileService photoFileService;
+    private final ContentStore contentStore;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration expireAfter;
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    // chunks being written, guarded by the upload's lock
+    private final Map<String, BitSet> writing = new ConcurrentHashMap<>();
+
+    public ChunkedUploadService(ChunkedUploadRepository chunkedUploadRepository,
+                                PhotoFileService photoFileService,
+                                ContentStore contentStore,
+                                EntityManager entityManager,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${photoapp.uploads.chunk-size:8MB}") DataSize chunkSize,
+                                @Value("${photoapp.uploads.expire-after:P2D}") Duration expireAfter) {
+        this.chunkedUploadRepository = chunkedUploadRepository;
+        this.photoFileService = photoFileService;
+        this.contentStore = contentStore;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+        this.expireAfter = expireAfter;
+    }
+
+    public UploadStatusDto create(long sessionId, CreateUploadDto request) throws IOException {
+        if (request.getSize() == null || request.getSize() <= 0) {
+            throw new IllegalArgumentException("Rozmiar pliku musi być większy od zera");
+        }
+        if (chunkCount(request.getSize(), chunkSize) > MAX_CHUNKS) {
+            throw new IllegalArgumentException("Plik jest zbyt duży");
+        }
+        String expectedHash = request.getSha256() == null ? null : request.getSha256().toLowerCase();
+        if (expectedHash != null && !HASH_PATTERN.matcher(expectedHash).matches()) {
+            throw new IllegalArgumentException("Nieprawidłowa suma SHA-256");
+        }
+        photoFileService.photosIdOf(sessionId);
+
+        String uploadId = UUID.randomUUID().toString();
+        ChunkedUpload upload = new ChunkedUpload();
+        upload.setId(uploadId);
+        upload.setFileName(truncate(request.getFileName() == null ? uploadId : request.getFileName(), 255));
+        upload.setContentType(truncate(request.getContentType() == null ? "" : request.getContentType(), 100));
+        upload.setSizeBytes(request.getSize());
+        upload.setChunkSize(chunkSize);
+        upload.setExpectedHash(expectedHash);
+        upload.setReceivedChunks(new byte[0]);
+        upload.setCreatedAt(LocalDateTime.now());
+        upload.setUpdatedAt(upload.getCreatedAt());
+        transactionTemplate.executeWithoutResult(status -> {
+            upload.setPhotoSession(entityManager.getReference(PhotoSession.class, sessionId));
+            entityManager.persist(upload);
+        });
+        // the part file is only created once the row exists, so the cleanup job can always find it
+        try (RandomAccessFile file = new RandomAccessFile(partPath(uploadId).toFile(), "rw")) {
+            file.setLength(request.getSize());
+        } catch (IOException e) {
+            abort(uploadId);
+            throw e;
+        }
+        return statusOf(upload);
+    }
+
+    public UploadStatusDto getStatus(String uploadId) {
+        return statusOf(find(uploadId));
+    }
+
+    public UploadStatusDto writeChunk(String uploadId, long offset, long contentLength, String contentDigest,
+                                      InputStream body) throws IOException {
+        byte[] expectedDigest = sha256Of(contentDigest);
+        ChunkedUpload upload = find(uploadId);
+        if (offset < 0 || offset >= upload.getSizeBytes() || offset % upload.getChunkSize() != 0) {
+            throw new IllegalArgumentException("Przesunięcie musi być wielokrotnością rozmiaru części");
+        }
+        long length = Math.min(upload.getChunkSize(), upload.getSizeBytes() - offset);
+        if (contentLength >= 0 && contentLength != length) {
+            throw new IllegalArgumentException("Część musi mieć " + length + " bajtów");
+        }
+
+        int chunk = Math.toIntExact(offset / upload.getChunkSize());
+        beginWrite(uploadId, chunk);
+        boolean verified = false;
+        try {
+            // the body goes from the socket into the preallocated file without being collected on the heap
+            MessageDigest digest = ContentStore.sha256();
+            try (FileChannel channel = FileChannel.open(partPath(uploadId), StandardOpenOption.WRITE)) {
+                ReadableByteChannel source = Channels.newChannel(new DigestInputStream(body, digest));
+                long written = 0;
+                while (written < length) {
+                    long transferred = channel.transferFrom(source, offset + written, length - written);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    written += transferred;
+                }
+                if (written != length || body.read() != -1) {
+                    throw new IllegalArgumentException("Część musi mieć " + length + " bajtów");
+                }
+                channel.force(false);
+            }
+            if (!MessageDigest.isEqual(expectedDigest, digest.digest())) {
+                // the chunk is not marked as received, so the client sends it again
+                throw new IllegalArgumentException("Suma kontrolna części się nie zgadza");
+            }
+            verified = true;
+        } finally {
+            if (!verified) {
+                endWrite(uploadId, chunk);
+            }
+        }
+        return markReceived(uploadId, chunk);
+    }
+
+    // a chunk sent again may overwrite good bytes, so it counts as missing until its own bytes have been verified;
+    // the same chunk is never written twice at once, and complete() waits for no write
+    private void beginWrite(String uploadId, int chunk) {
+        ReentrantLock lock = lockFor(uploadId);
+        lock.lock();
+        try {
+            ChunkedUpload current = find(uploadId);
+            BitSet inFlight = writing.computeIfAbsent(uploadId, id -> new BitSet());
+            if (inFlight.get(chunk)) {
+                throw new IllegalStateException("Ta część jest właśnie przesyłana");
+            }
+            BitSet received = BitSet.valueOf(current.getReceivedChunks());
+            if (received.get(chunk)) {
+                received.clear(chunk);
+                transactionTemplate.executeWithoutResult(status -> chunkedUploadRepository.updateReceivedChunks(
+                        uploadId, received.toByteArray(), LocalDateTime.now()));
+            }
+            inFlight.set(chunk);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void endWrite(String uploadId, int chunk) {
+        ReentrantLock lock = lockFor(uploadId);
+        lock.lock();
+        try {
+            BitSet inFlight = writing.get(uploadId);
+            if (inFlight != null) {
+                inFlight.clear(chunk);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UploadStatusDto markReceived(String uploadId, int chunk) {
+        ReentrantLock lock = lockFor(uploadId);
+        lock.lock();
+        try {
+            ChunkedUpload current = find(uploadId);
+            BitSet received = BitSet.valueOf(current.getReceivedChunks());
+            received.set(chunk);
+            current.setReceivedChunks(received.toByteArray());
+            transactionTemplate.executeWithoutResult(status -> chunkedUploadRepository.updateReceivedChunks(
+                    uploadId, current.getReceivedChunks(), LocalDateTime.now()));
+            return statusOf(current);
+        } finally {
+            endWrite(uploadId, chunk);
+            lock.unlock();
+        }
+    }
+
+    public PhotoFileDto complete(String uploadId) throws IOException {
+        ReentrantLock lock = lockFor(uploadId);
+        lock.lock();
+        try {
+            ChunkedUpload upload = find(uploadId);
+            BitSet inFlight = writing.get(uploadId);
+            if (inFlight != null && !inFlight.isEmpty()) {
+                throw new IllegalStateException("Części pliku są jeszcze przesyłane");
+            }
+            BitSet received = BitSet.valueOf(upload.getReceivedChunks());
+            if (received.cardinality() < chunkCount(upload.getSizeBytes(), upload.getChunkSize())) {
+                throw new IllegalStateException("Nie wszystkie części pliku zostały przesłane");
+            }
+            StoredContent content = storeContent(upload);
+            long photosId = photoFileService.photosIdOf(chunkedUploadRepository.findSessionIdById(uploadId));
+            PhotoFile photoFile = photoFileService.describe(content, upload.getFileName(), upload.getContentType());
+            transactionTemplate.executeWithoutResult(status -> {
+                photoFileService.addToGallery(photosId, List.of(photoFile));
+                chunkedUploadRepository.deleteById(uploadId);
+            });
+            writing.remove(uploadId);
+            locks.remove(uploadId);
+            return photoFileService.findDtoById(photoFile.getId()).orElseThrow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // the verified hash is recorded before the part file is moved into the store, so when a later step fails, a
+    // retry finds the content there instead of the part file
+    private StoredContent storeContent(ChunkedUpload upload) throws IOException {
+        String uploadId = upload.getId();
+        Path part = partPath(uploadId);
+        if (Files.notExists(part)) {
+            if (upload.getExpectedHash() == null || !contentStore.contains(upload.getExpectedHash())) {
+                throw new IllegalStateException("Plik nie został przesłany, prześlij go ponownie");
+            }
+            return contentStore.hash(contentStore.pathOf(upload.getExpectedHash()));
+        }
+        StoredContent content = contentStore.hash(part);
+        if (upload.getExpectedHash() != null && !upload.getExpectedHash().equals(content.hash())) {
+            // there is no telling which chunk was damaged, so the client has to send all of them again
+            transactionTemplate.executeWithoutResult(status -> chunkedUploadRepository.updateReceivedChunks(
+                    uploadId, new byte[0], LocalDateTime.now()));
+            throw new IllegalStateException("Suma kontrolna pliku się nie zgadza, prześlij plik ponownie");
+        }
+        transactionTemplate.executeWithoutResult(status -> chunkedUploadRepository.updateExpectedHash(
+                uploadId, content.hash(), LocalDateTime.now()));
+        contentStore.adopt(part, content.hash());
+        return content;
+    }
+
+    public void abort(String uploadId) throws IOException {
+        ReentrantLock lock = lockFor(uploadId);
+        lock.lock();
+        try {
+            chunkedUploadRepository.deleteById(uploadId);
+            Files.deleteIfExists(partPath(uploadId));
+            writing.remove(uploadId);
+            locks.remove(uploadId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${photoapp.uploads.cleanup-interval:PT1H}")
+    public void purgeExpired() {
+        for (String uploadId : chunkedUploadRepository.findIdsUpdatedBefore(LocalDateTime.now().minus(expireAfter))) {
+            try {
+                abort(uploadId);
+                log.info("Removed abandoned upload {}", uploadId);
+            } catch (IOException e) {
+                log.warn("Cannot remove abandoned upload {}", uploadId, e);
+            }
+        }
+    }
+
+    private ChunkedUpload find(String uploadId) {
+        return chunkedUploadRepository.findById(uploadId)
+                .orElseThrow(() -> new NoSuchElementException("Upload not found: " + uploadId));
+    }
+
+    // a ReentrantLock rather than a monitor, so a virtual thread waiting on the database here does not pin its carrier
+    private ReentrantLock lockFor(String uploadId) {
+        return locks.computeIfAbsent(uploadId, id -> new ReentrantLock());
+    }
+
+    private Path partPath(String uploadId) {
+        return contentStore.incomingPath(UUID.fromString(uploadId) + ".part");
+    }
+
+    // every chunk carries its SHA-256 in an RFC 9530 Content-Digest header, e.g. sha-256=:base64:, and is checked
+    // as it arrives; browsers cannot hash a large file in one piece, so this also covers files without a whole hash
+    static byte[] sha256Of(String contentDigest) {
+        if (contentDigest != null) {
+            for (String entry : contentDigest.split(",")) {
+                String[] algorithmAndValue = entry.trim().split("=", 2);
+                if (algorithmAndValue.length == 2 && algorithmAndValue[0].trim().equalsIgnoreCase("sha-256")) {
+                    String value = algorithmAndValue[1].trim();
+                    try {
+                        byte[] sha256 = value.length() > 2 && value.startsWith(":") && value.endsWith(":")
+                                ? Base64.getDecoder().decode(value.substring(1, value.length() - 1))
+                                : null;
+                        if (sha256 != null && sha256.length == 32) {
+                            return sha256;
+                        }
+                    } catch (IllegalArgumentException e) {
+                        // reported below
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException("Część musi mieć nagłówek Content-Digest z sumą SHA-256");
+    }
+
+    private static UploadStatusDto statusOf(ChunkedUpload upload) {
+        BitSet received = BitSet.valueOf(upload.getReceivedChunks());
+        long size = upload.getSizeBytes();
+        int chunk = upload.getChunkSize();
+        List<UploadRangeDto> ranges = new ArrayList<>();
+        long receivedBytes = 0;
+        for (int first = received.nextSetBit(0); first >= 0; first = received.nextSetBit(first + 1)) {
+            int last = received.nextClearBit(first) - 1;
+            long start = (long) first * chunk;
+            long end = Math.min((long) (last + 1) * chunk, size) - 1;
+            ranges.add(new UploadRangeDto(start, end));
+            receivedBytes += end - start + 1;
+            first = last;
+        }
+        UploadStatusDto status = new UploadStatusDto();
+        status.setUploadId(upload.getId());
+        status.setFileName(upload.getFileName());
+        status.setSize(size);
+        status.setChunkSize(chunk);
+        status.setReceivedBytes(receivedBytes);
+        status.setComplete(receivedBytes == size);
+        status.setReceivedRanges(ranges);
+        return status;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private static long chunkCount(long size, int chunkSize) {
+        return (size + chunkSize - 1) / chunkSize;
+    }
+}
@@ -0,0 +1,11 @@
+package org.ks.photoapp.domain.upload.dto;
+
+import lombok.Data;
+
+@Data
+public class CreateUploadDto {
+    String fileName;
+    String contentType;
+    Long size;
+    String sha256;
+}
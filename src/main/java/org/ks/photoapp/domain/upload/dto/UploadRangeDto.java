@@ -0,0 +1,9 @@
+package org.ks.photoapp.domain.upload.dto;
+
+import lombok.Value;
+
+@Value
+public class UploadRangeDto {
+    long start;
+    long end;
+}
@@ -0,0 +1,16 @@
+package org.ks.photoapp.domain.upload.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UploadStatusDto {
+    String uploadId;
+    String fileName;
+    long size;
+    int chunkSize;
+    long receivedBytes;
+    boolean complete;
+    List<UploadRangeDto> receivedRanges;
+}
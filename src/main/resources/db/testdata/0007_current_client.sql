@@ -0,0 +1,5 @@
+insert into current_client (client_id, open_sessions)
+select ps.client_id, count(*) from photo_session ps
+where ps.is_contract_finished = false
+  and not exists (select 1 from current_client cc where cc.client_id = ps.client_id)
+group by ps.client_id;
@@ -1,37 +1,363 @@
-function createCalendar() {
-    const calendarEl = document.getElementById('calendar');
-    calendarEl.innerHTML = '';
+const monthNames = ["styczeń", "luty", "marzec", "kwiecień", "maj", "czerwiec",
+    "lipiec", "sierpień", "wrzesień", "październik", "listopad", "grudzień"];
+const dayNames = ["Pon", "Wt", "Śr", "Czw", "Pt", "Sob", "Nie"];
+
+let shownYear = new Date().getFullYear();
+let shownMonth = new Date().getMonth();
+
+function pad(value) {
+    return String(value).padStart(2, '0');
+}
 
-    const date = new Date();
-    const currentYear = date.getFullYear();
-    const currentMonth = date.getMonth();
-    const currentDate = date.getDate();
+function escapeHtml(value) {
+    return String(value)
+        .replace(/&/g, '&amp;')
+        .replace(/</g, '&lt;')
+        .replace(/>/g, '&gt;')
+        .replace(/"/g, '&quot;');
+}
+
+function renderSessions(sessions) {
+    return sessions.map(session =>
+        `<a class="calendar-session" href="/client/${session.clientId}">` +
+        `${escapeHtml(session.time.substring(0, 5))} ${escapeHtml(session.clientName)}` +
+        (session.sessionType ? `<br>${escapeHtml(session.sessionType)}` : '') +
+        `</a>`
+    ).join('');
+}
 
-    const monthNames = ["styczeń", "luty", "marzec", "kwiecień", "maj", "czerwiec",
-        "lipiec", "sierpień", "wrzesień", "październik", "listopad", "grudzień"];
-    calendarEl.innerHTML += `<div class="month-title">${monthNames[currentMonth]} ${currentYear}</div>`;
+function renderCalendar(calendarEl, days) {
+    const today = new Date();
+    let html = `<div class="month-title">` +
+        `<a class="month-nav" id="prev-month">&lt;</a> ` +
+        `${monthNames[shownMonth]} ${shownYear}` +
+        ` <a class="month-nav" id="next-month">&gt;</a></div>`;
 
-    const dayNames = ["Pon", "Wt", "Śr", "Czw", "Pt", "Sob", "Nie"];
     dayNames.forEach(day => {
-        calendarEl.innerHTML += `<div class="day-name">${day}</div>`;
+        html += `<div class="day-name">${day}</div>`;
     });
 
-    const firstDayIndex = (new Date(currentYear, currentMonth, 1).getDay() + 6) % 7;
-    const daysInMonth = new Date(currentYear, currentMonth + 1, 0).getDate();
+    const firstDayIndex = (new Date(shownYear, shownMonth, 1).getDay() + 6) % 7;
+    const daysInMonth = new Date(shownYear, shownMonth + 1, 0).getDate();
 
     for (let i = 0; i < firstDayIndex; i++) {
-        calendarEl.innerHTML += `<div class="day"></div>`;
+        html += `<div class="day"></div>`;
     }
 
     for (let i = 1; i <= daysInMonth; i++) {
-        if (i === currentDate) {
-            calendarEl.innerHTML += `<div class="day today">${i}</div>`;
-        } else {
-            calendarEl.innerHTML += `<div class="day">${i}</div>`;
+        const key = `${shownYear}-${pad(shownMonth + 1)}-${pad(i)}`;
+        const isToday = i === today.getDate() && shownMonth === today.getMonth() && shownYear === today.getFullYear();
+        html += `<div class="day${isToday ? ' today' : ''}">${i}${renderSessions(days[key] || [])}</div>`;
+    }
+
+    calendarEl.innerHTML = html;
+    document.getElementById('prev-month').addEventListener('click', () => changeMonth(-1));
+    document.getElementById('next-month').addEventListener('click', () => changeMonth(1));
+}
+
+function changeMonth(delta) {
+    const shown = new Date(shownYear, shownMonth + delta, 1);
+    shownYear = shown.getFullYear();
+    shownMonth = shown.getMonth();
+    createCalendar();
+}
+
+function createCalendar() {
+    const calendarEl = document.getElementById('calendar');
+    if (!calendarEl) {
+        return;
+    }
+    renderCalendar(calendarEl, {});
+
+    fetch(`/calendar/month?month=${shownYear}-${pad(shownMonth + 1)}`, {headers: {'Accept': 'application/json'}})
+        .then(response => response.ok ? response.json() : {days: {}})
+        .then(calendar => renderCalendar(calendarEl, calendar.days));
+}
+
+function renderPaymentStatus(statusEl, stages) {
+    statusEl.innerHTML = '<h2>Płatności</h2>' + stages.map(stage =>
+        `<a class="payment-status-stage" href="/payment-status/${stage.stage}">` +
+        `<span class="payment-status-count">${stage.count}</span>${escapeHtml(stage.label)}</a>`
+    ).join('');
+}
+
+function loadPaymentStatus() {
+    const statusEl = document.getElementById('payment-status');
+    if (!statusEl) {
+        return;
+    }
+    fetch('/payment-status', {headers: {'Accept': 'application/json'}})
+        .then(response => response.ok ? response.json() : [])
+        .then(stages => renderPaymentStatus(statusEl, stages));
+}
+
+function formatIngestJob(job) {
+    let text = `${job.sourceDirectory}: ${job.filesDone}/${job.filesTotal} plików`;
+    if (job.filesFailed > 0) {
+        text += `, błędy: ${job.filesFailed}`;
+    }
+    if (job.filesPerSecond != null) {
+        text += `, ${job.filesPerSecond.toFixed(1)} plików/s, ${job.megabytesPerSecond.toFixed(1)} MB/s`;
+    }
+    return `<li class="client-info">${escapeHtml(text)} (${job.status})</li>`;
+}
+
+function watchIngest() {
+    const progressEl = document.getElementById('ingest-progress');
+    if (!progressEl) {
+        return;
+    }
+    fetch(`/photosession/${progressEl.dataset.sessionId}/ingest`, {headers: {'Accept': 'application/json'}})
+        .then(response => response.ok ? response.json() : [])
+        .then(jobs => {
+            progressEl.innerHTML = jobs.map(formatIngestJob).join('');
+            if (jobs.some(job => job.status === 'RUNNING')) {
+                setTimeout(watchIngest, 2000);
+            }
+        });
+}
+
+function csrfHeaders(form) {
+    const token = form.querySelector('input[name="_csrf"]');
+    return token ? {'X-XSRF-TOKEN': token.value} : {};
+}
+
+async function contentDigest(chunk) {
+    // the browser cannot hash a large file without loading it whole, so every chunk is hashed on its own and the
+    // server rejects a chunk whose bytes do not match
+    const digest = await crypto.subtle.digest('SHA-256', await chunk.arrayBuffer());
+    return `sha-256=:${btoa(String.fromCharCode(...new Uint8Array(digest)))}:`;
+}
+
+function missingOffsets(upload) {
+    const offsets = [];
+    for (let offset = 0; offset < upload.size; offset += upload.chunkSize) {
+        if (!upload.receivedRanges.some(range => range.start <= offset && offset <= range.end)) {
+            offsets.push(offset);
+        }
+    }
+    return offsets;
+}
+
+async function uploadFile(form, file) {
+    const headers = csrfHeaders(form);
+    let response = await fetch(`/photosession/${form.dataset.sessionId}/uploads`, {
+        method: 'POST',
+        headers: {...headers, 'Content-Type': 'application/json'},
+        body: JSON.stringify({fileName: file.name, contentType: file.type, size: file.size})
+    });
+    if (!response.ok) {
+        throw new Error(await response.text());
+    }
+    let upload = await response.json();
+    for (let attempt = 0; !upload.complete; attempt++) {
+        if (attempt > 5) {
+            throw new Error(`Nie udało się przesłać ${file.name}`);
         }
+        try {
+            for (const offset of missingOffsets(upload)) {
+                const chunk = file.slice(offset, offset + upload.chunkSize);
+                response = await fetch(`/uploads/${upload.uploadId}?offset=${offset}`, {
+                    method: 'PUT',
+                    headers: {
+                        ...headers,
+                        'Content-Type': 'application/octet-stream',
+                        'Content-Digest': await contentDigest(chunk)
+                    },
+                    body: chunk
+                });
+                if (!response.ok) {
+                    throw new Error(await response.text());
+                }
+                upload = await response.json();
+            }
+        } catch (error) {
+            await new Promise(resolve => setTimeout(resolve, 1000 * (attempt + 1)));
+            upload = await fetch(`/uploads/${upload.uploadId}`).then(status => status.json());
+        }
+    }
+    response = await fetch(`/uploads/${upload.uploadId}/complete`, {method: 'POST', headers});
+    if (!response.ok) {
+        throw new Error(await response.text());
     }
 }
 
+function initChunkedUpload(form) {
+    form.addEventListener('submit', event => {
+        event.preventDefault();
+        const files = Array.from(form.querySelector('input[type="file"]').files);
+        const statusEl = form.querySelector('.upload-status');
+        const queue = files.slice();
+        let uploaded = 0;
+        let failed = 0;
+        const showStatus = () => statusEl.textContent =
+            `Przesłano ${uploaded}/${files.length}` + (failed > 0 ? `, błędy: ${failed}` : '');
+        const worker = async () => {
+            while (queue.length > 0) {
+                const file = queue.shift();
+                try {
+                    await uploadFile(form, file);
+                    uploaded++;
+                } catch (error) {
+                    failed++;
+                }
+                showStatus();
+            }
+        };
+        showStatus();
+        Promise.all(Array.from({length: Math.min(3, files.length)}, worker)).then(() => window.location.reload());
+    });
+}
 
-createCalendar();
+function renderClientResults(resultsEl, clients) {
+    resultsEl.innerHTML = clients.map(client =>
+        `<li class="client-search-result" data-id="${client.id}" ` +
+        `data-label="${escapeHtml(client.lastName + ' ' + client.firstName)}">` +
+        `${escapeHtml(client.lastName)} ${escapeHtml(client.firstName)}` +
+        `<span class="client-search-details">${escapeHtml(client.email || '')} ${escapeHtml(client.phoneNumber || '')}</span>` +
+        `</li>`
+    ).join('');
+    resultsEl.hidden = clients.length === 0;
+}
+
+function initClientSearch(searchEl) {
+    const input = searchEl.querySelector('.client-search-input');
+    const idInput = searchEl.querySelector('.client-search-id');
+    const resultsEl = searchEl.querySelector('.client-search-results');
+    let timer;
+    let lastQuery = '';
 
+    const validate = () => input.setCustomValidity(idInput.value ? '' : 'Wybierz klienta z listy');
+    validate();
+
+    input.addEventListener('input', () => {
+        idInput.value = '';
+        validate();
+        clearTimeout(timer);
+        const query = input.value.trim();
+        if (!query) {
+            renderClientResults(resultsEl, []);
+            return;
+        }
+        timer = setTimeout(() => {
+            lastQuery = query;
+            fetch(`/client/search?q=${encodeURIComponent(query)}&limit=10`, {headers: {'Accept': 'application/json'}})
+                .then(response => response.ok ? response.json() : [])
+                .then(clients => {
+                    if (query === lastQuery) {
+                        renderClientResults(resultsEl, clients);
+                    }
+                });
+        }, 150);
+    });
+
+    resultsEl.addEventListener('mousedown', event => {
+        const item = event.target.closest('.client-search-result');
+        if (!item) {
+            return;
+        }
+        event.preventDefault();
+        idInput.value = item.dataset.id;
+        input.value = item.dataset.label;
+        validate();
+        renderClientResults(resultsEl, []);
+    });
+
+    input.addEventListener('blur', () => renderClientResults(resultsEl, []));
+}
+
+function renderProofingItem(item, state) {
+    item.classList.toggle('selected', state.selected);
+    item.classList.toggle('favorite', state.favorite);
+}
+
+const selectionRequests = new Map();
+
+function loadSelection(sessionId) {
+    // the duplicates page has one gallery per group, they all share a single request
+    if (!selectionRequests.has(sessionId)) {
+        selectionRequests.set(sessionId, fetch(`/photosession/${sessionId}/selection`, {headers: {'Accept': 'application/json'}})
+            .then(response => response.ok ? response.json() : null));
+    }
+    return selectionRequests.get(sessionId);
+}
+
+function initProofing(galleryEl) {
+    const sessionId = galleryEl.dataset.sessionId;
+    const countEl = document.getElementById('selection-count');
+    const pending = new Map();
+    const inFlight = new Set();
+
+    function showCount(count) {
+        if (countEl) {
+            countEl.textContent = `Wybrane zdjęcia: ${count}`;
+        }
+    }
+
+    function send(ordinal) {
+        // only the latest state of a photo is sent, clicks made while a request is running are folded into one
+        if (inFlight.has(ordinal) || !pending.has(ordinal)) {
+            return;
+        }
+        const change = pending.get(ordinal);
+        pending.delete(ordinal);
+        inFlight.add(ordinal);
+        fetch(`/photosession/${sessionId}/selection/${ordinal}`, {
+            method: 'PUT',
+            headers: {...csrfHeaders(document), 'Content-Type': 'application/json'},
+            body: JSON.stringify(change)
+        })
+            .then(response => response.ok ? response.json() : null)
+            .then(state => {
+                if (state && !pending.has(ordinal)) {
+                    renderProofingItem(galleryEl.querySelector(`[data-ordinal="${ordinal}"]`), state);
+                    showCount(state.selectedCount);
+                }
+            })
+            .finally(() => {
+                inFlight.delete(ordinal);
+                send(ordinal);
+            });
+    }
+
+    galleryEl.addEventListener('click', event => {
+        const button = event.target.closest('.proofing-select, .proofing-favorite');
+        if (!button) {
+            return;
+        }
+        const item = button.closest('.gallery-item');
+        const ordinal = item.dataset.ordinal;
+        // a favorite is always selected, unselecting a photo drops it from favorites too
+        const state = button.classList.contains('proofing-favorite')
+            ? {selected: true, favorite: !item.classList.contains('favorite')}
+            : {selected: !item.classList.contains('selected'), favorite: false};
+        renderProofingItem(item, state);
+        pending.set(ordinal, state);
+        send(ordinal);
+    });
+
+    loadSelection(sessionId)
+        .then(selection => {
+            if (!selection) {
+                return;
+            }
+            const favorites = new Set(selection.favorites);
+            new Set(selection.selected).forEach(ordinal => {
+                const item = galleryEl.querySelector(`[data-ordinal="${ordinal}"]`);
+                if (item) {
+                    renderProofingItem(item, {selected: true, favorite: favorites.has(ordinal)});
+                }
+            });
+            showCount(selection.selected.length);
+        });
+}
+
+createCalendar();
+loadPaymentStatus();
+watchIngest();
+if (window.crypto && crypto.subtle) {
+    // crypto.subtle needs a secure context; without it the form is sent as a plain multipart upload
+    document.querySelectorAll('form.chunked-upload').forEach(initChunkedUpload);
+}
+document.querySelectorAll('.client-search').forEach(initClientSearch);
+document.querySelectorAll('.gallery.proofing').forEach(initProofing);
@@ -0,0 +1,91 @@
+package org.ks.photoapp.domain.availability;
+
+import org.junit.jupiter.api.Test;
+import org.ks.photoapp.domain.availability.dto.BookingDto;
+import org.ks.photoapp.domain.availability.dto.FreeSlotDto;
+import org.ks.photoapp.domain.photoSession.PhotoSessionRepository;
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog;
+import org.ks.photoapp.domain.sessionType.dto.SessionTypeDto;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AvailabilityServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 5, 6);
+
+    private final PhotoSessionRepository photoSessionRepository = mock(PhotoSessionRepository.class);
+    private final SessionTypeCatalog sessionTypeCatalog = mock(SessionTypeCatalog.class);
+    private final AvailabilityService availabilityService = new AvailabilityService(photoSessionRepository,
+            sessionTypeCatalog, Duration.ofHours(1), ChronoUnit.MINUTES, "08:00", "20:00");
+
+    @Test
+    void freeSlotsFillTheDayWindowAroundBookings() {
+        booked(new BookingDto(1L, DAY.atTime(10, 0), "MINI"), new BookingDto(2L, DAY.atTime(11, 30), "WEDDING"));
+
+        assertThat(availabilityService.findFreeSlots("MINI", DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()))
+                .containsExactly(
+                        new FreeSlotDto(DAY.atTime(8, 0), DAY.atTime(10, 0)),
+                        new FreeSlotDto(DAY.atTime(15, 30), DAY.atTime(20, 0)));
+    }
+
+    @Test
+    void gapsShorterThanTheSessionAreNotOffered() {
+        booked(new BookingDto(1L, DAY.atTime(9, 30), "MINI"), new BookingDto(2L, DAY.atTime(11, 0), "MINI"));
+
+        assertThat(availabilityService.findFreeSlots("WEDDING", DAY.atTime(8, 0), DAY.atTime(20, 0)))
+                .containsExactly(new FreeSlotDto(DAY.atTime(12, 0), DAY.atTime(20, 0)));
+    }
+
+    @Test
+    void freeSlotsAreCutToTheRangeAndSpanSeveralDays() {
+        booked();
+
+        assertThat(availabilityService.findFreeSlots("MINI", DAY.atTime(18, 30), DAY.plusDays(1).atTime(9, 0)))
+                .containsExactly(
+                        new FreeSlotDto(DAY.atTime(18, 30), DAY.atTime(20, 0)),
+                        new FreeSlotDto(DAY.plusDays(1).atTime(8, 0), DAY.plusDays(1).atTime(9, 0)));
+    }
+
+    @Test
+    void invalidRangesAreRejected() {
+        booked();
+
+        assertThatThrownBy(() -> availabilityService.findFreeSlots("MINI", DAY.atTime(12, 0), DAY.atTime(12, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> availabilityService.findFreeSlots("MINI", DAY.atStartOfDay(),
+                DAY.plusDays(AvailabilityService.MAX_RANGE_DAYS + 1).atStartOfDay()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rescheduleLeavesTheSessionItselfOut() {
+        booked(new BookingDto(1L, DAY.atTime(10, 0), "WEDDING"), new BookingDto(2L, DAY.atTime(15, 0), "MINI"));
+        LocalDateTime laterSameMorning = DAY.atTime(11, 0);
+
+        assertThat(availabilityService.conflicts("WEDDING", laterSameMorning, null)).isTrue();
+        assertThatNoException().isThrownBy(
+                () -> availabilityService.requireFreeOnReschedule(1L, "WEDDING", laterSameMorning));
+        assertThatThrownBy(() -> availabilityService.requireFreeOnReschedule(1L, "WEDDING", DAY.atTime(12, 0)))
+                .isInstanceOf(BookingConflictException.class);
+    }
+
+    // MINI falls back to the one-hour default, WEDDING lasts four hours
+    private void booked(BookingDto... bookings) {
+        when(sessionTypeCatalog.find(any())).thenReturn(Optional.empty());
+        when(sessionTypeCatalog.find("WEDDING")).thenReturn(Optional.of(new SessionTypeDto("WEDDING", "Ślub", 240, 0)));
+        when(photoSessionRepository.findAllBookings()).thenReturn(List.of(bookings));
+        availabilityService.rebuild();
+    }
+}
@@ -0,0 +1,72 @@
+package org.ks.photoapp.domain.availability;
+
+import org.junit.jupiter.api.Test;
+import org.ks.photoapp.domain.availability.BookingIndex.Booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingIndexTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2030, 5, 6, 12, 0);
+
+    @Test
+    void bookingsThatOnlyTouchDoNotOverlap() {
+        BookingIndex index = new BookingIndex();
+        index.put(new Booking(1, NOON.minusHours(1), NOON));
+        index.put(new Booking(2, NOON.plusHours(1), NOON.plusHours(2)));
+
+        assertThat(index.overlapping(NOON, NOON.plusHours(1))).isEmpty();
+        assertThat(ids(index.overlapping(NOON.minusMinutes(1), NOON.plusHours(1).plusMinutes(1))))
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void containedAndContainingBookingsOverlap() {
+        BookingIndex index = new BookingIndex();
+        index.put(new Booking(1, NOON.plusMinutes(15), NOON.plusMinutes(45)));
+
+        assertThat(ids(index.overlapping(NOON, NOON.plusHours(1)))).containsExactly(1L);
+        assertThat(ids(index.overlapping(NOON.plusMinutes(20), NOON.plusMinutes(30)))).containsExactly(1L);
+    }
+
+    @Test
+    void bookingLongerThanTheRestIsFoundFromItsMiddle() {
+        BookingIndex index = new BookingIndex();
+        index.put(new Booking(1, NOON.minusHours(1), NOON));
+        index.put(new Booking(2, NOON.minusHours(6), NOON.plusHours(2)));
+        index.put(new Booking(3, NOON.minusHours(5), NOON.minusHours(4)));
+
+        assertThat(ids(index.overlapping(NOON.plusHours(1), NOON.plusMinutes(90)))).containsExactly(2L);
+    }
+
+    @Test
+    void longestIsWidenedWhenALongerBookingIsPutAfterShorterOnes() {
+        BookingIndex index = new BookingIndex();
+        index.put(new Booking(1, NOON, NOON.plusHours(1)));
+        index.put(new Booking(2, NOON.minusDays(1), NOON.plusDays(1)));
+
+        assertThat(ids(index.overlapping(NOON.plusHours(12), NOON.plusHours(13)))).containsExactly(2L);
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsTheSessionsBooking() {
+        BookingIndex index = new BookingIndex();
+        index.put(new Booking(1, NOON, NOON.plusHours(1)));
+        index.put(new Booking(1, NOON.plusHours(3), NOON.plusHours(4)));
+
+        assertThat(index.overlapping(NOON, NOON.plusHours(1))).isEmpty();
+        assertThat(ids(index.overlapping(NOON.plusHours(3), NOON.plusHours(4)))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+
+        index.remove(1);
+        assertThat(index.overlapping(NOON.plusHours(3), NOON.plusHours(4))).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    private static List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::sessionId).toList();
+    }
+}
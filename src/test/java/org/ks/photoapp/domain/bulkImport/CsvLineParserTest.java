@@ -0,0 +1,28 @@
+package org.ks.photoapp.domain.bulkImport;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvLineParserTest {
+
+    @Test
+    void plainFieldsAreSplitAndTrimmed() {
+        assertThat(CsvLineParser.parse("Anna, Nowak ,anna@example.pl,,"))
+                .containsExactly("Anna", "Nowak", "anna@example.pl", "", "");
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndDoubledQuotes() {
+        assertThat(CsvLineParser.parse("\"Nowak, Anna\",\"Studio \"\"Foto\"\"\",\"\""))
+                .containsExactly("Nowak, Anna", "Studio \"Foto\"", "");
+    }
+
+    @Test
+    void unclosedQuoteIsRejected() {
+        assertThatThrownBy(() -> CsvLineParser.parse("Anna,\"Nowak,anna@example.pl"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Niezamknięty cudzysłów");
+    }
+}
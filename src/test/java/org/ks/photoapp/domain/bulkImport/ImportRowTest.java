@@ -0,0 +1,124 @@
+package org.ks.photoapp.domain.bulkImport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ks.photoapp.domain.sessionType.SessionTypeCatalog;
+import org.ks.photoapp.domain.sessionType.SessionTypeDefinition;
+import org.ks.photoapp.domain.sessionType.SessionTypeDefinitionRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImportRowTest {
+
+    private final SessionTypeDefinitionRepository sessionTypeDefinitionRepository =
+            mock(SessionTypeDefinitionRepository.class);
+    private final SessionTypeCatalog sessionTypeCatalog =
+            new SessionTypeCatalog(sessionTypeDefinitionRepository, event -> { });
+
+    @BeforeEach
+    void setUp() {
+        when(sessionTypeDefinitionRepository.findAllByOrderByIdAsc())
+                .thenReturn(List.of(definition(1, "MINI", "Mini sesja"), definition(2, "WEDDING", "Ślub")));
+        sessionTypeCatalog.reload();
+    }
+
+    @Test
+    void rowWithASessionIsParsed() {
+        ImportRow row = parse("Anna,Nowak,anna@example.pl,501 234 567,2030-05-06 10:30,MINI,true");
+
+        assertThat(row.lineNumber()).isEqualTo(2);
+        assertThat(row.phoneNumber()).isEqualTo(501234567L);
+        assertThat(row.sessionDate()).isEqualTo(LocalDateTime.of(2030, 5, 6, 10, 30));
+        assertThat(row.sessionType().getCode()).isEqualTo("MINI");
+        assertThat(row.isDepositPaid()).isTrue();
+        assertThat(row.hasSession()).isTrue();
+    }
+
+    @Test
+    void rowWithoutASessionIsAClientOnly() {
+        ImportRow row = parse("Anna,Nowak,anna@example.pl,,,,");
+
+        assertThat(row.phoneNumber()).isNull();
+        assertThat(row.hasSession()).isFalse();
+        assertThat(row.isDepositPaid()).isFalse();
+    }
+
+    @Test
+    void sessionDateAcceptsASpaceOrTAndOptionalSeconds() {
+        LocalDateTime expected = LocalDateTime.of(2030, 5, 6, 9, 5);
+
+        assertThat(sessionDateOf("2030-05-06 9:05")).isEqualTo(expected);
+        assertThat(sessionDateOf("2030-05-06 09:05:00")).isEqualTo(expected);
+        assertThat(sessionDateOf("2030-05-06T09:05")).isEqualTo(expected);
+        assertThat(sessionDateOf("2030-05-06T09:05:00")).isEqualTo(expected);
+        assertThatThrownBy(() -> sessionDateOf("06.05.2030 09:05"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Niepoprawna data sesji: 06.05.2030 09:05");
+        assertThatThrownBy(() -> sessionDateOf("2030-05-06"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sessionTypeIsResolvedByCodeOrNameIgnoringCase() {
+        assertThat(parse("Anna,Nowak,anna@example.pl,,2030-05-06 10:00,mini,").sessionType().getCode())
+                .isEqualTo("MINI");
+        assertThat(parse("Anna,Nowak,anna@example.pl,,2030-05-06 10:00,ślub,").sessionType().getCode())
+                .isEqualTo("WEDDING");
+    }
+
+    @Test
+    void unknownSessionTypeIsRejected() {
+        assertThatThrownBy(() -> parse("Anna,Nowak,anna@example.pl,,2030-05-06 10:00,PLENER,false"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Nieznany rodzaj sesji: PLENER");
+    }
+
+    @Test
+    void sessionNeedsBothADateAndAType() {
+        assertThatThrownBy(() -> parse("Anna,Nowak,anna@example.pl,,2030-05-06 10:00,,false"))
+                .hasMessage("Sesja wymaga daty i rodzaju");
+        assertThatThrownBy(() -> parse("Anna,Nowak,anna@example.pl,,,MINI,false"))
+                .hasMessage("Sesja wymaga daty i rodzaju");
+    }
+
+    @Test
+    void wrongColumnCountIsRejected() {
+        assertThatThrownBy(() -> parse("Anna,Nowak,anna@example.pl,,2030-05-06 10:00,MINI"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Oczekiwano 7 kolumn, znaleziono 6");
+        assertThatThrownBy(() -> parse("Anna,Nowak,anna@example.pl,,2030-05-06 10:00,MINI,true,extra"))
+                .hasMessage("Oczekiwano 7 kolumn, znaleziono 8");
+    }
+
+    @Test
+    void missingEmailOrBadPhoneIsRejected() {
+        assertThatThrownBy(() -> parse("Anna,Nowak,,,,,"))
+                .hasMessage("Brak adresu email");
+        assertThatThrownBy(() -> parse("Anna,Nowak,anna@example.pl,501-234,,,"))
+                .hasMessage("Niepoprawny numer telefonu: 501-234");
+    }
+
+    private ImportRow parse(String line) {
+        return ImportRow.parse(2, CsvLineParser.parse(line), sessionTypeCatalog);
+    }
+
+    private LocalDateTime sessionDateOf(String value) {
+        return parse("Anna,Nowak,anna@example.pl,," + value + ",MINI,").sessionDate();
+    }
+
+    private static SessionTypeDefinition definition(int id, String code, String name) {
+        SessionTypeDefinition definition = new SessionTypeDefinition();
+        definition.setId(id);
+        definition.setCode(code);
+        definition.setName(name);
+        definition.setDuration(60);
+        definition.setPrice(500);
+        return definition;
+    }
+}
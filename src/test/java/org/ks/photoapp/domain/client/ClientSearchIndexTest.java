@@ -0,0 +1,94 @@
+package org.ks.photoapp.domain.client;
+
+import org.junit.jupiter.api.Test;
+import org.ks.photoapp.domain.client.ClientSearchIndex.Entry;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientSearchIndexTest {
+
+    @Test
+    void everyWordOfTheQueryHasToMatch() {
+        ClientSearchIndex index = index(
+                new Entry(1, "Anna", "Nowak", "anna@example.pl", null),
+                new Entry(2, "Anna", "Kowalska", "ak@example.pl", null),
+                new Entry(3, "Jan", "Nowak", "jan@example.pl", null));
+
+        assertThat(ids(index.search("nowak", 10))).containsExactly(1L, 3L);
+        assertThat(ids(index.search("an now", 10))).containsExactly(1L);
+        assertThat(ids(index.search("Anna Nowak Kowalska", 10))).isEmpty();
+        assertThat(index.search("   ", 10)).isEmpty();
+    }
+
+    @Test
+    void diacriticsAndTheLetterLAreIgnored() {
+        ClientSearchIndex index = index(
+                new Entry(1, "Łukasz", "Żółć", "lz@example.pl", null),
+                new Entry(2, "Zofia", "Śliwińska", "zs@example.pl", null));
+
+        assertThat(ids(index.search("lukasz zolc", 10))).containsExactly(1L);
+        assertThat(ids(index.search("ŁUK", 10))).containsExactly(1L);
+        assertThat(ids(index.search("sliwin", 10))).containsExactly(2L);
+        assertThat(ids(index.search("Śliwińska", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void emailPartsAndPhoneNumberAreSearchable() {
+        ClientSearchIndex index = index(
+                new Entry(1, "Anna", "Nowak", "a.nowak+sesja@fotografia.pl", 501234567L),
+                new Entry(2, "Jan", "Kowalski", "jk@poczta.pl", 601000000L));
+
+        assertThat(ids(index.search("a.nowak+sesja@fot", 10))).containsExactly(1L);
+        assertThat(ids(index.search("sesja", 10))).containsExactly(1L);
+        assertThat(ids(index.search("fotografia", 10))).containsExactly(1L);
+        assertThat(ids(index.search("poczta", 10))).containsExactly(2L);
+        assertThat(ids(index.search("501", 10))).containsExactly(1L);
+        assertThat(ids(index.search("601000000", 10))).containsExactly(2L);
+        assertThat(index.search("1234", 10)).isEmpty();
+    }
+
+    @Test
+    void updateAndRemoveUnlinkTheOldTokens() {
+        ClientSearchIndex index = index(new Entry(1, "Anna", "Nowak", "anna@example.pl", 501234567L));
+
+        index.put(new Entry(1, "Anna", "Wiśniewska", "anna.w@example.pl", 601000000L));
+        assertThat(index.search("nowak", 10)).isEmpty();
+        assertThat(index.search("501", 10)).isEmpty();
+        assertThat(ids(index.search("wisniewska", 10))).containsExactly(1L);
+        assertThat(ids(index.search("anna", 10))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+
+        index.remove(1);
+        assertThat(index.search("anna", 10)).isEmpty();
+        assertThat(index.search("601", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void onlyTheFirstMatchesByNameAreReturnedWithTiesOrderedById() {
+        ClientSearchIndex index = index(
+                new Entry(5, "Anna", "Nowak", "a5@example.pl", null),
+                new Entry(1, "Zofia", "Nowak", "a1@example.pl", null),
+                new Entry(4, "Anna", "Nowak", "a4@example.pl", null),
+                new Entry(2, "Anna", "Adamska", "a2@example.pl", null),
+                new Entry(3, "Anna", "Łęcka", "a3@example.pl", null),
+                new Entry(6, "Anna", "Zając", "a6@example.pl", null));
+
+        assertThat(ids(index.search("anna", 4))).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(ids(index.search("anna", 2))).containsExactly(2L, 3L);
+        assertThat(ids(index.search("nowak", 2))).containsExactly(4L, 5L);
+        assertThat(ids(index.search("example", 10))).containsExactly(2L, 3L, 4L, 5L, 1L, 6L);
+    }
+
+    private static ClientSearchIndex index(Entry... entries) {
+        ClientSearchIndex index = new ClientSearchIndex();
+        index.replaceAll(List.of(entries));
+        return index;
+    }
+
+    private static List<Long> ids(List<Entry> entries) {
+        return entries.stream().map(Entry::id).toList();
+    }
+}
@@ -0,0 +1,160 @@
+package org.ks.photoapp.domain.delivery;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoredZipArchiveTest {
+
+    private static final LocalDateTime MODIFIED = LocalDateTime.of(2026, 6, 15, 12, 30, 44);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void archiveOpensWithZipFileAndZipInputStream() throws IOException {
+        StoredZipArchive archive = new StoredZipArchive(List.of(
+                entry("IMG_0001.jpg", file("first", "pierwsze zdjęcie")),
+                entry("zdjęcia/żółw.jpg", file("second", "drugie")),
+                entry("pusty.jpg", file("empty", ""))));
+        Path zip = writeWhole(archive);
+
+        assertThat(Files.size(zip)).isEqualTo(archive.length());
+        try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+            assertThat(zipFile.size()).isEqualTo(3);
+            assertThat(read(zipFile, "IMG_0001.jpg")).isEqualTo("pierwsze zdjęcie");
+            assertThat(read(zipFile, "zdjęcia/żółw.jpg")).isEqualTo("drugie");
+            assertThat(read(zipFile, "pusty.jpg")).isEmpty();
+            ZipEntry entry = zipFile.getEntry("IMG_0001.jpg");
+            assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+            assertThat(entry.getTimeLocal()).isEqualTo(MODIFIED);
+        }
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zip))) {
+            List<String> names = new ArrayList<>();
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                names.add(entry.getName());
+                in.readAllBytes();
+            }
+            assertThat(names).containsExactly("IMG_0001.jpg", "zdjęcia/żółw.jpg", "pusty.jpg");
+        }
+    }
+
+    @Test
+    void rangesConcatenateToTheWholeArchive() throws IOException {
+        StoredZipArchive archive = new StoredZipArchive(List.of(
+                entry("a.jpg", file("a", "aaaaaaaaaa")),
+                entry("b.jpg", file("b", "bbbbbbbbbbbbbbbbbbbb"))));
+        ByteArrayOutputStream whole = new ByteArrayOutputStream();
+        archive.write(whole, 0, archive.length() - 1);
+
+        ByteArrayOutputStream pieces = new ByteArrayOutputStream();
+        for (long start = 0; start < archive.length(); start += 7) {
+            archive.write(pieces, start, Math.min(start + 6, archive.length() - 1));
+        }
+
+        assertThat(whole.size()).isEqualTo(archive.length());
+        assertThat(pieces.toByteArray()).isEqualTo(whole.toByteArray());
+    }
+
+    @Test
+    void moreEntriesThanTheClassicEndRecordHoldsUseZip64() throws IOException {
+        Path content = file("one", "x");
+        int count = StoredZipArchive.ZIP64_COUNT_LIMIT + 10;
+        List<StoredZipArchive.Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(entry(i + ".jpg", content));
+        }
+        Path zip = writeWhole(new StoredZipArchive(entries));
+
+        try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+            assertThat(zipFile.size()).isEqualTo(count);
+            assertThat(read(zipFile, "0.jpg")).isEqualTo("x");
+            assertThat(read(zipFile, (count - 1) + ".jpg")).isEqualTo("x");
+        }
+    }
+
+    @Test
+    void entriesPastFourGigabytesUseZip64Offsets() throws IOException {
+        // the big entry is never read, so its bytes are left as a hole in a sparse file
+        long bigSize = StoredZipArchive.ZIP64_LIMIT + 10;
+        StoredZipArchive.Entry big = new StoredZipArchive.Entry("duży.raw", directory.resolve("missing"), bigSize,
+                0, MODIFIED);
+        StoredZipArchive archive = new StoredZipArchive(List.of(big, entry("mały.jpg", file("small", "mały plik"))));
+        long bigStart = 30 + "duży.raw".getBytes(StandardCharsets.UTF_8).length + 20;
+        long bigEnd = bigStart + bigSize - 1;
+
+        Path zip = directory.resolve("big.zip");
+        try (FileChannel channel = FileChannel.open(zip, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                StandardOpenOption.SPARSE)) {
+            archive.write(at(channel, 0), 0, bigStart - 1);
+            archive.write(at(channel, bigEnd + 1), bigEnd + 1, archive.length() - 1);
+        }
+
+        assertThat(Files.size(zip)).isEqualTo(archive.length());
+        try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+            assertThat(zipFile.getEntry("duży.raw").getSize()).isEqualTo(bigSize);
+            assertThat(zipFile.getEntry("duży.raw").getCompressedSize()).isEqualTo(bigSize);
+            assertThat(read(zipFile, "mały.jpg")).isEqualTo("mały plik");
+        }
+    }
+
+    private Path writeWhole(StoredZipArchive archive) throws IOException {
+        Path zip = Files.createTempFile(directory, "archive", ".zip");
+        try (OutputStream out = Files.newOutputStream(zip)) {
+            archive.write(out, 0, archive.length() - 1);
+        }
+        return zip;
+    }
+
+    private Path file(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    private static StoredZipArchive.Entry entry(String name, Path path) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes);
+        return new StoredZipArchive.Entry(name, path, bytes.length, crc32.getValue(), MODIFIED);
+    }
+
+    private static String read(ZipFile zipFile, String name) throws IOException {
+        return new String(zipFile.getInputStream(zipFile.getEntry(name)).readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static OutputStream at(FileChannel channel, long position) {
+        return new OutputStream() {
+            private long next = position;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+                while (buffer.hasRemaining()) {
+                    next += channel.write(buffer, next);
+                }
+            }
+        };
+    }
+}
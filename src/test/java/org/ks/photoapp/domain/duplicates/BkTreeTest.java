@@ -0,0 +1,75 @@
+package org.ks.photoapp.domain.duplicates;
+
+import org.junit.jupiter.api.Test;
+import org.ks.photoapp.domain.photos.PerceptualHash;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BkTreeTest {
+
+    @Test
+    void emptyTreeFindsNothing() {
+        assertThat(new BkTree().within(0L, 64)).isEmpty();
+    }
+
+    @Test
+    void withinMatchesABruteForceScan() {
+        long[] hashes = bursts(new Random(7), 2000);
+        BkTree tree = new BkTree();
+        for (int i = 0; i < hashes.length; i++) {
+            tree.add(hashes[i], i);
+        }
+
+        Random random = new Random(11);
+        for (int maxDistance : new int[]{0, 1, 4, 8, 16, 32, 64}) {
+            for (int query = 0; query < 50; query++) {
+                long hash = random.nextBoolean() ? hashes[random.nextInt(hashes.length)] : random.nextLong();
+                assertThat(tree.within(hash, maxDistance))
+                        .as("within %d of %016x", maxDistance, hash)
+                        .containsExactlyInAnyOrderElementsOf(bruteForce(hashes, hash, maxDistance));
+            }
+        }
+    }
+
+    @Test
+    void equalHashesAreAllReturned() {
+        BkTree tree = new BkTree();
+        tree.add(0x0F0FL, 0);
+        tree.add(0x0F0FL, 1);
+        tree.add(0x0F0EL, 2);
+
+        assertThat(tree.within(0x0F0FL, 0)).containsExactlyInAnyOrder(0, 1);
+        assertThat(tree.within(0x0F0FL, 1)).containsExactlyInAnyOrder(0, 1, 2);
+    }
+
+    // bursts of frames a few bits apart around random scenes, like a session shot in series
+    private static long[] bursts(Random random, int count) {
+        long[] hashes = new long[count];
+        long scene = random.nextLong();
+        for (int i = 0; i < count; i++) {
+            if (random.nextInt(8) == 0) {
+                scene = random.nextLong();
+            }
+            long hash = scene;
+            for (int flips = random.nextInt(6); flips > 0; flips--) {
+                hash ^= 1L << random.nextInt(Long.SIZE);
+            }
+            hashes[i] = hash;
+        }
+        return hashes;
+    }
+
+    private static List<Integer> bruteForce(long[] hashes, long hash, int maxDistance) {
+        List<Integer> found = new ArrayList<>();
+        for (int i = 0; i < hashes.length; i++) {
+            if (PerceptualHash.distance(hashes[i], hash) <= maxDistance) {
+                found.add(i);
+            }
+        }
+        return found;
+    }
+}
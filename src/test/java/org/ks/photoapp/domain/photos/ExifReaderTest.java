@@ -0,0 +1,187 @@
+package org.ks.photoapp.domain.photos;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExifReaderTest {
+
+    private static final int MAKE = 0x010F;
+    private static final int MODEL = 0x0110;
+    private static final int ORIENTATION = 0x0112;
+    private static final int DATE_TIME = 0x0132;
+    private static final int EXIF_IFD = 0x8769;
+    private static final int DATE_TIME_ORIGINAL = 0x9003;
+    private static final int SUB_SEC_TIME_ORIGINAL = 0x9291;
+    private static final int BODY_SERIAL_NUMBER = 0xA431;
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"II", "MM"})
+    void readsJpegInEitherByteOrder(String byteOrder) throws IOException {
+        ByteOrder order = byteOrder.equals("II") ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        byte[] tiff = tiff(order,
+                entries(MAKE, "Canon", MODEL, "Canon EOS R6", ORIENTATION, 6),
+                entries(DATE_TIME_ORIGINAL, "2026:06:15 14:03:27", SUB_SEC_TIME_ORIGINAL, "25"));
+
+        ExifReader.Exif exif = read(jpeg(tiff, true));
+
+        assertThat(exif.capturedAt()).isEqualTo(LocalDateTime.of(2026, 6, 15, 14, 3, 27, 250_000_000));
+        assertThat(exif.camera()).isEqualTo("Canon EOS R6");
+        assertThat(exif.orientation()).isEqualTo(6);
+    }
+
+    @Test
+    void readsAsciiStoredInlineAndAtAnOffset() throws IOException {
+        // values of up to four bytes with their terminator sit in the entry itself, longer ones elsewhere
+        byte[] tiff = tiff(ByteOrder.LITTLE_ENDIAN, entries(MAKE, "Sony", MODEL, "A7"), entries());
+
+        assertThat(read(jpeg(tiff, false)).camera()).isEqualTo("Sony A7");
+    }
+
+    @Test
+    void makeIsPrependedOnlyWhenTheModelLacksIt() throws IOException {
+        byte[] tiff = tiff(ByteOrder.BIG_ENDIAN, entries(MAKE, "NIKON CORPORATION", MODEL, "NIKON Z 6"),
+                entries(BODY_SERIAL_NUMBER, "3012345"));
+
+        assertThat(read(jpeg(tiff, false)).camera()).isEqualTo("NIKON Z 6 (3012345)");
+    }
+
+    @Test
+    void fallsBackToTheModificationTimeWithoutDateTimeOriginal() throws IOException {
+        byte[] tiff = tiff(ByteOrder.LITTLE_ENDIAN, entries(DATE_TIME, "2026:05:01 09:30:00"), entries());
+
+        ExifReader.Exif exif = read(jpeg(tiff, false));
+
+        assertThat(exif.capturedAt()).isEqualTo(LocalDateTime.of(2026, 5, 1, 9, 30));
+        assertThat(exif.camera()).isNull();
+        assertThat(exif.orientation()).isNull();
+    }
+
+    @Test
+    void ignoresOrientationOutsideTheDefinedValues() throws IOException {
+        byte[] tiff = tiff(ByteOrder.BIG_ENDIAN, entries(ORIENTATION, 9), entries());
+
+        assertThat(read(jpeg(tiff, false)).orientation()).isNull();
+    }
+
+    @Test
+    void readsTiffBasedRawWithoutJpegWrapper() throws IOException {
+        byte[] tiff = tiff(ByteOrder.LITTLE_ENDIAN, entries(MODEL, "ILCE-7M4"),
+                entries(DATE_TIME_ORIGINAL, "2026:06:15 14:03:27"));
+
+        ExifReader.Exif exif = read(tiff);
+
+        assertThat(exif.camera()).isEqualTo("ILCE-7M4");
+        assertThat(exif.capturedAt()).isEqualTo(LocalDateTime.of(2026, 6, 15, 14, 3, 27));
+    }
+
+    @Test
+    void jpegWithoutApp1HasNoExif() throws IOException {
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        jpeg.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xD8});
+        jpeg.writeBytes(app0());
+        jpeg.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xDA, 0, 2, (byte) 0xFF, (byte) 0xD9});
+
+        assertThat(read(jpeg.toByteArray())).isEqualTo(ExifReader.Exif.NONE);
+    }
+
+    @Test
+    void truncatedOrForeignFilesHaveNoExif() throws IOException {
+        byte[] tiff = tiff(ByteOrder.LITTLE_ENDIAN, entries(MODEL, "Canon EOS R6"), entries());
+        byte[] jpeg = jpeg(tiff, false);
+
+        assertThat(read(Arrays.copyOf(jpeg, 20))).isEqualTo(ExifReader.Exif.NONE);
+        assertThat(read("GIF89a".getBytes(StandardCharsets.US_ASCII))).isEqualTo(ExifReader.Exif.NONE);
+        assertThat(read(new byte[0])).isEqualTo(ExifReader.Exif.NONE);
+    }
+
+    private ExifReader.Exif read(byte[] content) throws IOException {
+        Path file = Files.createTempFile(directory, "photo", ".jpg");
+        Files.write(file, content);
+        return ExifReader.read(file);
+    }
+
+    private static Map<Integer, Object> entries(Object... tagsAndValues) {
+        Map<Integer, Object> entries = new LinkedHashMap<>();
+        for (int i = 0; i < tagsAndValues.length; i += 2) {
+            entries.put((Integer) tagsAndValues[i], tagsAndValues[i + 1]);
+        }
+        return entries;
+    }
+
+    // the Exif IFD is written first so IFD0 does not start right after the header, as in most real files
+    private static byte[] tiff(ByteOrder order, Map<Integer, Object> ifd0, Map<Integer, Object> exifIfd) {
+        ByteBuffer tiff = ByteBuffer.allocate(4096).order(order);
+        byte mark = (byte) (order == ByteOrder.LITTLE_ENDIAN ? 'I' : 'M');
+        tiff.put(mark).put(mark).putShort((short) 42).putInt(0);
+        Map<Integer, Object> first = new LinkedHashMap<>(ifd0);
+        if (!exifIfd.isEmpty()) {
+            first.put(EXIF_IFD, (long) writeIfd(tiff, exifIfd));
+        }
+        tiff.putInt(4, writeIfd(tiff, first));
+        return Arrays.copyOf(tiff.array(), tiff.position());
+    }
+
+    private static int writeIfd(ByteBuffer tiff, Map<Integer, Object> entries) {
+        int start = tiff.position();
+        int data = start + 2 + entries.size() * 12 + 4;
+        tiff.putShort((short) entries.size());
+        for (Map.Entry<Integer, Object> entry : entries.entrySet()) {
+            tiff.putShort(entry.getKey().shortValue());
+            if (entry.getValue() instanceof String text) {
+                byte[] bytes = (text + "\0").getBytes(StandardCharsets.US_ASCII);
+                tiff.putShort((short) 2).putInt(bytes.length);
+                if (bytes.length <= 4) {
+                    tiff.put(Arrays.copyOf(bytes, 4));
+                } else {
+                    tiff.putInt(data);
+                    tiff.put(data, bytes);
+                    data += bytes.length + bytes.length % 2;
+                }
+            } else if (entry.getValue() instanceof Integer value) {
+                tiff.putShort((short) 3).putInt(1).putShort(value.shortValue()).putShort((short) 0);
+            } else {
+                tiff.putShort((short) 4).putInt(1).putInt(((Long) entry.getValue()).intValue());
+            }
+        }
+        tiff.putInt(0);
+        tiff.position(data);
+        return start;
+    }
+
+    private static byte[] jpeg(byte[] tiff, boolean withJfif) {
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        jpeg.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xD8});
+        if (withJfif) {
+            jpeg.writeBytes(app0());
+        }
+        int length = 2 + 6 + tiff.length;
+        jpeg.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xE1, (byte) (length >> 8), (byte) length});
+        jpeg.writeBytes(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        jpeg.writeBytes(tiff);
+        jpeg.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xDA, 0, 2, (byte) 0xFF, (byte) 0xD9});
+        return jpeg.toByteArray();
+    }
+
+    private static byte[] app0() {
+        return new byte[]{(byte) 0xFF, (byte) 0xE0, 0, 16, 'J', 'F', 'I', 'F', 0, 1, 1, 0, 0, 1, 0, 1, 0, 0};
+    }
+}
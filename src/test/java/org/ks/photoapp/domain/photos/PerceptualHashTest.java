@@ -0,0 +1,92 @@
+package org.ks.photoapp.domain.photos;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerceptualHashTest {
+
+    @Test
+    void brightnessFallingToTheRightSetsEveryBit() {
+        assertThat(PerceptualHash.of(gradient(360, 240, true))).isEqualTo(-1L);
+        assertThat(PerceptualHash.of(gradient(360, 240, false))).isZero();
+    }
+
+    @Test
+    void resizedAndRecolouredCopiesStayClose() {
+        BufferedImage scene = scene(new Random(3), 640, 480);
+        long hash = PerceptualHash.of(scene);
+
+        assertThat(PerceptualHash.distance(hash, PerceptualHash.of(resized(scene, 320, 240)))).isLessThanOrEqualTo(4);
+        assertThat(PerceptualHash.distance(hash, PerceptualHash.of(brightened(scene, 20)))).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void differentScenesAreFarApart() {
+        long first = PerceptualHash.of(scene(new Random(3), 640, 480));
+        long second = PerceptualHash.of(scene(new Random(4), 640, 480));
+
+        assertThat(PerceptualHash.distance(first, second)).isGreaterThan(16);
+    }
+
+    @Test
+    void distanceCountsDifferingBits() {
+        assertThat(PerceptualHash.distance(0L, 0L)).isZero();
+        assertThat(PerceptualHash.distance(0b1011L, 0b0001L)).isEqualTo(2);
+        assertThat(PerceptualHash.distance(0L, -1L)).isEqualTo(64);
+    }
+
+    private static BufferedImage gradient(int width, int height, boolean falling) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            int grey = 255 * x / (width - 1);
+            int value = falling ? 255 - grey : grey;
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, new Color(value, value, value).getRGB());
+            }
+        }
+        return image;
+    }
+
+    // large blocks of random grey, so every cell of the 9x8 grid differs from its neighbours
+    private static BufferedImage scene(Random random, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        int block = 40;
+        for (int x = 0; x < width; x += block) {
+            for (int y = 0; y < height; y += block) {
+                int grey = random.nextInt(256);
+                graphics.setColor(new Color(grey, grey, grey));
+                graphics.fillRect(x, y, block, block);
+            }
+        }
+        graphics.dispose();
+        return image;
+    }
+
+    private static BufferedImage resized(BufferedImage image, int width, int height) {
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return resized;
+    }
+
+    private static BufferedImage brightened(BufferedImage image, int amount) {
+        BufferedImage brightened = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                int grey = Math.min(255, (image.getRGB(x, y) & 0xFF) + amount);
+                brightened.setRGB(x, y, new Color(grey, grey, grey).getRGB());
+            }
+        }
+        return brightened;
+    }
+}
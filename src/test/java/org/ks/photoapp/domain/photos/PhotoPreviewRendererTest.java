@@ -0,0 +1,57 @@
+package org.ks.photoapp.domain.photos;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhotoPreviewRendererTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void largeOriginalIsDecodedNearPreviewSize() throws IOException {
+        Path original = jpeg(3200, 2400);
+        PhotoPreviewRenderer renderer = new PhotoPreviewRenderer(null, 400, 0.85f);
+
+        PhotoPreviewRenderer.SizedImage decoded = renderer.decodeNearPreviewSize(original);
+
+        assertThat(decoded.width()).isEqualTo(3200);
+        assertThat(decoded.height()).isEqualTo(2400);
+        assertThat(decoded.image().getWidth()).isEqualTo(400);
+        assertThat(decoded.image().getHeight()).isEqualTo(300);
+    }
+
+    @Test
+    void decodedRasterStaysBelowTwicePreviewSize() throws IOException {
+        Path original = jpeg(3100, 1200);
+        PhotoPreviewRenderer renderer = new PhotoPreviewRenderer(null, 400, 0.85f);
+
+        BufferedImage image = renderer.decodeNearPreviewSize(original).image();
+
+        assertThat(Math.max(image.getWidth(), image.getHeight())).isBetween(400, 799);
+    }
+
+    @Test
+    void smallOriginalIsDecodedWhole() throws IOException {
+        Path original = jpeg(300, 200);
+        PhotoPreviewRenderer renderer = new PhotoPreviewRenderer(null, 400, 0.85f);
+
+        BufferedImage image = renderer.decodeNearPreviewSize(original).image();
+
+        assertThat(image.getWidth()).isEqualTo(300);
+        assertThat(image.getHeight()).isEqualTo(200);
+    }
+
+    private Path jpeg(int width, int height) throws IOException {
+        Path file = dir.resolve(width + "x" + height + ".jpg");
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY), "jpeg", file.toFile());
+        return file;
+    }
+}
@@ -0,0 +1,131 @@
+package org.ks.photoapp.domain.storage;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RangedResponsesTest {
+
+    private static final String ETAG = "\"abc123\"";
+    private static final long SIZE = 100;
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void withoutRangeTheWholeBodyIsServed() throws IOException {
+        RangedResponses.ByteSpan span = prepare(request());
+
+        assertThat(span).isEqualTo(new RangedResponses.ByteSpan(0, SIZE - 1));
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentLengthLong()).isEqualTo(SIZE);
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+    }
+
+    @Test
+    void singleRangeIsServedAsPartialContent() throws IOException {
+        RangedResponses.ByteSpan span = prepare(request("bytes=10-19"));
+
+        assertThat(span).isEqualTo(new RangedResponses.ByteSpan(10, 19));
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-19/100");
+    }
+
+    @Test
+    void rangeEndIsClampedToTheBody() throws IOException {
+        assertThat(prepare(request("bytes=95-"))).isEqualTo(new RangedResponses.ByteSpan(95, 99));
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 95-99/100");
+    }
+
+    @Test
+    void suffixRangeServesTheLastBytes() throws IOException {
+        assertThat(prepare(request("bytes=-10"))).isEqualTo(new RangedResponses.ByteSpan(90, 99));
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 90-99/100");
+    }
+
+    @Test
+    void suffixLongerThanTheBodyServesAllOfIt() throws IOException {
+        assertThat(prepare(request("bytes=-500"))).isEqualTo(new RangedResponses.ByteSpan(0, 99));
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 0-99/100");
+    }
+
+    @Test
+    void rangePastTheEndIsNotSatisfiable() throws IOException {
+        assertThat(prepare(request("bytes=100-200"))).isNull();
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */100");
+    }
+
+    @Test
+    void multipleRangesFallBackToTheWholeBody() throws IOException {
+        assertThat(prepare(request("bytes=0-9,20-29"))).isEqualTo(new RangedResponses.ByteSpan(0, 99));
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+    }
+
+    @Test
+    void malformedRangeFallsBackToTheWholeBody() throws IOException {
+        assertThat(prepare(request("bytes=abc"))).isEqualTo(new RangedResponses.ByteSpan(0, 99));
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void staleIfRangeServesTheWholeBody() throws IOException {
+        MockHttpServletRequest request = request("bytes=10-19");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+
+        assertThat(prepare(request)).isEqualTo(new RangedResponses.ByteSpan(0, 99));
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void matchingIfRangeServesTheRange() throws IOException {
+        MockHttpServletRequest request = request("bytes=10-19");
+        request.addHeader(HttpHeaders.IF_RANGE, ETAG);
+
+        assertThat(prepare(request)).isEqualTo(new RangedResponses.ByteSpan(10, 19));
+        assertThat(response.getStatus()).isEqualTo(206);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + ETAG);
+
+        assertThat(prepare(request)).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void headWritesHeadersWithoutABody() throws IOException {
+        MockHttpServletRequest request = request("bytes=10-19");
+        request.setMethod("HEAD");
+
+        assertThat(prepare(request)).isNull();
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+    }
+
+    private RangedResponses.ByteSpan prepare(MockHttpServletRequest request) throws IOException {
+        return RangedResponses.prepare(request, response, ETAG, SIZE, "image/jpeg");
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/photo");
+    }
+
+    private static MockHttpServletRequest request(String range) {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, range);
+        return request;
+    }
+}
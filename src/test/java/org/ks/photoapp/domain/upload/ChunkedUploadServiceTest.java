@@ -0,0 +1,202 @@
+package org.ks.photoapp.domain.upload;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ks.photoapp.domain.photos.dto.PhotoFileDto;
+import org.ks.photoapp.domain.storage.ContentStore;
+import org.ks.photoapp.domain.upload.dto.CreateUploadDto;
+import org.ks.photoapp.domain.upload.dto.UploadRangeDto;
+import org.ks.photoapp.domain.upload.dto.UploadStatusDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "photoapp.uploads.chunk-size=1KB",
+        "photoapp.uploads.expire-after=PT1H",
+        "photoapp.storage.root=${java.io.tmpdir}/photoapp-chunked-upload-test"})
+class ChunkedUploadServiceTest {
+
+    private static final int CHUNK = 1024;
+
+    @Autowired
+    ChunkedUploadService chunkedUploadService;
+
+    @Autowired
+    ContentStore contentStore;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private final List<String> uploadIds = new ArrayList<>();
+    private long sessionId;
+    private byte[] photo;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        sessionId = jdbcTemplate.queryForObject("select min(id) from photo_session", Long.class);
+        photo = noisePng();
+    }
+
+    @AfterEach
+    void abortUploads() throws IOException {
+        for (String uploadId : uploadIds) {
+            chunkedUploadService.abort(uploadId);
+        }
+    }
+
+    @Test
+    void chunkWithAWrongDigestIsNotMarkedReceived() throws IOException {
+        String uploadId = create(photo, null);
+        byte[] damaged = chunk(photo, 0).clone();
+        damaged[0] ^= 1;
+
+        assertThatThrownBy(() -> chunkedUploadService.writeChunk(uploadId, 0, CHUNK, digestOf(chunk(photo, 0)),
+                new ByteArrayInputStream(damaged)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> chunkedUploadService.writeChunk(uploadId, 0, CHUNK, "md5=:AAAA:",
+                new ByteArrayInputStream(chunk(photo, 0))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(chunkedUploadService.getStatus(uploadId).getReceivedBytes()).isZero();
+    }
+
+    @Test
+    void chunksArriveOutOfOrderAndRepeatedBeforeTheUploadCompletes() throws IOException {
+        String uploadId = create(photo, sha256Hex(photo));
+        int chunks = chunkCount(photo);
+        for (int i = chunks - 1; i >= 0; i--) {
+            write(uploadId, photo, i);
+        }
+        write(uploadId, photo, 1);
+
+        UploadStatusDto status = chunkedUploadService.getStatus(uploadId);
+        assertThat(status.isComplete()).isTrue();
+        assertThat(status.getReceivedRanges()).containsExactly(new UploadRangeDto(0, photo.length - 1));
+
+        PhotoFileDto photoFile = chunkedUploadService.complete(uploadId);
+        uploadIds.remove(uploadId);
+        assertThat(photoFile.getContentHash()).isEqualTo(sha256Hex(photo));
+        assertThat(photoFile.getSizeBytes()).isEqualTo(photo.length);
+        assertThat(Files.readAllBytes(contentStore.pathOf(photoFile.getContentHash()))).isEqualTo(photo);
+    }
+
+    @Test
+    void completeRefusesWhileChunksAreMissing() throws IOException {
+        String uploadId = create(photo, null);
+        write(uploadId, photo, 0);
+        write(uploadId, photo, 2);
+
+        assertThatThrownBy(() -> chunkedUploadService.complete(uploadId)).isInstanceOf(IllegalStateException.class);
+        assertThat(chunkedUploadService.getStatus(uploadId).getReceivedRanges()).containsExactly(
+                new UploadRangeDto(0, CHUNK - 1), new UploadRangeDto(2L * CHUNK, 3L * CHUNK - 1));
+    }
+
+    @Test
+    void wholeFileHashMismatchResetsTheReceivedChunks() throws IOException {
+        byte[] other = photo.clone();
+        other[other.length / 2] ^= 1;
+        String uploadId = create(photo, sha256Hex(other));
+        for (int i = 0; i < chunkCount(photo); i++) {
+            write(uploadId, photo, i);
+        }
+
+        assertThatThrownBy(() -> chunkedUploadService.complete(uploadId)).isInstanceOf(IllegalStateException.class);
+        UploadStatusDto status = chunkedUploadService.getStatus(uploadId);
+        assertThat(status.getReceivedBytes()).isZero();
+        assertThat(status.getReceivedRanges()).isEmpty();
+    }
+
+    @Test
+    void purgeExpiredRemovesOnlyAbandonedUploads() throws IOException {
+        String abandoned = create(photo, null);
+        String active = create(photo, null);
+        jdbcTemplate.update("update chunked_upload set updated_at = ? where id = ?",
+                LocalDateTime.now().minusHours(2), abandoned);
+
+        chunkedUploadService.purgeExpired();
+
+        assertThatThrownBy(() -> chunkedUploadService.getStatus(abandoned)).isInstanceOf(NoSuchElementException.class);
+        assertThat(contentStore.incomingPath(abandoned + ".part")).doesNotExist();
+        assertThat(chunkedUploadService.getStatus(active).getSize()).isEqualTo(photo.length);
+        assertThat(contentStore.incomingPath(active + ".part")).exists();
+    }
+
+    private String create(byte[] content, String sha256) throws IOException {
+        CreateUploadDto request = new CreateUploadDto();
+        request.setFileName("IMG_0001.png");
+        request.setContentType("image/png");
+        request.setSize((long) content.length);
+        request.setSha256(sha256);
+        String uploadId = chunkedUploadService.create(sessionId, request).getUploadId();
+        uploadIds.add(uploadId);
+        return uploadId;
+    }
+
+    private void write(String uploadId, byte[] content, int index) throws IOException {
+        byte[] chunk = chunk(content, index);
+        chunkedUploadService.writeChunk(uploadId, (long) index * CHUNK, chunk.length, digestOf(chunk),
+                new ByteArrayInputStream(chunk));
+    }
+
+    private static byte[] chunk(byte[] content, int index) {
+        return Arrays.copyOfRange(content, index * CHUNK, Math.min((index + 1) * CHUNK, content.length));
+    }
+
+    private static int chunkCount(byte[] content) {
+        return (content.length + CHUNK - 1) / CHUNK;
+    }
+
+    private static String digestOf(byte[] chunk) {
+        return "sha-256=:" + Base64.getEncoder().encodeToString(sha256(chunk)) + ":";
+    }
+
+    private static String sha256Hex(byte[] content) {
+        return HexFormat.of().formatHex(sha256(content));
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // random pixels do not compress, so the file spans several chunks with a short last one
+    private static byte[] noisePng() throws IOException {
+        BufferedImage image = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(3);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        byte[] png = out.toByteArray();
+        assertThat(png.length % CHUNK).isNotZero();
+        return png;
+    }
+}
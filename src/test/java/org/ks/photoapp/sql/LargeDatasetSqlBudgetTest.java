@@ -0,0 +1,9 @@
+package org.ks.photoapp.sql;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-budget-large",
+        "photoapp.synthetic-data.clients=1000"})
+class LargeDatasetSqlBudgetTest extends SqlStatementBudgetTest {
+}
@@ -0,0 +1,9 @@
+package org.ks.photoapp.sql;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-budget-small",
+        "photoapp.synthetic-data.clients=10"})
+class SmallDatasetSqlBudgetTest extends SqlStatementBudgetTest {
+}
@@ -0,0 +1,385 @@
+package org.ks.photoapp.sql;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.ks.photoapp.domain.photos.PhotoFile;
+import org.ks.photoapp.domain.photos.Photos;
+import org.ks.photoapp.domain.storage.ContentStore;
+import org.ks.photoapp.domain.storage.StoredContent;
+import org.ks.photoapp.domain.upload.ChunkedUploadService;
+import org.ks.photoapp.domain.upload.dto.CreateUploadDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+// every endpoint gets a statement budget that must hold for a small and a large data set alike, so a mapper or
+// service that starts loading rows one by one fails the build; the cache is emptied before each request, and
+// streamed lists fetch the whole data set in one chunk so their query count does not depend on its size either.
+// The session under test gets one photo per client of the data set, so the gallery grows with it too
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.ks.photoapp.sql.SqlStatementRecorder",
+        "photoapp.synthetic-data.today=2026-06-15",
+        "photoapp.rendering.chunk-size=100000",
+        "photoapp.storage.root=${java.io.tmpdir}/photoapp-sql-budget",
+        "photoapp.ingest.root=${java.io.tmpdir}/photoapp-sql-budget-import"})
+@ActiveProfiles("scale-test")
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@Import(SqlStatementBudgetTest.InlineAsyncConfig.class)
+abstract class SqlStatementBudgetTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ContentStore contentStore;
+
+    @Autowired
+    ChunkedUploadService chunkedUploadService;
+
+    @Value("${photoapp.synthetic-data.clients}")
+    int galleryPhotos;
+
+    @Value("${photoapp.ingest.root}")
+    Path ingestRoot;
+
+    private static final String ADMIN = "admin@example.pl";
+    private static final String INGEST_DIRECTORY = "budget";
+    private static final String MISSING_UPLOAD = "00000000-0000-0000-0000-000000000000";
+
+    Ids ids;
+
+    static Stream<Arguments> endpoints() {
+        return Stream.of(
+                endpoint("GET /", 0, 200, ids -> get("/")),
+                endpoint("GET /login", 0, 200, ids -> get("/login")),
+                endpoint("GET /home-page", 0, 200, ids -> get("/home-page")),
+                endpoint("GET /registration", 0, 200, ids -> get("/registration")),
+                endpoint("GET /client/current", 1, 200, ids -> get("/client/current")),
+                endpoint("GET /client/all", 1, 200, ids -> get("/client/all")),
+                endpoint("GET /client/{id}", 3, 200, ids -> get("/client/{id}", ids.clientId())),
+                endpoint("GET /client/new", 0, 200, ids -> get("/client/new")),
+                endpoint("GET /client/search", 0, 200, ids -> get("/client/search").param("q", "Nowak")),
+                endpoint("GET /all-photosessions", 1, 200, ids -> get("/all-photosessions")),
+                endpoint("GET /new-photosession", 0, 200, ids -> get("/new-photosession")),
+                endpoint("GET /update-photosession/{id}", 1, 200,
+                        ids -> get("/update-photosession/{id}", ids.sessionId())),
+                endpoint("GET /delete-photosession/{id}", 0, 200,
+                        ids -> get("/delete-photosession/{id}", ids.sessionId())),
+                endpoint("GET /session-types", 0, 200, ids -> get("/session-types")),
+                endpoint("GET /revenue", 1, 200, ids -> get("/revenue").param("year", "2026")),
+                endpoint("GET /revenue/report", 1, 200, ids -> get("/revenue/report").param("year", "2026")),
+                endpoint("GET /payment-status", 0, 200, ids -> get("/payment-status")),
+                endpoint("GET /payment-status/{stage}", 1, 200, ids -> get("/payment-status/AWAITING_BASE_PAYMENT")),
+                endpoint("GET /availability/free-slots", 0, 200, ids -> get("/availability/free-slots")
+                        .param("sessionType", "MINI")
+                        .param("from", "2026-06-15T00:00:00")
+                        .param("to", "2026-06-22T00:00:00")),
+                endpoint("GET /availability/conflict", 0, 200, ids -> get("/availability/conflict")
+                        .param("sessionType", "MINI")
+                        .param("start", "2026-06-16T10:00:00")),
+                endpoint("GET /calendar/month", 1, 200, ids -> get("/calendar/month").param("month", "2026-06")),
+                endpoint("GET /calendar/week", 1, 200, ids -> get("/calendar/week").param("date", "2026-06-15")),
+                endpoint("GET /export/clients", 1, 200, ids -> get("/export/clients")),
+                endpoint("GET /export/photo-sessions", 1, 200, ids -> get("/export/photo-sessions")),
+                endpoint("GET /export/payments", 1, 200, ids -> get("/export/payments")),
+                endpoint("GET /import", 0, 200, ids -> get("/import")),
+                endpoint("GET /photosession/{id}/gallery", 2, 200,
+                        ids -> get("/photosession/{id}/gallery", ids.sessionId())),
+                endpoint("GET /photosession/{id}/photos", 2, 200,
+                        ids -> get("/photosession/{id}/photos", ids.sessionId())),
+                // one range scan per camera body, the seeded gallery was shot on two
+                endpoint("GET /photosession/{id}/timeline", 10, 200,
+                        ids -> get("/photosession/{id}/timeline", ids.sessionId())),
+                endpoint("GET /photosession/{id}/timeline-entries", 6, 200,
+                        ids -> get("/photosession/{id}/timeline-entries", ids.sessionId())),
+                endpoint("GET /photosession/{id}/cameras", 4, 200,
+                        ids -> get("/photosession/{id}/cameras", ids.sessionId())),
+                endpoint("GET /photosession/{id}/duplicates", 2, 200,
+                        ids -> get("/photosession/{id}/duplicates", ids.sessionId())),
+                endpoint("GET /photosession/{id}/duplicate-groups", 2, 200,
+                        ids -> get("/photosession/{id}/duplicate-groups", ids.sessionId())),
+                endpoint("GET /photosession/{id}/selection", 3, 200,
+                        ids -> get("/photosession/{id}/selection", ids.sessionId())),
+                endpoint("GET /photosession/{id}/delivery.zip", 3, 200,
+                        ids -> get("/photosession/{id}/delivery.zip", ids.sessionId())),
+                endpoint("GET /photosession/{id}/ingest", 1, 200,
+                        ids -> get("/photosession/{id}/ingest", ids.sessionId())),
+                endpoint("GET /ingest/jobs", 0, 200, ids -> get("/ingest/jobs")),
+                endpoint("GET /photo-files/{id}/original", 1, 200,
+                        ids -> get("/photo-files/{id}/original", ids.photoFileId())),
+                endpoint("GET /photo-files/{id}/preview", 1, 200,
+                        ids -> get("/photo-files/{id}/preview", ids.photoFileId())),
+                endpoint("GET /photo-files/{id}/similar", 2, 200,
+                        ids -> get("/photo-files/{id}/similar", ids.photoFileId())),
+                endpoint("GET /uploads/{uploadId}", 1, 404, ids -> get("/uploads/{uploadId}", MISSING_UPLOAD)),
+                endpoint("GET /admin/cache/statistics", 0, 200, ids -> get("/admin/cache/statistics").with(user(ADMIN))),
+                endpoint("GET /admin/threads", 0, 200, ids -> get("/admin/threads").with(user(ADMIN))),
+
+                endpoint("POST /client/new", 2, 302, ids -> post("/client/new")
+                        .param("firstName", "Ewa")
+                        .param("lastName", "Budżetowa")
+                        .param("email", "ewa.budzetowa@example.pl")
+                        .param("phoneNumber", "123456789")),
+                endpoint("POST /client/update", 2, 302, ids -> post("/client/update")
+                        .param("id", Long.toString(ids.clientId()))
+                        .param("firstName", "Anna")
+                        .param("lastName", "Zmieniona")
+                        .param("email", "anna.zmieniona@example.pl")
+                        .param("phoneNumber", "987654321")),
+                endpoint("POST /new-photosession", 12, 302, ids -> post("/new-photosession")
+                        .param("client.id", Long.toString(ids.clientId()))
+                        .param("sessionType", "MINI")
+                        .param("sessionDate", "2026-07-01T10:00")),
+                endpoint("POST /update-photosession/{id}", 12, 302, ids -> post("/update-photosession/{id}", ids.sessionId())
+                        .param("client.id", Long.toString(ids.clientId()))
+                        .param("sessionType", "MINI")
+                        .param("sessionDate", "2026-07-02T10:00")
+                        .param("isDepositPaid", "true")),
+                endpoint("POST /photosession/{id}/cameras/offset", 4, 302,
+                        ids -> post("/photosession/{id}/cameras/offset", ids.sessionId())
+                                .param("camera", "")
+                                .param("offsetSeconds", "60")),
+                endpoint("POST /photosession/{id}/photos", 6, 302,
+                        ids -> multipart("/photosession/{id}/photos", ids.sessionId())
+                                .file(new MockMultipartFile("files", "budzet.png", "image/png", tinyPng()))),
+                endpoint("PUT /photosession/{id}/selection/{ordinal}", 3, 200,
+                        ids -> put("/photosession/{id}/selection/{ordinal}", ids.sessionId(), 1)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"selected\": true}")),
+                endpoint("POST /photosession/{id}/uploads", 2, 201,
+                        ids -> post("/photosession/{id}/uploads", ids.sessionId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"fileName\": \"budzet.jpg\", \"contentType\": \"image/jpeg\", \"size\": 1024}")),
+                endpoint("PUT /uploads/{uploadId}", 3, 200, ids -> put("/uploads/{uploadId}", ids.uploadId())
+                        .param("offset", "0")
+                        .header("Content-Digest", contentDigest(tinyPng()))
+                        .content(tinyPng())),
+                endpoint("POST /uploads/{uploadId}/complete", 11, 200,
+                        ids -> post("/uploads/{uploadId}/complete", ids.receivedUploadId())),
+                endpoint("DELETE /uploads/{uploadId}", 1, 204, ids -> delete("/uploads/{uploadId}", MISSING_UPLOAD)),
+                endpoint("POST /photosession/{id}/ingest", 4, 302,
+                        ids -> post("/photosession/{id}/ingest", ids.sessionId()).param("directory", INGEST_DIRECTORY)),
+                endpoint("POST /import", 13, 200, ids -> multipart("/import").file(new MockMultipartFile("file",
+                        "import.csv", "text/csv", importCsv(ids.clientEmail())))),
+                endpoint("POST /registration", 1, 200, ids -> post("/registration")
+                        .param("email", "budzet@example.pl")
+                        .param("password", "haslo123")),
+                endpoint("POST /admin/revenue/rebuild", 2, 302, ids -> post("/admin/revenue/rebuild").param("year", "2026")
+                        .with(user(ADMIN))),
+                endpoint("POST /admin/session-types/reload", 1, 200, ids -> post("/admin/session-types/reload")
+                        .with(user(ADMIN))),
+                endpoint("POST /delete-photosession/{id}", 9, 302,
+                        ids -> post("/delete-photosession/{id}", ids.sessionId())),
+                endpoint("GET /client/delete", 3, 302,
+                        ids -> get("/client/delete").param("id", Long.toString(ids.emptyClientId()))));
+    }
+
+    @BeforeEach
+    void findRows() throws IOException {
+        // the client with the most sessions, so anything loaded per session shows up in the count
+        Long clientId = jdbcTemplate.queryForObject("""
+                select client_id from photo_session group by client_id order by count(*) desc, client_id limit 1""",
+                Long.class);
+        Long sessionId = jdbcTemplate.queryForObject("""
+                select max(id) from photo_session where client_id = ?""", Long.class, clientId);
+        Long emptyClientId = jdbcTemplate.queryForObject("""
+                select coalesce(max(id), 0) from client c
+                where not exists (select 1 from photo_session ps where ps.client_id = c.id)""", Long.class);
+        String clientEmail = jdbcTemplate.queryForObject("select email from client where id = ?", String.class,
+                clientId);
+        long photoFileId = seedGallery(sessionId);
+        Path ingestDirectory = Files.createDirectories(ingestRoot.resolve(INGEST_DIRECTORY));
+        Files.write(ingestDirectory.resolve("IMG_0001.png"), tinyPng());
+        // one upload waiting for its chunk and one with every chunk received, ready to be completed
+        String uploadId = createUpload(sessionId);
+        String receivedUploadId = createUpload(sessionId);
+        byte[] chunk = tinyPng();
+        chunkedUploadService.writeChunk(receivedUploadId, 0, chunk.length, contentDigest(chunk),
+                new ByteArrayInputStream(chunk));
+        ids = new Ids(clientId, clientEmail, sessionId, emptyClientId, photoFileId, uploadId, receivedUploadId);
+    }
+
+    @AfterEach
+    void abortUploads() throws IOException {
+        chunkedUploadService.abort(ids.uploadId());
+        chunkedUploadService.abort(ids.receivedUploadId());
+    }
+
+    private String createUpload(long sessionId) throws IOException {
+        CreateUploadDto upload = new CreateUploadDto();
+        upload.setFileName("budzet.png");
+        upload.setContentType("image/png");
+        upload.setSize((long) tinyPng().length);
+        return chunkedUploadService.create(sessionId, upload).getUploadId();
+    }
+
+    // bursts of near-identical frames from two bodies, chosen by the client, all sharing one stored image
+    private long seedGallery(long sessionId) throws IOException {
+        Long photosId = jdbcTemplate.queryForObject("select photos_id from photo_session where id = ?", Long.class,
+                sessionId);
+        int maxOrdinal = jdbcTemplate.queryForObject(
+                "select coalesce(max(ordinal), 0) from photo_file where photos_id = ?", Integer.class, photosId);
+        if (maxOrdinal < galleryPhotos) {
+            StoredContent image = contentStore.store(new ByteArrayInputStream(tinyPng()));
+            Random random = new Random(galleryPhotos);
+            transactionTemplate.executeWithoutResult(status -> {
+                Photos photos = entityManager.getReference(Photos.class, photosId);
+                LocalDateTime capturedAt = LocalDateTime.of(2026, 6, 10, 10, 0);
+                long scene = random.nextLong();
+                for (int ordinal = maxOrdinal + 1; ordinal <= galleryPhotos; ordinal++) {
+                    if (random.nextInt(8) == 0) {
+                        scene = random.nextLong();
+                    }
+                    PhotoFile photoFile = new PhotoFile();
+                    photoFile.setPhotos(photos);
+                    photoFile.setOrdinal(ordinal);
+                    photoFile.setFileName(String.format("IMG_%04d.png", ordinal));
+                    photoFile.setContentType("image/png");
+                    photoFile.setContentHash(image.hash());
+                    photoFile.setSizeBytes(image.size());
+                    photoFile.setCrc32(image.crc32());
+                    photoFile.setPreviewHash(image.hash());
+                    photoFile.setWidth(16);
+                    photoFile.setHeight(12);
+                    photoFile.setPerceptualHash(scene ^ 1L << random.nextInt(Long.SIZE));
+                    photoFile.setCapturedAt(capturedAt.plusSeconds(2L * ordinal));
+                    photoFile.setCamera(ordinal % 2 == 0 ? "Canon EOS R6" : "Sony ILCE-7M4");
+                    photoFile.setOrientation(1);
+                    photoFile.setExifRead(true);
+                    photoFile.setUploadedAt(capturedAt.plusDays(1));
+                    entityManager.persist(photoFile);
+                }
+            });
+            jdbcTemplate.update("update photos set chosen_by_client = true where id = ?", photosId);
+        }
+        return jdbcTemplate.queryForObject("select min(id) from photo_file where photos_id = ?", Long.class,
+                photosId);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void staysWithinStatementBudget(String name, int budget, int status,
+                                    Function<Ids, MockHttpServletRequestBuilder> request) throws Exception {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        MvcResult[] result = new MvcResult[1];
+        SqlStatements statements = SqlStatementRecorder.record(() -> {
+            result[0] = mockMvc.perform(request.apply(ids).with(csrf())).andReturn();
+            if (result[0].getRequest().isAsyncStarted()) {
+                result[0] = mockMvc.perform(asyncDispatch(result[0])).andReturn();
+            }
+        });
+        assertThat(result[0].getResponse().getStatus()).as(name).isEqualTo(status);
+        statements.assertAtMost(budget, name);
+    }
+
+    private static Arguments endpoint(String name, int budget, int status,
+                                      Function<Ids, MockHttpServletRequestBuilder> request) {
+        return Arguments.of(name, budget, status, request);
+    }
+
+    private static byte[] tinyPng() {
+        try {
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(new BufferedImage(16, 12, BufferedImage.TYPE_INT_RGB), "png", png);
+            return png.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String contentDigest(byte[] content) {
+        try {
+            byte[] sha256 = MessageDigest.getInstance("SHA-256").digest(content);
+            return "sha-256=:" + Base64.getEncoder().encodeToString(sha256) + ":";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // new and existing clients, with and without a session, on days the data set leaves free
+    private static byte[] importCsv(String existingEmail) {
+        return ("""
+                first_name,last_name,email,phone_number,session_date,session_type,is_deposit_paid
+                Ewa,Nowa,ewa.nowa.budzet@example.pl,500100200,,,
+                Jan,Nowy,jan.nowy.budzet@example.pl,500100201,2031-03-03 10:00,MINI,true
+                "Kowalska, Maria",Nowa,maria.nowa.budzet@example.pl,,2031-03-04T12:30,MINI,false
+                Stały,Klient,%1$s,,2031-03-03 14:00,MINI,false
+                Stały,Klient,%1$s,,,,
+                """.formatted(existingEmail)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    record Ids(long clientId, String clientEmail, long sessionId, long emptyClientId, long photoFileId,
+               String uploadId, String receivedUploadId) {
+    }
+
+    // streamed responses are written on another thread, which records into the same list as the request
+    @TestConfiguration
+    static class InlineAsyncConfig implements WebMvcConfigurer {
+
+        @Override
+        public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sql-budget-");
+            executor.setTaskDecorator(SqlStatementRecorder::propagate);
+            configurer.setTaskExecutor(executor);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.ks.photoapp.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// registered as Hibernate's statement inspector; only statements prepared on a thread that is recording, or on a task
+// handed over with propagate, are kept, so scheduled jobs running in the background do not count against a budget
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDING.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static SqlStatements record(Block block) throws Exception {
+        List<String> statements = Collections.synchronizedList(new ArrayList<>());
+        RECORDING.set(statements);
+        try {
+            block.run();
+        } finally {
+            RECORDING.remove();
+        }
+        return new SqlStatements(statements);
+    }
+
+    public static Runnable propagate(Runnable task) {
+        List<String> statements = RECORDING.get();
+        if (statements == null) {
+            return task;
+        }
+        return () -> {
+            RECORDING.set(statements);
+            try {
+                task.run();
+            } finally {
+                RECORDING.remove();
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Block {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,38 @@
+package org.ks.photoapp.sql;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SqlStatements {
+
+    private final List<String> statements;
+
+    SqlStatements(List<String> statements) {
+        this.statements = List.copyOf(statements);
+    }
+
+    public int count() {
+        return statements.size();
+    }
+
+    public List<String> all() {
+        return statements;
+    }
+
+    public void assertAtMost(int budget, String description) {
+        if (statements.size() > budget) {
+            throw new AssertionError(description + " issued " + statements.size() + " SQL statements, budget is "
+                    + budget + "\n" + summary());
+        }
+    }
+
+    // repeated statements are listed once with their count, which is what an N+1 path looks like
+    public String summary() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        statements.forEach(sql -> counts.merge(sql, 1, Integer::sum));
+        StringBuilder summary = new StringBuilder();
+        counts.forEach((sql, count) -> summary.append(String.format("%6dx  %s%n", count, sql)));
+        return summary.toString();
+    }
+}